@@ -0,0 +1,160 @@
+package org.traccar;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a batch of loopback connections, sends one message on each and waits for all replies. Measures how fast
+ * the server accepts and serves new connections with different transports and number of SO_REUSEPORT sockets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConnectionScalingBenchmark {
+
+    private static final byte[] MESSAGE = "$GPRMC,123519,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6A\r\n"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    @Param({"nio", "epoll", "io_uring"})
+    private String transport;
+
+    @Param({"1", "4"})
+    private int reusePort;
+
+    @Param({"1000"})
+    private int connections;
+
+    private EventLoopGroupFactory serverFactory;
+    private EventLoopGroupFactory clientFactory;
+    private ChannelGroup serverChannels;
+    private InetSocketAddress address;
+
+    @ChannelHandler.Sharable
+    private static final class EchoHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ctx.writeAndFlush(msg);
+        }
+    }
+
+    @ChannelHandler.Sharable
+    private static final class ReplyHandler extends ChannelInboundHandlerAdapter {
+
+        private final CountDownLatch latch;
+
+        ReplyHandler(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            ctx.writeAndFlush(Unpooled.wrappedBuffer(MESSAGE));
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ReferenceCountUtil.release(msg);
+            latch.countDown();
+            ctx.close();
+        }
+
+    }
+
+    private static EventLoopGroupFactory createFactory(String transport, int reusePort) {
+        Config config = new Config();
+        config.setString(Keys.SERVER_NETTY_TRANSPORT, transport);
+        config.setString(Keys.SERVER_NETTY_REUSE_PORT, String.valueOf(reusePort));
+        return new EventLoopGroupFactory(config);
+    }
+
+    @Setup
+    public void setup() {
+        serverFactory = createFactory(transport, reusePort);
+        clientFactory = createFactory(transport, 1);
+        if (!serverFactory.getTransport().name().equalsIgnoreCase(transport)) {
+            throw new IllegalStateException("Transport " + transport + " is not available");
+        }
+
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(serverFactory.getBossGroup(), serverFactory.getWorkerGroup())
+                .channel(serverFactory.getServerChannelClass())
+                .option(ChannelOption.SO_BACKLOG, connections)
+                .childHandler(new EchoHandler());
+        if (serverFactory.getBindCount() > 1) {
+            bootstrap.option(serverFactory.getReusePortOption(), true);
+        }
+
+        serverChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+        Channel channel = bootstrap.bind(new InetSocketAddress("127.0.0.1", 0)).syncUninterruptibly().channel();
+        serverChannels.add(channel);
+        address = (InetSocketAddress) channel.localAddress();
+        for (int i = 1; i < serverFactory.getBindCount(); i++) {
+            serverChannels.add(bootstrap.bind(address).syncUninterruptibly().channel());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serverChannels.close().awaitUninterruptibly();
+        serverFactory.getBossGroup().shutdownGracefully().awaitUninterruptibly();
+        serverFactory.getWorkerGroup().shutdownGracefully().awaitUninterruptibly();
+        clientFactory.getBossGroup().shutdownGracefully().awaitUninterruptibly();
+        clientFactory.getWorkerGroup().shutdownGracefully().awaitUninterruptibly();
+    }
+
+    @Benchmark
+    public void connect() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(connections);
+        Bootstrap bootstrap = new Bootstrap()
+                .group(clientFactory.getWorkerGroup())
+                .channel(clientFactory.getSocketChannelClass())
+                .option(ChannelOption.SO_LINGER, 0)
+                .handler(new ReplyHandler(latch));
+        List<ChannelFuture> futures = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            futures.add(bootstrap.connect(address));
+        }
+        if (!latch.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Timeout waiting for replies");
+        }
+        for (ChannelFuture future : futures) {
+            future.channel().closeFuture().awaitUninterruptibly();
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package org.traccar;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.broadcast.NullBroadcastService;
+import org.traccar.config.Config;
+import org.traccar.database.CommandsManager;
+import org.traccar.database.MediaManager;
+import org.traccar.database.StatisticsManager;
+import org.traccar.model.Device;
+import org.traccar.session.ConnectionManager;
+import org.traccar.session.DeviceSession;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Decodes sample messages collected from the protocol decoder unit tests. Decoders are configured like in the tests,
+ * but with a real cache and a fixed device session, so that mock invocations don't dominate the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolDecoderBenchmark {
+
+    @Param({
+            "Gt06", "Teltonika", "H02", "Gl200Text", "Gl200Binary", "OsmAnd", "Meitrack", "Tk103", "Gps103", "Watch",
+            "Huabao", "Jt600", "Suntech", "Xexun", "Totem", "Tlt2h", "Ruptela", "Galileo", "Wialon", "Castel",
+            "Eelink", "Atrack", "CalAmp", "Cellocator", "Topflytech", "Navtelecom", "GoSafe", "MiniFinder", "Flespi",
+            "Aplicom"})
+    private String protocol;
+
+    private record Sample(BaseProtocolDecoder decoder, Object message) {
+    }
+
+    private Sample[] samples;
+    private int next;
+
+    private static Object copy(Object message) {
+        if (message instanceof ByteBuf buf) {
+            return buf.copy();
+        } else if (message instanceof ByteBufHolder holder) {
+            return holder.copy();
+        }
+        return message;
+    }
+
+    private static Object duplicate(Object message) {
+        if (message instanceof ByteBuf buf) {
+            return buf.duplicate();
+        } else if (message instanceof ByteBufHolder holder) {
+            return holder.duplicate();
+        }
+        return message;
+    }
+
+    private static List<Sample> collectSamples(String protocol) throws Exception {
+        List<Sample> samples = new ArrayList<>();
+        ProtocolTest.setDecodeListener((decoder, message) -> samples.add(new Sample(decoder, copy(message))));
+        try {
+            Class<?> testClass = Class.forName("org.traccar.protocol." + protocol + "ProtocolDecoderTest");
+            for (Method method : testClass.getMethods()) {
+                if (method.isAnnotationPresent(Test.class)) {
+                    Object test = testClass.getConstructor().newInstance();
+                    try {
+                        for (Method setup : testClass.getMethods()) {
+                            if (setup.isAnnotationPresent(BeforeEach.class)) {
+                                setup.invoke(test);
+                            }
+                        }
+                        method.invoke(test);
+                    } catch (InvocationTargetException e) {
+                        // failed checks don't make collected messages less useful
+                    }
+                }
+            }
+        } finally {
+            ProtocolTest.setDecodeListener(null);
+        }
+        return samples;
+    }
+
+    private static void inject(BaseProtocolDecoder decoder) throws Exception {
+        Config config = decoder.getConfig();
+        MemoryStorage storage = new MemoryStorage();
+        Device device = new Device();
+        device.setId(1);
+        device.setUniqueId("123456789012345");
+        storage.addObject(device, new Request(new Columns.Exclude("id")));
+        CacheManager cacheManager = new CacheManager(config, storage, new NullBroadcastService());
+        cacheManager.addDevice(device.getId(), decoder);
+        decoder.setCacheManager(cacheManager);
+
+        DeviceSession deviceSession = new DeviceSession(
+                device.getId(), device.getUniqueId(), null, mock(Protocol.class, withSettings().stubOnly()),
+                mock(Channel.class, withSettings().stubOnly()), mock(SocketAddress.class, withSettings().stubOnly()));
+        decoder.setConnectionManager(new ConnectionManager(
+                config, cacheManager, storage, null, null, new NullBroadcastService(), null) {
+            @Override
+            public DeviceSession getDeviceSession(
+                    Protocol protocol, Channel channel, SocketAddress remoteAddress, String... uniqueIds) {
+                return deviceSession;
+            }
+        });
+        decoder.setStatisticsManager(mock(StatisticsManager.class, withSettings().stubOnly()));
+        decoder.setMediaManager(mock(MediaManager.class, withSettings().stubOnly()));
+        decoder.setCommandsManager(mock(CommandsManager.class, withSettings().stubOnly()));
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        List<Sample> collected = collectSamples(protocol);
+        Set<BaseProtocolDecoder> decoders = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Sample> valid = new ArrayList<>();
+        for (Sample sample : collected) {
+            if (decoders.add(sample.decoder())) {
+                inject(sample.decoder());
+            }
+            try {
+                sample.decoder().decode(null, null, duplicate(sample.message()));
+                valid.add(sample);
+            } catch (Exception e) {
+                // skip messages that only decode with the original test mocks
+            }
+        }
+        if (valid.isEmpty()) {
+            throw new IllegalStateException("No samples for " + protocol);
+        }
+        samples = valid.toArray(new Sample[0]);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        Sample sample = samples[next];
+        next = next + 1 < samples.length ? next + 1 : 0;
+        return sample.decoder().decode(null, null, duplicate(sample.message()));
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.traccar.database;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.handler.DistanceHandler;
+import org.traccar.handler.FilterHandler;
+import org.traccar.handler.GeofenceHandler;
+import org.traccar.handler.MotionHandler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of latency instrumentation for a single position passing four handlers: timing, histogram lookup and record.
+ * Compares resolving histograms by key on every call with components resolved once when the pipeline is built.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LatencyManagerBenchmark {
+
+    private static final Class<?>[] HANDLERS = {
+            FilterHandler.class, GeofenceHandler.class, MotionHandler.class, DistanceHandler.class};
+    private static final String[] PROTOCOLS = {"gt06", "teltonika", "h02", "osmand"};
+
+    private LatencyManager latencyManager;
+    private LatencyManager.Component[] components;
+    private int next;
+
+    @Setup
+    public void setup() {
+        latencyManager = new LatencyManager();
+        components = new LatencyManager.Component[HANDLERS.length];
+        for (int i = 0; i < HANDLERS.length; i++) {
+            components[i] = latencyManager.getComponent(LatencyManager.Stage.HANDLER, HANDLERS[i]);
+        }
+    }
+
+    private String nextProtocol() {
+        next = (next + 1) & (PROTOCOLS.length - 1);
+        return PROTOCOLS[next];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void keyLookup() {
+        String protocol = nextProtocol();
+        for (Class<?> handler : HANDLERS) {
+            long startTime = System.nanoTime();
+            latencyManager.getHistogram(LatencyManager.Stage.HANDLER, handler, protocol)
+                    .record(System.nanoTime() - startTime);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void componentLookup() {
+        String protocol = nextProtocol();
+        for (LatencyManager.Component component : components) {
+            long startTime = System.nanoTime();
+            component.getHistogram(protocol).record(System.nanoTime() - startTime);
+        }
+    }
+
+}
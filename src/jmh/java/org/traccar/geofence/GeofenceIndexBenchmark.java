@@ -0,0 +1,93 @@
+package org.traccar.geofence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.traccar.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeofenceIndexBenchmark {
+
+    private static final int POINT_COUNT = 1024;
+
+    @Param({"10", "1000", "50000"})
+    private int geofenceCount;
+
+    private List<Geofence> geofences;
+    private GeofenceIndex index;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        geofences = new ArrayList<>();
+        for (int i = 0; i < geofenceCount; i++) {
+            double latitude = 40 + random.nextDouble() * 10;
+            double longitude = 10 + random.nextDouble() * 10;
+            Geofence geofence = new Geofence();
+            geofence.setId(i + 1);
+            if (i % 2 == 0) {
+                geofence.setArea("CIRCLE (" + latitude + " " + longitude + ", " + (100 + random.nextInt(5000)) + ")");
+            } else {
+                StringBuilder area = new StringBuilder("POLYGON ((");
+                int corners = 8 + random.nextInt(24);
+                double size = 0.005 + random.nextDouble() * 0.05;
+                for (int j = 0; j < corners; j++) {
+                    double angle = 2 * Math.PI * j / corners;
+                    if (j > 0) {
+                        area.append(", ");
+                    }
+                    area.append(latitude + Math.sin(angle) * size).append(' ').append(longitude + Math.cos(angle) * size);
+                }
+                geofence.setArea(area.append("))").toString());
+            }
+            geofence.getGeometry();
+            geofences.add(geofence);
+        }
+        index = new GeofenceIndex(geofences);
+        latitudes = new double[POINT_COUNT];
+        longitudes = new double[POINT_COUNT];
+        for (int i = 0; i < POINT_COUNT; i++) {
+            latitudes[i] = 40 + random.nextDouble() * 10;
+            longitudes[i] = 10 + random.nextDouble() * 10;
+        }
+    }
+
+    @Benchmark
+    public void linear(Blackhole blackhole) {
+        int i = next++ & (POINT_COUNT - 1);
+        for (Geofence geofence : geofences) {
+            if (geofence.getGeometry().containsPoint(latitudes[i], longitudes[i])) {
+                blackhole.consume(geofence);
+            }
+        }
+    }
+
+    @Benchmark
+    public void indexed(Blackhole blackhole) {
+        int i = next++ & (POINT_COUNT - 1);
+        blackhole.consume(index.getGeofences(latitudes[i], longitudes[i]));
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.traccar.handler;
+
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlFeatures;
+import org.apache.commons.jexl3.MapContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.traccar.config.Config;
+import org.traccar.helper.ReflectionCache;
+import org.traccar.model.Attribute;
+import org.traccar.model.Position;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComputedAttributesBenchmark {
+
+    private static final int ATTRIBUTE_COUNT = 15;
+
+    private ComputedAttributesHandler handler;
+    private JexlEngine engine;
+    private JexlFeatures features;
+    private Position position;
+    private List<Attribute> attributes;
+
+    @Setup
+    public void setup() {
+        handler = new ComputedAttributesHandler(new Config(), null, false);
+        engine = new JexlBuilder().strict(true).namespaces(Collections.singletonMap("math", Math.class)).create();
+        features = new JexlFeatures().structuredLiteral(true);
+
+        position = new Position();
+        position.setTime(new Date());
+        position.setSpeed(42);
+        position.setValid(true);
+        for (int i = 0; i < 20; i++) {
+            position.set("adc" + i, i * 10);
+        }
+
+        attributes = new ArrayList<>();
+        for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+            Attribute attribute = new Attribute();
+            attribute.setId(i + 1);
+            attribute.setAttribute("computed" + i);
+            attribute.setExpression("speed > 5 && valid ? adc" + i + " * 2 + math:abs(adc" + (i + 1) + ") : 0");
+            attributes.add(attribute);
+        }
+    }
+
+    private MapContext prepareLegacyContext() throws ReflectiveOperationException {
+        MapContext context = new MapContext();
+        for (var property : ReflectionCache.getProperties(Position.class, "get").values()) {
+            Method method = property.method();
+            String name = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
+            if (!method.getReturnType().equals(Map.class)) {
+                context.set(name, method.invoke(position));
+            } else {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) method.invoke(position)).entrySet()) {
+                    context.set((String) entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return context;
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) throws ReflectiveOperationException {
+        for (Attribute attribute : attributes) {
+            blackhole.consume(engine
+                    .createScript(features, engine.createInfo(), attribute.getExpression())
+                    .execute(prepareLegacyContext()));
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        for (Attribute attribute : attributes) {
+            blackhole.consume(handler.computeAttribute(attribute, position));
+        }
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.traccar.handler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.broadcast.NullBroadcastService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Attribute;
+import org.traccar.model.Device;
+import org.traccar.model.Geofence;
+import org.traccar.model.Permission;
+import org.traccar.model.Position;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs positions through individual pipeline handlers. Device, geofences and computed attributes are loaded into a
+ * real cache backed by memory storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PositionHandlerBenchmark {
+
+    private static final int POSITION_COUNT = 1024;
+    private static final int ATTRIBUTE_COUNT = 10;
+    private static final long DEVICE_ID = 1;
+
+    @Param({"100", "10000"})
+    private int geofenceCount;
+
+    private FilterHandler filterHandler;
+    private GeofenceHandler geofenceHandler;
+    private ComputedAttributesHandler computedAttributesHandler;
+    private DistanceHandler distanceHandler;
+
+    private Position[] positions;
+    private int next;
+    private boolean filtered;
+    private final BasePositionHandler.Callback callback = result -> filtered = result;
+
+    @Setup
+    public void setup() throws Exception {
+        Random random = new Random(42);
+        MemoryStorage storage = new MemoryStorage();
+        Request request = new Request(new Columns.Exclude("id"));
+
+        Device device = new Device();
+        device.setId(DEVICE_ID);
+        device.setUniqueId("123456789012345");
+        storage.addObject(device, request);
+
+        for (int i = 0; i < geofenceCount; i++) {
+            Geofence geofence = new Geofence();
+            geofence.setId(i + 1);
+            geofence.setArea("CIRCLE (" + (40 + random.nextDouble() * 10) + " " + (10 + random.nextDouble() * 10)
+                    + ", " + (100 + random.nextInt(5000)) + ")");
+            storage.addObject(geofence, request);
+            storage.addPermission(new Permission(Device.class, DEVICE_ID, Geofence.class, geofence.getId()));
+        }
+
+        for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+            Attribute attribute = new Attribute();
+            attribute.setId(i + 1);
+            attribute.setAttribute("computed" + i);
+            attribute.setType("number");
+            attribute.setExpression("speed > 5 && valid ? adc" + i + " * 2 + math:abs(adc" + (i + 1) + ") : 0");
+            storage.addObject(attribute, request);
+            storage.addPermission(new Permission(Device.class, DEVICE_ID, Attribute.class, attribute.getId()));
+        }
+
+        Config config = new Config();
+        config.setString(Keys.FILTER_INVALID, "true");
+        config.setString(Keys.FILTER_ZERO, "true");
+        config.setString(Keys.FILTER_DUPLICATE, "true");
+        config.setString(Keys.FILTER_FUTURE, "300");
+        config.setString(Keys.FILTER_DISTANCE, "10");
+        config.setString(Keys.FILTER_MAX_SPEED, "500");
+
+        CacheManager cacheManager = new CacheManager(config, storage, new NullBroadcastService());
+        cacheManager.addDevice(DEVICE_ID, this);
+
+        filterHandler = new FilterHandler(config, cacheManager, storage, null);
+        geofenceHandler = new GeofenceHandler(cacheManager);
+        computedAttributesHandler = new ComputedAttributesHandler(config, cacheManager, false);
+        distanceHandler = new DistanceHandler(config, cacheManager);
+
+        positions = new Position[POSITION_COUNT];
+        long time = System.currentTimeMillis() - POSITION_COUNT * 10_000L;
+        double latitude = 45;
+        double longitude = 15;
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            latitude += (random.nextDouble() - 0.5) * 0.01;
+            longitude += (random.nextDouble() - 0.5) * 0.01;
+            Position position = new Position("benchmark");
+            position.setDeviceId(DEVICE_ID);
+            position.setTime(new Date(time + i * 10_000L));
+            position.setValid(true);
+            position.setLatitude(latitude);
+            position.setLongitude(longitude);
+            position.setSpeed(random.nextInt(60));
+            position.setCourse(random.nextInt(360));
+            position.set(Position.KEY_IGNITION, true);
+            for (int j = 0; j <= ATTRIBUTE_COUNT; j++) {
+                position.set("adc" + j, random.nextInt(1000));
+            }
+            positions[i] = position;
+        }
+        cacheManager.updatePosition(positions[0]);
+    }
+
+    private Position nextPosition() {
+        Position position = positions[next];
+        next = (next + 1) & (POSITION_COUNT - 1);
+        return position;
+    }
+
+    @Benchmark
+    public boolean filter() {
+        filterHandler.onPosition(nextPosition(), callback);
+        return filtered;
+    }
+
+    @Benchmark
+    public Position geofence() {
+        Position position = nextPosition();
+        geofenceHandler.onPosition(position, callback);
+        return position;
+    }
+
+    @Benchmark
+    public Position computedAttributes() {
+        Position position = nextPosition();
+        computedAttributesHandler.onPosition(position, callback);
+        return position;
+    }
+
+    @Benchmark
+    public Position distance() {
+        Position position = nextPosition();
+        distanceHandler.onPosition(position, callback);
+        return position;
+    }
+
+}
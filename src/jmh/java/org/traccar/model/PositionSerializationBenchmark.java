@@ -0,0 +1,82 @@
+package org.traccar.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traccar.MainModule;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PositionSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter positionWriter;
+    private Position position;
+    private List<Position> positions;
+
+    @Setup
+    public void setup() {
+        objectMapper = MainModule.provideObjectMapper();
+        positionWriter = objectMapper.writerFor(Position.class);
+
+        position = new Position("gt06");
+        position.setId(123456789);
+        position.setDeviceId(42);
+        position.setTime(new Date());
+        position.setValid(true);
+        position.setLatitude(45.123456);
+        position.setLongitude(15.654321);
+        position.setAltitude(120);
+        position.setSpeed(35.5);
+        position.setCourse(270);
+        position.setAccuracy(5);
+        position.setAddress("1 Main Street, Springfield");
+        position.setGeofenceIds(List.of(1L, 2L, 3L));
+        position.set(Position.KEY_IGNITION, true);
+        position.set(Position.KEY_MOTION, true);
+        position.set(Position.KEY_SATELLITES, 9);
+        position.set(Position.KEY_RSSI, 4);
+        position.set(Position.KEY_POWER, 12.6);
+        position.set(Position.KEY_BATTERY, 4.1);
+        position.set(Position.KEY_ODOMETER, 123456789L);
+        position.set(Position.KEY_DISTANCE, 12.5);
+        position.set(Position.KEY_TOTAL_DISTANCE, 987654.3);
+        position.set(Position.KEY_HOURS, 3600000L);
+        position.set(Position.KEY_STATUS, 0x1234L);
+        for (int i = 1; i <= 4; i++) {
+            position.set(Position.PREFIX_ADC + i, i * 100);
+        }
+        position.setNetwork(new Network(CellTower.from(260, 2, 1234, 56789)));
+
+        positions = List.of(position, position, position, position, position, position, position, position);
+    }
+
+    @Benchmark
+    public byte[] single() throws IOException {
+        return positionWriter.writeValueAsBytes(position);
+    }
+
+    @Benchmark
+    public byte[] list() throws IOException {
+        return objectMapper.writeValueAsBytes(positions);
+    }
+
+}
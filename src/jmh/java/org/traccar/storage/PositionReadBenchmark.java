@@ -0,0 +1,165 @@
+package org.traccar.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.traccar.config.Config;
+import org.traccar.helper.ReflectionCache;
+import org.traccar.model.Position;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PositionReadBenchmark {
+
+    private static final int ROW_COUNT = 1_000_000;
+
+    private static final String QUERY = "SELECT * FROM tc_positions";
+
+    private final Config config = new Config();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JdbcDataSource dataSource;
+    private Connection connection;
+
+    @Setup
+    public void setup() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:positions;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tc_positions ("
+                    + "id BIGINT PRIMARY KEY, protocol VARCHAR(128), deviceid BIGINT, servertime TIMESTAMP, "
+                    + "devicetime TIMESTAMP, fixtime TIMESTAMP, valid BOOLEAN, latitude DOUBLE, longitude DOUBLE, "
+                    + "altitude DOUBLE, speed DOUBLE, course DOUBLE, accuracy DOUBLE, attributes VARCHAR(4000))");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO tc_positions VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            long time = System.currentTimeMillis();
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                Timestamp timestamp = new Timestamp(time - i * 1000L);
+                statement.setLong(1, i);
+                statement.setString(2, "osmand");
+                statement.setLong(3, i % 1000 + 1);
+                statement.setTimestamp(4, timestamp);
+                statement.setTimestamp(5, timestamp);
+                statement.setTimestamp(6, timestamp);
+                statement.setBoolean(7, true);
+                statement.setDouble(8, 48.0 + i * 1e-6);
+                statement.setDouble(9, 11.0 + i * 1e-6);
+                statement.setDouble(10, 500);
+                statement.setDouble(11, 42);
+                statement.setDouble(12, 180);
+                statement.setDouble(13, 5);
+                statement.setString(14, "{\"sat\":12,\"hdop\":0.8,\"ignition\":true,\"odometer\":" + i * 10
+                        + ",\"batteryLevel\":87,\"motion\":true}");
+                statement.addBatch();
+                if (i % 10_000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE tc_positions");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) throws Exception {
+        try (Connection readConnection = dataSource.getConnection();
+             PreparedStatement statement = readConnection.prepareStatement(QUERY);
+             ResultSet resultSet = statement.executeQuery()) {
+            ResultSetMetaData resultMetaData = resultSet.getMetaData();
+            List<Method> methods = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (var entry : ReflectionCache.getProperties(Position.class, "set").entrySet()) {
+                for (int i = 1; i <= resultMetaData.getColumnCount(); i++) {
+                    if (entry.getKey().equalsIgnoreCase(resultMetaData.getColumnLabel(i))) {
+                        methods.add(entry.getValue().method());
+                        names.add(entry.getKey());
+                        break;
+                    }
+                }
+            }
+            while (resultSet.next()) {
+                Position position = Position.class.getDeclaredConstructor().newInstance();
+                for (int i = 0; i < methods.size(); i++) {
+                    Method method = methods.get(i);
+                    String name = names.get(i);
+                    Class<?> type = method.getParameterTypes()[0];
+                    if (type.equals(boolean.class)) {
+                        method.invoke(position, resultSet.getBoolean(name));
+                    } else if (type.equals(long.class)) {
+                        method.invoke(position, resultSet.getLong(name));
+                    } else if (type.equals(double.class)) {
+                        method.invoke(position, resultSet.getDouble(name));
+                    } else if (type.equals(String.class)) {
+                        method.invoke(position, resultSet.getString(name));
+                    } else if (type.equals(Date.class)) {
+                        Timestamp timestamp = resultSet.getTimestamp(name);
+                        if (timestamp != null) {
+                            method.invoke(position, new Date(timestamp.getTime()));
+                        }
+                    } else {
+                        String value = resultSet.getString(name);
+                        if (value != null && !value.isEmpty()) {
+                            method.invoke(position, objectMapper.readValue(value, type));
+                        }
+                    }
+                }
+                blackhole.consume(position);
+            }
+        }
+    }
+
+    @Benchmark
+    public void generated(Blackhole blackhole) throws Exception {
+        try (var stream = QueryBuilder.create(config, dataSource, objectMapper, QUERY)
+                .executeQueryStreamed(Position.class)) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void generatedWithAttributes(Blackhole blackhole) throws Exception {
+        try (var stream = QueryBuilder.create(config, dataSource, objectMapper, QUERY)
+                .executeQueryStreamed(Position.class)) {
+            stream.forEach(position -> blackhole.consume(position.getAttributes().get("odometer")));
+        }
+    }
+
+}
@@ -19,8 +19,10 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import org.traccar.config.Keys;
 import org.traccar.database.CommandsManager;
+import org.traccar.database.LatencyManager;
 import org.traccar.database.MediaManager;
 import org.traccar.database.StatisticsManager;
+import org.traccar.helper.LatencyHistogram;
 import org.traccar.helper.UnitsConverter;
 import org.traccar.helper.model.AttributeUtil;
 import org.traccar.model.Command;
@@ -30,6 +32,7 @@ import org.traccar.session.ConnectionManager;
 import org.traccar.session.DeviceSession;
 import org.traccar.session.cache.CacheManager;
 
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
@@ -50,6 +53,7 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
     private StatisticsManager statisticsManager;
     private MediaManager mediaManager;
     private CommandsManager commandsManager;
+    private LatencyHistogram decoderHistogram;
 
     private String modelOverride;
 
@@ -86,6 +90,18 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
         this.commandsManager = commandsManager;
     }
 
+    @Inject
+    public void setLatencyManager(@Nullable LatencyManager latencyManager) {
+        if (latencyManager != null) {
+            decoderHistogram = latencyManager.getHistogram(LatencyManager.Stage.DECODER, getClass(), getProtocolName());
+        }
+    }
+
+    @Override
+    protected LatencyHistogram getDecoderHistogram() {
+        return decoderHistogram;
+    }
+
     public CommandsManager getCommandsManager() {
         return commandsManager;
     }
@@ -159,7 +175,7 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
     protected void onMessageEvent(
             Channel channel, SocketAddress remoteAddress, Object originalMessage, Object decodedMessage) {
         if (statisticsManager != null) {
-            statisticsManager.registerMessageReceived();
+            statisticsManager.registerMessageReceived(getProtocolName());
         }
         Set<Long> deviceIds = new HashSet<>();
         if (decodedMessage != null) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool for position handlers that perform blocking operations. The queue is bounded; when it is full, or the
+ * pool is not running, tasks are executed by the calling thread. That slows down reading from the connections of the
+ * calling event loop instead of accumulating an unlimited backlog.
+ */
+public class BlockingExecutor implements Executor, LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockingExecutor.class);
+
+    private static final long STOP_TIMEOUT = 10_000;
+
+    private final int threads;
+    private final int queueSize;
+
+    private volatile ThreadPoolExecutor executor;
+
+    public BlockingExecutor(Config config) {
+        threads = config.getInteger(Keys.SERVER_BLOCKING_THREADS);
+        queueSize = config.getInteger(Keys.SERVER_BLOCKING_QUEUE_SIZE);
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger index = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "blocking-handler-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), threadFactory,
+                (task, pool) -> task.run());
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        ThreadPoolExecutor current = executor;
+        executor = null;
+        if (current != null) {
+            current.shutdown();
+            if (!current.awaitTermination(STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Blocking handler executor did not finish in time");
+            }
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        ThreadPoolExecutor current = executor;
+        if (current != null) {
+            current.execute(task);
+        } else {
+            task.run();
+        }
+    }
+
+    public int getQueueSize() {
+        ThreadPoolExecutor current = executor;
+        return current != null ? current.getQueue().size() : 0;
+    }
+
+}
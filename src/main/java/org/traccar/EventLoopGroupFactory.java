@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,27 +15,93 @@
  */
 package org.traccar;
 
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.IoHandlerFactory;
 import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.UnixChannelOption;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringDatagramChannel;
+import io.netty.channel.uring.IoUringIoHandler;
+import io.netty.channel.uring.IoUringServerSocketChannel;
+import io.netty.channel.uring.IoUringSocketChannel;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 
 @Singleton
 public class EventLoopGroupFactory {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventLoopGroupFactory.class);
+
+    public enum Transport {
+        NIO,
+        EPOLL,
+        IO_URING
+    }
+
+    private final Transport transport;
     private final EventLoopGroup bossGroup;
     private final EventLoopGroup workerGroup;
+    private final int bindCount;
 
     @Inject
     public EventLoopGroupFactory(Config config) {
-        var ioHandlerFactory = NioIoHandler.newFactory();
+        transport = selectTransport(config.getString(Keys.SERVER_NETTY_TRANSPORT));
+        LOGGER.info("Netty transport: {}", transport);
+        IoHandlerFactory ioHandlerFactory = switch (transport) {
+            case EPOLL -> EpollIoHandler.newFactory();
+            case IO_URING -> IoUringIoHandler.newFactory();
+            default -> NioIoHandler.newFactory();
+        };
         bossGroup = new MultiThreadIoEventLoopGroup(
                 config.getInteger(Keys.SERVER_NETTY_BOSS_THREADS), ioHandlerFactory);
         workerGroup = new MultiThreadIoEventLoopGroup(
                 config.getInteger(Keys.SERVER_NETTY_WORKER_THREADS), ioHandlerFactory);
+        bindCount = transport != Transport.NIO ? Math.max(config.getInteger(Keys.SERVER_NETTY_REUSE_PORT), 1) : 1;
+    }
+
+    private static boolean isAvailable(Transport transport) {
+        try {
+            return switch (transport) {
+                case EPOLL -> Epoll.isAvailable();
+                case IO_URING -> IoUring.isAvailable();
+                default -> true;
+            };
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Transport selectTransport(String name) {
+        if (name == null) {
+            return isAvailable(Transport.EPOLL) ? Transport.EPOLL : Transport.NIO;
+        }
+        Transport transport = Transport.valueOf(name.toUpperCase());
+        if (!isAvailable(transport)) {
+            LOGGER.warn("Netty transport {} is not available, falling back to NIO", transport);
+            return Transport.NIO;
+        }
+        return transport;
+    }
+
+    public Transport getTransport() {
+        return transport;
     }
 
     public EventLoopGroup getBossGroup() {
@@ -46,4 +112,42 @@ public class EventLoopGroupFactory {
         return workerGroup;
     }
 
+    public Class<? extends ServerChannel> getServerChannelClass() {
+        return switch (transport) {
+            case EPOLL -> EpollServerSocketChannel.class;
+            case IO_URING -> IoUringServerSocketChannel.class;
+            default -> NioServerSocketChannel.class;
+        };
+    }
+
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+        return switch (transport) {
+            case EPOLL -> EpollSocketChannel.class;
+            case IO_URING -> IoUringSocketChannel.class;
+            default -> NioSocketChannel.class;
+        };
+    }
+
+    public Class<? extends DatagramChannel> getDatagramChannelClass() {
+        return switch (transport) {
+            case EPOLL -> EpollDatagramChannel.class;
+            case IO_URING -> IoUringDatagramChannel.class;
+            default -> NioDatagramChannel.class;
+        };
+    }
+
+    /**
+     * Number of sockets to bind for each server port. More than one is only returned if SO_REUSEPORT is supported.
+     */
+    public int getBindCount() {
+        return bindCount;
+    }
+
+    /**
+     * SO_REUSEPORT option for the selected transport or null if it is not supported.
+     */
+    public ChannelOption<Boolean> getReusePortOption() {
+        return transport != Transport.NIO ? UnixChannelOption.SO_REUSEPORT : null;
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2023 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,13 +21,19 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.RawMessageStore;
 import org.traccar.handler.network.AcknowledgementHandler;
 import org.traccar.helper.DataConverter;
+import org.traccar.helper.LatencyHistogram;
 import org.traccar.model.Position;
 
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
+import java.io.IOException;
 import java.net.SocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
@@ -35,7 +41,10 @@ import java.util.List;
 
 public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExtendedObjectDecoder.class);
+
     private Config config;
+    private RawMessageStore rawMessageStore;
 
     public Config getConfig() {
         return config;
@@ -47,21 +56,55 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
         init();
     }
 
+    @Inject
+    public void setRawMessageStore(@Nullable RawMessageStore rawMessageStore) {
+        this.rawMessageStore = rawMessageStore;
+    }
+
     /**
      * Method called when config is initialized.
      */
     protected void init() {
     }
 
-    private void saveOriginal(Object decodedMessage, Object originalMessage) {
+    /**
+     * Encode original message once for all positions decoded from it. Returns store location, HEX string or null.
+     */
+    private Object encodeOriginal(Object originalMessage) {
+        byte[] data;
+        if (originalMessage instanceof ByteBuf buf) {
+            data = ByteBufUtil.getBytes(buf, 0, buf.writerIndex());
+        } else if (originalMessage instanceof String stringMessage) {
+            data = stringMessage.getBytes(StandardCharsets.US_ASCII);
+        } else {
+            return null;
+        }
+        if (rawMessageStore != null) {
+            try {
+                RawMessageStore.Location location = rawMessageStore.write(data);
+                if (location != null) {
+                    return location;
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Original message save error", e);
+            }
+        }
+        return DataConverter.printHex(data);
+    }
+
+    private Object saveOriginal(Object decodedMessage, Object originalMessage, Object encodedOriginal) {
         if (getConfig().getBoolean(Keys.DATABASE_SAVE_ORIGINAL) && decodedMessage instanceof Position position) {
-            if (originalMessage instanceof ByteBuf buf) {
-                position.set(Position.KEY_ORIGINAL, ByteBufUtil.hexDump(buf, 0, buf.writerIndex()));
-            } else if (originalMessage instanceof String stringMessage) {
-                position.set(Position.KEY_ORIGINAL, DataConverter.printHex(
-                        stringMessage.getBytes(StandardCharsets.US_ASCII)));
+            if (encodedOriginal == null) {
+                encodedOriginal = encodeOriginal(originalMessage);
+            }
+            if (encodedOriginal instanceof RawMessageStore.Location location) {
+                position.set(Position.KEY_ORIGINAL_SEGMENT, location.segment());
+                position.set(Position.KEY_ORIGINAL_OFFSET, location.offset());
+            } else if (encodedOriginal instanceof String hex) {
+                position.set(Position.KEY_ORIGINAL, hex);
             }
         }
+        return encodedOriginal;
     }
 
     @Override
@@ -70,7 +113,12 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
         Object originalMessage = networkMessage.getMessage();
         ctx.writeAndFlush(new AcknowledgementHandler.EventReceived());
         try {
+            LatencyHistogram histogram = getDecoderHistogram();
+            long startTime = histogram != null ? System.nanoTime() : 0;
             Object decodedMessage = decode(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
+            if (histogram != null) {
+                histogram.record(System.nanoTime() - startTime);
+            }
             onMessageEvent(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage, decodedMessage);
             if (decodedMessage == null) {
                 decodedMessage = handleEmptyMessage(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
@@ -78,13 +126,14 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
             if (decodedMessage != null) {
                 if (decodedMessage instanceof Collection collection) {
                     ctx.writeAndFlush(new AcknowledgementHandler.EventDecoded(collection));
+                    Object encodedOriginal = null;
                     for (Object o : collection) {
-                        saveOriginal(o, originalMessage);
+                        encodedOriginal = saveOriginal(o, originalMessage, encodedOriginal);
                         ctx.fireChannelRead(o);
                     }
                 } else {
                     ctx.writeAndFlush(new AcknowledgementHandler.EventDecoded(List.of(decodedMessage)));
-                    saveOriginal(decodedMessage, originalMessage);
+                    saveOriginal(decodedMessage, originalMessage, null);
                     ctx.fireChannelRead(decodedMessage);
                 }
             } else {
@@ -95,6 +144,13 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
         }
     }
 
+    /**
+     * Histogram for recording time spent in the decode method, if latency metrics are enabled.
+     */
+    protected LatencyHistogram getDecoderHistogram() {
+        return null;
+    }
+
     protected void onMessageEvent(
             Channel channel, SocketAddress remoteAddress, Object originalMessage, Object decodedMessage) {
     }
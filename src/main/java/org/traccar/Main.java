@@ -21,7 +21,10 @@ import com.google.inject.ProvisionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastService;
+import org.traccar.database.PositionWriter;
+import org.traccar.database.RawMessageStore;
 import org.traccar.schedule.ScheduleManager;
+import org.traccar.session.ConnectionManager;
 import org.traccar.storage.DatabaseModule;
 import org.traccar.web.WebModule;
 import org.traccar.web.WebServer;
@@ -121,7 +124,8 @@ public final class Main {
 
             var services = new ArrayList<LifecycleObject>();
             for (var clazz : List.of(
-                    ScheduleManager.class, ServerManager.class, WebServer.class, BroadcastService.class)) {
+                    RawMessageStore.class, ScheduleManager.class, PositionWriter.class, BlockingExecutor.class,
+                    ServerManager.class, WebServer.class, BroadcastService.class)) {
                 var service = injector.getInstance(clazz);
                 if (service != null) {
                     service.start();
@@ -141,6 +145,7 @@ public final class Main {
                         throw new RuntimeException(e);
                     }
                 }
+                injector.getInstance(ConnectionManager.class).flushDeviceUpdates();
                 injector.getInstance(ExecutorService.class).shutdown();
             }));
         } catch (Exception e) {
@@ -28,14 +28,18 @@ import com.nimbusds.oauth2.sdk.GeneralException;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timer;
 import org.apache.velocity.app.VelocityEngine;
+import org.traccar.api.security.PermissionClosure;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.broadcast.MulticastBroadcastService;
 import org.traccar.broadcast.RedisBroadcastService;
 import org.traccar.broadcast.NullBroadcastService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.LatencyManager;
 import org.traccar.database.LdapProvider;
 import org.traccar.database.OpenIdProvider;
+import org.traccar.database.PositionWriter;
+import org.traccar.database.RawMessageStore;
 import org.traccar.database.StatisticsManager;
 import org.traccar.forward.EventForwarder;
 import org.traccar.forward.EventForwarderJson;
@@ -140,6 +144,51 @@ public class MainModule extends AbstractModule {
         }
     }
 
+    @Singleton
+    @Provides
+    public static PositionWriter providePositionWriter(Config config, Storage storage) {
+        if (config.getBoolean(Keys.DATABASE_ASYNC_WRITE)) {
+            return new PositionWriter(config, storage);
+        }
+        return null;
+    }
+
+    @Singleton
+    @Provides
+    public static BlockingExecutor provideBlockingExecutor(Config config) {
+        if (config.getInteger(Keys.SERVER_BLOCKING_THREADS) > 0) {
+            return new BlockingExecutor(config);
+        }
+        return null;
+    }
+
+    @Singleton
+    @Provides
+    public static RawMessageStore provideRawMessageStore(Config config) {
+        if (config.hasKey(Keys.DATABASE_ORIGINAL_PATH)) {
+            return new RawMessageStore(config);
+        }
+        return null;
+    }
+
+    @Singleton
+    @Provides
+    public static LatencyManager provideLatencyManager(Config config) {
+        if (config.getBoolean(Keys.SERVER_LATENCY_METRICS)) {
+            return new LatencyManager();
+        }
+        return null;
+    }
+
+    @Singleton
+    @Provides
+    public static PermissionClosure providePermissionClosure(Config config, Storage storage) {
+        if (config.getBoolean(Keys.DATABASE_PERMISSION_CLOSURE)) {
+            return new PermissionClosure(storage);
+        }
+        return null;
+    }
+
     @Singleton
     @Provides
     public static ObjectMapper provideObjectMapper() {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2024 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2024 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,12 @@ import com.google.inject.Injector;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.traccar.config.Config;
 import org.traccar.database.BufferingManager;
+import org.traccar.database.LatencyManager;
 import org.traccar.database.NotificationManager;
 import org.traccar.handler.BasePositionHandler;
 import org.traccar.handler.ComputedAttributesHandler;
@@ -40,10 +42,7 @@ import org.traccar.handler.MotionHandler;
 import org.traccar.handler.OutdatedHandler;
 import org.traccar.handler.PositionForwardingHandler;
 import org.traccar.handler.PostProcessHandler;
-<<<<<<< HEAD
-=======
 import org.traccar.handler.SavekidHealthHandler;
->>>>>>> 1e552659b85a97f7c027b589d32dbb249287e27c
 import org.traccar.handler.SpeedLimitHandler;
 import org.traccar.handler.TimeHandler;
 import org.traccar.handler.events.AlarmEventHandler;
@@ -63,12 +62,13 @@ import org.traccar.helper.PositionLogger;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 @Singleton
@@ -82,20 +82,31 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     private final List<BasePositionHandler> positionHandlers;
     private final List<BaseEventHandler> eventHandlers;
     private final PostProcessHandler postProcessHandler;
+    private final BlockingExecutor blockingExecutor;
+    private final boolean blockingEvents;
+    private final LatencyManager latencyManager;
+    private final LatencyManager.Component queueLatency;
+    private final Map<Object, LatencyManager.Component> handlerLatency = new IdentityHashMap<>();
 
-    private final Map<Long, Queue<Position>> queues = new HashMap<>();
-
-    private synchronized Queue<Position> getQueue(long deviceId) {
-        return queues.computeIfAbsent(deviceId, k -> new LinkedList<>());
+    private record QueuedPosition(Position position, long queueTime) {
     }
 
+    /**
+     * Positions waiting for processing, per device. Queue head is the position currently being processed. Queues are
+     * only modified inside map compute operations, which lock a single map bin, and removed once they become empty.
+     */
+    private final Map<Long, Queue<QueuedPosition>> queues = new ConcurrentHashMap<>();
+
     @Inject
     public ProcessingHandler(
             Injector injector, Config config,
-            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger) {
+            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger,
+            @Nullable LatencyManager latencyManager, @Nullable BlockingExecutor blockingExecutor) {
         this.cacheManager = cacheManager;
         this.notificationManager = notificationManager;
         this.positionLogger = positionLogger;
+        this.latencyManager = latencyManager;
+        this.blockingExecutor = blockingExecutor;
         bufferingManager = new BufferingManager(config, this);
 
         positionHandlers = Stream.of(
@@ -115,12 +126,8 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                 CopyAttributesHandler.class,
                 EngineHoursHandler.class,
                 PositionForwardingHandler.class,
-<<<<<<< HEAD
-                DatabaseHandler.class)
-=======
                 DatabaseHandler.class,
                 SavekidHealthHandler.class)
->>>>>>> 1e552659b85a97f7c027b589d32dbb249287e27c
                 .map((clazz) -> (BasePositionHandler) injector.getInstance(clazz))
                 .filter(Objects::nonNull)
                 .toList();
@@ -142,6 +149,24 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                 .toList();
 
         postProcessHandler = injector.getInstance(PostProcessHandler.class);
+
+        blockingEvents = eventHandlers.stream().anyMatch(BaseEventHandler::isBlocking);
+
+        if (latencyManager != null) {
+            queueLatency = latencyManager.getComponent(LatencyManager.Stage.QUEUE, ProcessingHandler.class);
+            for (BasePositionHandler handler : positionHandlers) {
+                handlerLatency.put(
+                        handler, latencyManager.getComponent(LatencyManager.Stage.HANDLER, handler.getClass()));
+            }
+            handlerLatency.put(postProcessHandler, latencyManager.getComponent(
+                    LatencyManager.Stage.HANDLER, postProcessHandler.getClass()));
+            for (BaseEventHandler handler : eventHandlers) {
+                handlerLatency.put(
+                        handler, latencyManager.getComponent(LatencyManager.Stage.EVENT, handler.getClass()));
+            }
+        } else {
+            queueLatency = null;
+        }
     }
 
     @Override
@@ -156,26 +181,77 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
 
     @Override
     public void onReleased(ChannelHandlerContext context, Position position) {
-        Queue<Position> queue = getQueue(position.getDeviceId());
-        boolean queued;
-        synchronized (queue) {
-            queued = !queue.isEmpty();
-            queue.offer(position);
+        QueuedPosition queuedPosition = new QueuedPosition(position, latencyManager != null ? System.nanoTime() : 0);
+        boolean[] idle = new boolean[1];
+        queues.compute(position.getDeviceId(), (deviceId, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                idle[0] = true;
+            }
+            queue.offer(queuedPosition);
+            return queue;
+        });
+        if (idle[0]) {
+            processPositionHandlers(context, queuedPosition);
         }
-        if (!queued) {
-            processPositionHandlers(context, position);
+    }
+
+    /**
+     * Number of positions queued for the device, including the one currently being processed.
+     */
+    public int getQueueSize(long deviceId) {
+        int[] size = new int[1];
+        queues.computeIfPresent(deviceId, (key, queue) -> {
+            size[0] = queue.size();
+            return queue;
+        });
+        return size[0];
+    }
+
+    /**
+     * Number of devices that have positions being processed.
+     */
+    public int getQueueCount() {
+        return queues.size();
+    }
+
+    private void handlePosition(
+            BasePositionHandler handler, Position position, BasePositionHandler.Callback callback) {
+        if (blockingExecutor != null && handler.isBlocking()) {
+            blockingExecutor.execute(() -> invokeHandler(handler, position, callback));
+        } else {
+            invokeHandler(handler, position, callback);
+        }
+    }
+
+    private void invokeHandler(
+            BasePositionHandler handler, Position position, BasePositionHandler.Callback callback) {
+        if (latencyManager != null) {
+            var histogram = handlerLatency.get(handler).getHistogram(position.getProtocol());
+            long startTime = System.nanoTime();
+            handler.handlePosition(position, filtered -> {
+                histogram.record(System.nanoTime() - startTime);
+                callback.processed(filtered);
+            });
+        } else {
+            handler.handlePosition(position, callback);
         }
     }
 
-    private void processPositionHandlers(ChannelHandlerContext ctx, Position position) {
+    private void processPositionHandlers(ChannelHandlerContext ctx, QueuedPosition queuedPosition) {
+        Position position = queuedPosition.position();
+        if (latencyManager != null) {
+            queueLatency.getHistogram(position.getProtocol())
+                    .record(System.nanoTime() - queuedPosition.queueTime());
+        }
         var iterator = positionHandlers.iterator();
-        iterator.next().handlePosition(position, new BasePositionHandler.Callback() {
+        handlePosition(iterator.next(), position, new BasePositionHandler.Callback() {
             @Override
             public void processed(boolean filtered) {
                 Runnable continuation = () -> {
                     if (!filtered) {
                         if (iterator.hasNext()) {
-                            iterator.next().handlePosition(position, this);
+                            handlePosition(iterator.next(), position, this);
                         } else {
                             processEventHandlers(ctx, position);
                         }
@@ -193,34 +269,52 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     }
 
     private void processEventHandlers(ChannelHandlerContext ctx, Position position) {
-        eventHandlers.forEach(handler -> handler.analyzePosition(
-                position, (event) -> notificationManager.updateEvents(Map.of(event, position))));
-        finishedProcessing(ctx, position, false);
+        if (blockingExecutor != null && blockingEvents) {
+            blockingExecutor.execute(() -> {
+                analyzePosition(position);
+                ctx.executor().execute(() -> finishedProcessing(ctx, position, false));
+            });
+        } else {
+            analyzePosition(position);
+            finishedProcessing(ctx, position, false);
+        }
+    }
+
+    private void analyzePosition(Position position) {
+        for (BaseEventHandler handler : eventHandlers) {
+            long startTime = latencyManager != null ? System.nanoTime() : 0;
+            handler.analyzePosition(position, (event) -> notificationManager.updateEvents(Map.of(event, position)));
+            if (latencyManager != null) {
+                handlerLatency.get(handler).getHistogram(position.getProtocol())
+                        .record(System.nanoTime() - startTime);
+            }
+        }
     }
 
     private void finishedProcessing(ChannelHandlerContext ctx, Position position, boolean filtered) {
         if (!filtered) {
-            postProcessHandler.handlePosition(position, ignore -> {
+            handlePosition(postProcessHandler, position, ignore -> {
                 positionLogger.log(ctx, position);
                 ctx.writeAndFlush(new AcknowledgementHandler.EventHandled(position));
+                cacheManager.removeDevice(position.getDeviceId(), position);
                 processNextPosition(ctx, position.getDeviceId());
             });
         } else {
             ctx.writeAndFlush(new AcknowledgementHandler.EventHandled(position));
+            cacheManager.removeDevice(position.getDeviceId(), position);
             processNextPosition(ctx, position.getDeviceId());
         }
-        cacheManager.removeDevice(position.getDeviceId(), position);
     }
 
     private void processNextPosition(ChannelHandlerContext ctx, long deviceId) {
-        Queue<Position> queue = getQueue(deviceId);
-        Position nextPosition;
-        synchronized (queue) {
+        QueuedPosition[] nextPosition = new QueuedPosition[1];
+        queues.computeIfPresent(deviceId, (key, queue) -> {
             queue.poll(); // remove current position
-            nextPosition = queue.peek();
-        }
-        if (nextPosition != null) {
-            ctx.executor().execute(() -> processPositionHandlers(ctx, nextPosition));
+            nextPosition[0] = queue.peek();
+            return queue.isEmpty() ? null : queue;
+        });
+        if (nextPosition[0] != null) {
+            ctx.executor().execute(() -> processPositionHandlers(ctx, nextPosition[0]));
         }
     }
 
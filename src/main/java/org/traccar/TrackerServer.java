@@ -1,5 +1,5 @@
 /*
- * Copyright 2012 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2012 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,8 +21,6 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.socket.nio.NioDatagramChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.traccar.config.Config;
@@ -42,6 +40,7 @@ public abstract class TrackerServer implements TrackerConnector {
 
     private final int port;
     private final String address;
+    private final int bindCount;
 
     private final ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
 
@@ -84,14 +83,18 @@ public abstract class TrackerServer implements TrackerConnector {
         if (datagram) {
             bootstrap = new Bootstrap()
                     .group(eventLoopGroupFactory.getWorkerGroup())
-                    .channel(NioDatagramChannel.class)
+                    .channel(eventLoopGroupFactory.getDatagramChannelClass())
                     .handler(pipelineFactory);
         } else {
             bootstrap = new ServerBootstrap()
                     .group(eventLoopGroupFactory.getBossGroup(), eventLoopGroupFactory.getWorkerGroup())
-                    .channel(NioServerSocketChannel.class)
+                    .channel(eventLoopGroupFactory.getServerChannelClass())
                     .childHandler(pipelineFactory);
         }
+        bindCount = eventLoopGroupFactory.getBindCount();
+        if (bindCount > 1) {
+            bootstrap.option(eventLoopGroupFactory.getReusePortOption(), true);
+        }
     }
 
     protected abstract void addProtocolHandlers(PipelineBuilder pipeline, Config config);
@@ -118,9 +121,11 @@ public abstract class TrackerServer implements TrackerConnector {
             endpoint = new InetSocketAddress(address, port);
         }
 
-        Channel channel = bootstrap.bind(endpoint).syncUninterruptibly().channel();
-        if (channel != null) {
-            getChannelGroup().add(channel);
+        for (int i = 0; i < bindCount; i++) {
+            Channel channel = bootstrap.bind(endpoint).syncUninterruptibly().channel();
+            if (channel != null) {
+                getChannelGroup().add(channel);
+            }
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,20 +22,21 @@ import org.eclipse.jetty.websocket.api.Callback;
 import org.eclipse.jetty.websocket.api.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.traccar.helper.model.PositionUtil;
+import org.traccar.database.LatestPositionIndex;
 import org.traccar.model.Device;
-import org.traccar.model.Event;
 import org.traccar.model.LogRecord;
 import org.traccar.model.Position;
 import org.traccar.session.ConnectionManager;
-import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 
 import java.nio.channels.ClosedChannelException;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionManager.UpdateListener {
 
@@ -46,27 +47,44 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
     private static final String KEY_EVENTS = "events";
     private static final String KEY_LOGS = "logs";
 
+    private static final String KEEPALIVE = "{}";
+
+    private record PendingKey(ConnectionManager.Update.Type type, long id) {
+    }
+
     private final ObjectMapper objectMapper;
     private final ConnectionManager connectionManager;
-    private final Storage storage;
+    private final LatestPositionIndex latestPositionIndex;
     private final long userId;
+    private final int queueSize;
 
-    private boolean includeLogs;
+    private volatile boolean includeLogs;
     private Session session;
 
-    public AsyncSocket(ObjectMapper objectMapper, ConnectionManager connectionManager, Storage storage, long userId) {
+    private final Map<PendingKey, String> pending = new LinkedHashMap<>();
+    private int unkeyedCount;
+    private long sequence;
+    private boolean sending;
+    private boolean overflowReported;
+
+    public AsyncSocket(
+            ObjectMapper objectMapper, ConnectionManager connectionManager, LatestPositionIndex latestPositionIndex,
+            long userId, int queueSize) {
         this.objectMapper = objectMapper;
         this.connectionManager = connectionManager;
-        this.storage = storage;
+        this.latestPositionIndex = latestPositionIndex;
         this.userId = userId;
+        this.queueSize = queueSize;
     }
 
     @Override
     public void onWebSocketOpen(Session session) {
-        this.session = session;
+        synchronized (this) {
+            this.session = session;
+        }
         try {
             Map<String, Collection<?>> data = new HashMap<>();
-            data.put(KEY_POSITIONS, PositionUtil.getLatestPositions(storage, userId));
+            data.put(KEY_POSITIONS, latestPositionIndex.getLatestPositions(userId));
             sendData(data);
             connectionManager.addListener(userId, this);
         } catch (StorageException e) {
@@ -77,7 +95,10 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
     @Override
     public void onWebSocketClose(int statusCode, String reason, Callback callback) {
         connectionManager.removeListener(userId, this);
-        session = null;
+        synchronized (this) {
+            session = null;
+            clearPending();
+        }
         callback.succeed();
     }
 
@@ -102,38 +123,157 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
 
     @Override
     public void onKeepalive() {
-        sendData(new HashMap<>());
+        enqueue(null, KEEPALIVE);
     }
 
     @Override
-    public void onUpdateDevice(Device device) {
-        sendData(Map.of(KEY_DEVICES, List.of(device)));
+    public void onUpdate(ConnectionManager.Update update) {
+        if (update.getType() == ConnectionManager.Update.Type.LOG && !includeLogs) {
+            return;
+        }
+        String message = update.getEncoded(this::formatUpdate);
+        if (message != null) {
+            PendingKey key = switch (update.getType()) {
+                case DEVICE -> new PendingKey(update.getType(), ((Device) update.getValue()).getId());
+                case POSITION -> new PendingKey(update.getType(), ((Position) update.getValue()).getDeviceId());
+                default -> null;
+            };
+            enqueue(key, message);
+        }
     }
 
-    @Override
-    public void onUpdatePosition(Position position) {
-        sendData(Map.of(KEY_POSITIONS, List.of(position)));
+    private String formatUpdate(ConnectionManager.Update update) {
+        String key = switch (update.getType()) {
+            case DEVICE -> KEY_DEVICES;
+            case POSITION -> KEY_POSITIONS;
+            case EVENT -> KEY_EVENTS;
+            case LOG -> KEY_LOGS;
+        };
+        return formatData(Map.of(key, List.of(update.getValue())));
     }
 
-    @Override
-    public void onUpdateEvent(Event event) {
-        sendData(Map.of(KEY_EVENTS, List.of(event)));
+    private String formatData(Map<String, Collection<?>> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Socket JSON formatting error", e);
+            return null;
+        }
     }
 
-    @Override
-    public void onUpdateLog(LogRecord record) {
-        if (includeLogs) {
-            sendData(Map.of(KEY_LOGS, List.of(record)));
+    private void sendData(Map<String, Collection<?>> data) {
+        String message = formatData(data);
+        if (message != null) {
+            enqueue(null, message);
         }
     }
 
-    private void sendData(Map<String, Collection<?>> data) {
-        if (session != null && session.isOpen()) {
-            try {
-                session.sendText(objectMapper.writeValueAsString(data), Callback.NOOP);
-            } catch (JsonProcessingException e) {
-                LOGGER.warn("Socket JSON formatting error", e);
+    private void clearPending() {
+        pending.clear();
+        unkeyedCount = 0;
+    }
+
+    /**
+     * Queue message for sending. Messages with the same key replace each other while waiting, so device and position
+     * updates are bounded by the number of devices. Messages with null key, like events and logs, are limited by the
+     * queue size; when it is reached, the oldest of them is dropped. Only one message is written to the session at a
+     * time.
+     */
+    private void enqueue(PendingKey key, String message) {
+        boolean dropped = false;
+        boolean start;
+        synchronized (this) {
+            if (session == null || !session.isOpen()) {
+                return;
+            }
+            if (key == null) {
+                if (unkeyedCount >= queueSize) {
+                    Iterator<PendingKey> iterator = pending.keySet().iterator();
+                    while (iterator.hasNext()) {
+                        if (iterator.next().type() == null) {
+                            iterator.remove();
+                            unkeyedCount -= 1;
+                            break;
+                        }
+                    }
+                    if (!overflowReported) {
+                        overflowReported = true;
+                        dropped = true;
+                    }
+                }
+                pending.put(new PendingKey(null, sequence++), message);
+                unkeyedCount += 1;
+            } else {
+                pending.put(key, message);
+            }
+            start = !sending;
+            sending = true;
+        }
+        if (dropped) {
+            LOGGER.warn("WebSocket send queue overflow for user {}, dropping oldest messages", userId);
+        }
+        if (start) {
+            sendNext();
+        }
+    }
+
+    private void sendNext() {
+        while (true) {
+            Session current;
+            String message;
+            synchronized (this) {
+                if (session == null || pending.isEmpty()) {
+                    sending = false;
+                    return;
+                }
+                current = session;
+                PendingKey key = pending.keySet().iterator().next();
+                message = pending.remove(key);
+                if (key.type() == null) {
+                    unkeyedCount -= 1;
+                }
+            }
+            SendCallback callback = new SendCallback();
+            current.sendText(message, callback);
+            if (!callback.completedInline()) {
+                return;
+            }
+        }
+    }
+
+    private final class SendCallback implements Callback {
+
+        private static final int STATE_PENDING = 0;
+        private static final int STATE_COMPLETED = 1;
+        private static final int STATE_DEFERRED = 2;
+        private static final int STATE_FAILED = 3;
+
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        /**
+         * Returns true if the write already completed and the caller should continue with the next message.
+         * Otherwise, the next message is sent from the completion callback.
+         */
+        boolean completedInline() {
+            return !state.compareAndSet(STATE_PENDING, STATE_DEFERRED) && state.get() == STATE_COMPLETED;
+        }
+
+        @Override
+        public void succeed() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_COMPLETED)) {
+                sendNext();
             }
         }
+
+        @Override
+        public void fail(Throwable x) {
+            synchronized (AsyncSocket.this) {
+                clearPending();
+                sending = false;
+            }
+            state.set(STATE_FAILED);
+        }
+
     }
+
 }
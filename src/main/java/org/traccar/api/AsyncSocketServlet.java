@@ -21,9 +21,9 @@ import org.eclipse.jetty.ee10.websocket.server.JettyWebSocketServletFactory;
 import org.traccar.api.security.LoginService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.LatestPositionIndex;
 import org.traccar.helper.SessionHelper;
 import org.traccar.session.ConnectionManager;
-import org.traccar.storage.Storage;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -41,17 +41,17 @@ public class AsyncSocketServlet extends JettyWebSocketServlet {
     private final Config config;
     private final ObjectMapper objectMapper;
     private final ConnectionManager connectionManager;
-    private final Storage storage;
+    private final LatestPositionIndex latestPositionIndex;
     private final LoginService loginService;
 
     @Inject
     public AsyncSocketServlet(
-            Config config, ObjectMapper objectMapper, ConnectionManager connectionManager, Storage storage,
-            LoginService loginService) {
+            Config config, ObjectMapper objectMapper, ConnectionManager connectionManager,
+            LatestPositionIndex latestPositionIndex, LoginService loginService) {
         this.config = config;
         this.objectMapper = objectMapper;
         this.connectionManager = connectionManager;
-        this.storage = storage;
+        this.latestPositionIndex = latestPositionIndex;
         this.loginService = loginService;
     }
 
@@ -72,7 +72,9 @@ public class AsyncSocketServlet extends JettyWebSocketServlet {
                 userId = (Long) ((HttpSession) req.getSession()).getAttribute(SessionHelper.USER_ID_KEY);
             }
             if (userId != null) {
-                return new AsyncSocket(objectMapper, connectionManager, storage, userId);
+                return new AsyncSocket(
+                        objectMapper, connectionManager, latestPositionIndex, userId,
+                        config.getInteger(Keys.WEB_SOCKET_QUEUE_SIZE));
             }
             return null;
         });
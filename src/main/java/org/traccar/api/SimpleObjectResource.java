@@ -17,7 +17,6 @@
 package org.traccar.api;
 
 import org.traccar.model.BaseModel;
-import org.traccar.model.User;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
@@ -48,7 +47,7 @@ public class SimpleObjectResource<T extends BaseModel> extends BaseObjectResourc
 
         if (all) {
             if (permissionsService.notAdmin(getUserId())) {
-                conditions.add(new Condition.Permission(User.class, getUserId(), baseClass));
+                conditions.add(permissionsService.getPermissionCondition(getUserId(), baseClass));
             }
         } else {
             if (userId == 0) {
@@ -56,7 +55,7 @@ public class SimpleObjectResource<T extends BaseModel> extends BaseObjectResourc
             } else {
                 permissionsService.checkUser(getUserId(), userId);
             }
-            conditions.add(new Condition.Permission(User.class, userId, baseClass));
+            conditions.add(permissionsService.getPermissionCondition(userId, baseClass));
         }
 
         Columns columns = excludeAttributes ? new Columns.Exclude("attributes") : new Columns.All();
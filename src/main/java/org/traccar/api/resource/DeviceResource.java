@@ -23,6 +23,7 @@ import org.traccar.api.signature.TokenManager;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.LatestPositionIndex;
 import org.traccar.database.MediaManager;
 import org.traccar.helper.LogAction;
 import org.traccar.model.Device;
@@ -83,6 +84,9 @@ public class DeviceResource extends BaseObjectResource<Device> {
     @Inject
     private MediaManager mediaManager;
 
+    @Inject
+    private LatestPositionIndex latestPositionIndex;
+
     @Inject
     private TokenManager tokenManager;
 
@@ -175,6 +179,7 @@ public class DeviceResource extends BaseObjectResource<Device> {
             try {
                 cacheManager.addDevice(position.getDeviceId(), key);
                 cacheManager.updatePosition(position);
+                latestPositionIndex.updatePosition(position);
                 connectionManager.updatePosition(true, position);
             } finally {
                 cacheManager.removeDevice(position.getDeviceId(), key);
@@ -34,6 +34,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -70,15 +71,24 @@ public class PermissionsResource  extends BaseResource {
         }
     }
 
-    @Path("bulk")
-    @POST
-    public Response add(List<LinkedHashMap<String, Long>> entities) throws Exception {
-        permissionsService.checkRestriction(getUserId(), UserRestrictions::getReadonly);
+    private List<Permission> checkPermissions(List<LinkedHashMap<String, Long>> entities) throws StorageException {
         checkPermissionTypes(entities);
+        List<Permission> permissions = new ArrayList<>();
         for (LinkedHashMap<String, Long> entity: entities) {
             Permission permission = new Permission(entity);
             checkPermission(permission);
-            storage.addPermission(permission);
+            permissions.add(permission);
+        }
+        return permissions;
+    }
+
+    @Path("bulk")
+    @POST
+    public Response add(List<LinkedHashMap<String, Long>> entities) throws Exception {
+        permissionsService.checkRestriction(getUserId(), UserRestrictions::getReadonly);
+        List<Permission> permissions = checkPermissions(entities);
+        storage.addPermissions(permissions);
+        for (Permission permission : permissions) {
             cacheManager.invalidatePermission(
                     true,
                     permission.getOwnerClass(), permission.getOwnerId(),
@@ -100,11 +110,9 @@ public class PermissionsResource  extends BaseResource {
     @Path("bulk")
     public Response remove(List<LinkedHashMap<String, Long>> entities) throws Exception {
         permissionsService.checkRestriction(getUserId(), UserRestrictions::getReadonly);
-        checkPermissionTypes(entities);
-        for (LinkedHashMap<String, Long> entity: entities) {
-            Permission permission = new Permission(entity);
-            checkPermission(permission);
-            storage.removePermission(permission);
+        List<Permission> permissions = checkPermissions(entities);
+        storage.removePermissions(permissions);
+        for (Permission permission : permissions) {
             cacheManager.invalidatePermission(
                     true,
                     permission.getOwnerClass(), permission.getOwnerId(),
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 package org.traccar.api.resource;
 
 import org.traccar.api.BaseResource;
+import org.traccar.database.LatestPositionIndex;
+import org.traccar.database.RawMessageStore;
+import org.traccar.helper.DataConverter;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Geofence;
@@ -29,6 +32,7 @@ import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
@@ -42,6 +46,7 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -62,6 +67,13 @@ public class PositionResource extends BaseResource {
     @Inject
     private GpxExportProvider gpxExportProvider;
 
+    @Inject
+    private LatestPositionIndex latestPositionIndex;
+
+    @Inject
+    @Nullable
+    private RawMessageStore rawMessageStore;
+
     @GET
     public Stream<Position> getJson(
             @QueryParam("deviceId") long deviceId, @QueryParam("id") List<Long> positionIds,
@@ -91,7 +103,7 @@ public class PositionResource extends BaseResource {
                         new Columns.All(), new Condition.LatestPositions(deviceId)));
             }
         } else {
-            return PositionUtil.getLatestPositions(storage, getUserId()).stream();
+            return latestPositionIndex.getLatestPositions(getUserId()).stream();
         }
     }
 
@@ -109,9 +121,35 @@ public class PositionResource extends BaseResource {
         permissionsService.checkPermission(Device.class, getUserId(), position.getDeviceId());
 
         storage.removeObject(Position.class, request);
+        latestPositionIndex.reload(position.getDeviceId());
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
+    @Path("{id}/original")
+    @GET
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response getOriginal(@PathParam("id") long positionId) throws StorageException, IOException {
+        Position position = storage.getObject(Position.class, new Request(
+                new Columns.All(), new Condition.Equals("id", positionId)));
+        if (position == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        permissionsService.checkPermission(Device.class, getUserId(), position.getDeviceId());
+
+        byte[] data = null;
+        if (position.hasAttribute(Position.KEY_ORIGINAL_SEGMENT) && rawMessageStore != null) {
+            data = rawMessageStore.read(
+                    position.getLong(Position.KEY_ORIGINAL_SEGMENT), position.getLong(Position.KEY_ORIGINAL_OFFSET));
+        } else if (position.hasAttribute(Position.KEY_ORIGINAL)) {
+            data = DataConverter.parseHex(position.getString(Position.KEY_ORIGINAL));
+        }
+        if (data == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.ok(data).build();
+    }
+
     @DELETE
     public Response remove(
             @QueryParam("deviceId") long deviceId,
@@ -123,6 +161,7 @@ public class PositionResource extends BaseResource {
         conditions.add(new Condition.Equals("deviceId", deviceId));
         conditions.add(new Condition.Between("fixTime", from, to));
         storage.removeObject(Position.class, new Request(Condition.merge(conditions)));
+        latestPositionIndex.reload(deviceId);
 
         return Response.status(Response.Status.NO_CONTENT).build();
     }
@@ -18,6 +18,8 @@ package org.traccar.api.resource;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.core.Context;
 import org.traccar.api.BaseResource;
+import org.traccar.api.security.PermissionClosure;
+import org.traccar.api.security.PermissionsCache;
 import org.traccar.model.ObjectOperation;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
@@ -85,6 +87,13 @@ public class ServerResource extends BaseResource {
     @Nullable
     private Geocoder geocoder;
 
+    @Inject
+    private PermissionsCache permissionsCache;
+
+    @Inject
+    @Nullable
+    private PermissionClosure permissionClosure;
+
     @Inject
     private LogAction actionLogger;
 
@@ -177,6 +186,24 @@ public class ServerResource extends BaseResource {
         return cacheManager.toString();
     }
 
+    @Path("permissions/rebuild")
+    @POST
+    public Response rebuildPermissions() throws StorageException {
+        permissionsService.checkAdmin(getUserId());
+        permissionsCache.rebuild();
+        return Response.ok().build();
+    }
+
+    @Path("permissions/check")
+    @GET
+    public Response checkPermissions() throws StorageException {
+        permissionsService.checkAdmin(getUserId());
+        if (permissionClosure == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.ok(permissionClosure.check()).build();
+    }
+
     @Path("reboot")
     @POST
     public void reboot() throws StorageException {
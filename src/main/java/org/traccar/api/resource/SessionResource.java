@@ -23,7 +23,6 @@ import org.traccar.api.signature.TokenManager;
 import org.traccar.database.OpenIdProvider;
 import org.traccar.helper.LogAction;
 import org.traccar.helper.SessionHelper;
-import org.traccar.model.RevokedToken;
 import org.traccar.model.User;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -156,12 +155,9 @@ public class SessionResource extends BaseResource {
 
     @Path("token/revoke")
     @POST
-    public Response revokeToken(
-            @FormParam("token") String token) throws StorageException, GeneralSecurityException, IOException {
+    public Response revokeToken(@FormParam("token") String token) throws Exception {
         TokenManager.TokenData data = tokenManager.decodeToken(token);
-        RevokedToken revokedToken = new RevokedToken();
-        revokedToken.setId(data.getId());
-        storage.addObject(revokedToken, new Request(new Columns.Include("id")));
+        tokenManager.revokeToken(data.getId());
         return Response.noContent().build();
     }
 
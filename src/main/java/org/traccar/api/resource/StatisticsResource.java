@@ -16,6 +16,7 @@
 package org.traccar.api.resource;
 
 import org.traccar.api.BaseResource;
+import org.traccar.database.LatencyManager;
 import org.traccar.model.Statistics;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -23,6 +24,8 @@ import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Order;
 import org.traccar.storage.query.Request;
 
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
@@ -31,6 +34,7 @@ import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 
 import java.util.Date;
+import java.util.List;
 import java.util.stream.Stream;
 
 @Path("statistics")
@@ -38,6 +42,10 @@ import java.util.stream.Stream;
 @Consumes(MediaType.APPLICATION_JSON)
 public class StatisticsResource extends BaseResource {
 
+    @Inject
+    @Nullable
+    private LatencyManager latencyManager;
+
     @GET
     public Stream<Statistics> get(
             @QueryParam("from") Date from, @QueryParam("to") Date to) throws StorageException {
@@ -48,4 +56,11 @@ public class StatisticsResource extends BaseResource {
                 new Order("captureTime")));
     }
 
+    @Path("latency")
+    @GET
+    public List<LatencyManager.Summary> getLatency() {
+        permissionsService.checkAdmin(getUserId());
+        return latencyManager != null ? latencyManager.getSummaries() : List.of();
+    }
+
 }
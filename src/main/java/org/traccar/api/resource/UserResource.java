@@ -30,6 +30,7 @@ import org.traccar.model.Device;
 import org.traccar.model.ManagedUser;
 import org.traccar.model.Permission;
 import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
@@ -61,6 +62,9 @@ public class UserResource extends BaseObjectResource<User> {
     @Inject
     private LogAction actionLogger;
 
+    @Inject
+    private CacheManager cacheManager;
+
     @Context
     private HttpServletRequest request;
 
@@ -91,17 +95,14 @@ public class UserResource extends BaseObjectResource<User> {
     @Override
     @PermitAll
     @POST
-    public Response add(User entity) throws StorageException {
+    public Response add(User entity) throws Exception {
         User currentUser = getUserId() > 0 ? permissionsService.getUser(getUserId()) : null;
         if (currentUser == null || !currentUser.getAdministrator()) {
             permissionsService.checkUserUpdate(getUserId(), new User(), entity);
             if (currentUser != null && currentUser.getUserLimit() != 0) {
                 int userLimit = currentUser.getUserLimit();
                 if (userLimit > 0) {
-                    int userCount = storage.getObjects(baseClass, new Request(
-                            new Columns.All(),
-                            new Condition.Permission(User.class, getUserId(), ManagedUser.class).excludeGroups()))
-                            .size();
+                    int userCount = permissionsService.getObjectIds(getUserId(), User.class).size();
                     if (userCount >= userLimit) {
                         throw new SecurityException("Manager user limit reached");
                     }
@@ -129,6 +130,7 @@ public class UserResource extends BaseObjectResource<User> {
 
         if (currentUser != null && currentUser.getUserLimit() != 0) {
             storage.addPermission(new Permission(User.class, getUserId(), ManagedUser.class, entity.getId()));
+            cacheManager.invalidatePermission(true, User.class, getUserId(), ManagedUser.class, entity.getId(), true);
             actionLogger.link(request, getUserId(), User.class, getUserId(), ManagedUser.class, entity.getId());
         }
         return Response.ok(entity).build();
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.api.security;
+
+import org.traccar.broadcast.BroadcastInterface;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.BaseModel;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recently verified login and password pairs. Credentials are stored only as a keyed hash with a random per-process
+ * key. Entries expire after a short timeout and are removed immediately when the user changes.
+ */
+@Singleton
+public class CredentialsCache implements BroadcastInterface {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private record Entry(User user, long expiration) {
+    }
+
+    private final long timeout;
+    private final int size;
+    private final SecretKeySpec key;
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on every user invalidation, so that users loaded concurrently with a change are not cached.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    @Inject
+    public CredentialsCache(Config config, CacheManager cacheManager) {
+        timeout = TimeUnit.SECONDS.toMillis(config.getInteger(Keys.WEB_CREDENTIALS_CACHE_TIMEOUT));
+        size = config.getInteger(Keys.WEB_CREDENTIALS_CACHE_SIZE);
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        key = new SecretKeySpec(secret, ALGORITHM);
+        if (isEnabled()) {
+            cacheManager.addListener(this);
+        }
+    }
+
+    public boolean isEnabled() {
+        return timeout > 0 && size > 0;
+    }
+
+    private ByteBuffer hash(String login, String password) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(key);
+        byte[] loginBytes = login.getBytes(StandardCharsets.UTF_8);
+        mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(loginBytes.length).array());
+        mac.update(loginBytes);
+        mac.update(password.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(mac.doFinal());
+    }
+
+    /**
+     * Current version to be captured before loading the user and passed to {@link #put}.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public User get(String login, String password) throws GeneralSecurityException {
+        if (!isEnabled()) {
+            return null;
+        }
+        ByteBuffer hash = hash(login, password);
+        Entry entry = entries.get(hash);
+        if (entry != null) {
+            if (entry.expiration() > System.currentTimeMillis()) {
+                return entry.user();
+            }
+            entries.remove(hash, entry);
+        }
+        return null;
+    }
+
+    public void put(String login, String password, User user, long loadVersion) throws GeneralSecurityException {
+        if (!isEnabled()) {
+            return;
+        }
+        long currentTime = System.currentTimeMillis();
+        if (entries.size() >= size) {
+            entries.values().removeIf(entry -> entry.expiration() <= currentTime);
+            if (entries.size() >= size) {
+                return;
+            }
+        }
+        ByteBuffer hash = hash(login, password);
+        Entry entry = new Entry(user, currentTime + timeout);
+        entries.put(hash, entry);
+        if (version.get() != loadVersion) {
+            entries.remove(hash, entry);
+        }
+    }
+
+    public void remove(long userId) {
+        version.incrementAndGet();
+        entries.values().removeIf(entry -> entry.user().getId() == userId);
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(User.class)) {
+            remove(id);
+        }
+    }
+
+}
@@ -43,6 +43,7 @@ public class LoginService {
     private final Storage storage;
     private final TokenManager tokenManager;
     private final LdapProvider ldapProvider;
+    private final CredentialsCache credentialsCache;
 
     private final String serviceAccountToken;
     private final boolean forceLdap;
@@ -50,11 +51,13 @@ public class LoginService {
 
     @Inject
     public LoginService(
-            Config config, Storage storage, TokenManager tokenManager, @Nullable LdapProvider ldapProvider) {
+            Config config, Storage storage, TokenManager tokenManager, @Nullable LdapProvider ldapProvider,
+            CredentialsCache credentialsCache) {
         this.storage = storage;
         this.config = config;
         this.tokenManager = tokenManager;
         this.ldapProvider = ldapProvider;
+        this.credentialsCache = credentialsCache;
         serviceAccountToken = config.getString(Keys.WEB_SERVICE_ACCOUNT_TOKEN);
         forceLdap = config.getBoolean(Keys.LDAP_FORCE);
         forceOpenId = config.getBoolean(Keys.OPENID_FORCE);
@@ -68,7 +71,7 @@ public class LoginService {
             case "basic":
                 byte[] decodedBytes = DataConverter.parseBase64(credentials);
                 String[] auth = new String(decodedBytes, StandardCharsets.US_ASCII).split(":", 2);
-                return login(auth[0], auth[1], null);
+                return loginBasic(auth[0], auth[1]);
             default:
                 throw new SecurityException("Unsupported authorization scheme");
         }
@@ -87,6 +90,21 @@ public class LoginService {
         return new LoginResult(user, tokenData.getExpiration());
     }
 
+    private LoginResult loginBasic(
+            String email, String password) throws StorageException, GeneralSecurityException {
+        User user = credentialsCache.get(email, password);
+        if (user != null) {
+            checkUserEnabled(user);
+            return new LoginResult(user);
+        }
+        long cacheVersion = credentialsCache.getVersion();
+        LoginResult result = login(email, password, null);
+        if (result != null) {
+            credentialsCache.put(email, password, result.getUser(), cacheVersion);
+        }
+        return result;
+    }
+
     public LoginResult login(String email, String password, Integer code) throws StorageException {
         if (forceOpenId) {
             return null;
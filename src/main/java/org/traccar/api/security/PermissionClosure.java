@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.api.security;
+
+import org.traccar.helper.SortedLongSet;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Device;
+import org.traccar.model.Group;
+import org.traccar.model.GroupedModel;
+import org.traccar.model.ManagedUser;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Permission;
+import org.traccar.model.User;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * In-memory copy of user permission links, the group tree and device groups. Effective permissions are derived from
+ * it with the same rules as the database permission query, so devices and groups are also granted through groups
+ * down to two levels of nesting. Links are loaded per class on first use and updated incrementally afterwards.
+ */
+public class PermissionClosure {
+
+    private static final int GROUP_DEPTH = 2;
+
+    public record Mismatch(long userId, String type, List<Long> missing, List<Long> unexpected) {
+    }
+
+    private final Storage storage;
+
+    private final Map<Class<? extends BaseModel>, Map<Long, Set<Long>>> links = new HashMap<>();
+    private final Map<Long, Long> groupParents = new HashMap<>();
+    private final Map<Long, Set<Long>> groupChildren = new HashMap<>();
+    private final Map<Long, Long> deviceGroups = new HashMap<>();
+    private final Map<Long, Set<Long>> groupDevices = new HashMap<>();
+    private boolean treeLoaded;
+
+    public PermissionClosure(Storage storage) {
+        this.storage = storage;
+    }
+
+    private Map<Long, Set<Long>> getLinks(Class<? extends BaseModel> propertyClass) throws StorageException {
+        Map<Long, Set<Long>> result = links.get(propertyClass);
+        if (result == null) {
+            result = new HashMap<>();
+            for (Permission permission : storage.getPermissions(User.class, propertyClass)) {
+                result.computeIfAbsent(permission.getOwnerId(), key -> new HashSet<>()).add(permission.getPropertyId());
+            }
+            links.put(propertyClass, result);
+        }
+        return result;
+    }
+
+    private void loadTree() throws StorageException {
+        if (!treeLoaded) {
+            var request = new Request(new Columns.Include("id", "groupId"));
+            try (var groups = storage.getObjectsStream(Group.class, request)) {
+                groups.forEach(group -> setParent(groupParents, groupChildren, group.getId(), group.getGroupId()));
+            }
+            try (var devices = storage.getObjectsStream(Device.class, request)) {
+                devices.forEach(device -> setParent(deviceGroups, groupDevices, device.getId(), device.getGroupId()));
+            }
+            treeLoaded = true;
+        }
+    }
+
+    private static void setParent(Map<Long, Long> parents, Map<Long, Set<Long>> children, long id, long parentId) {
+        Long previous = parentId > 0 ? parents.put(id, parentId) : parents.remove(id);
+        if (previous != null && previous != parentId) {
+            Set<Long> siblings = children.get(previous);
+            siblings.remove(id);
+            if (siblings.isEmpty()) {
+                children.remove(previous);
+            }
+        }
+        if (parentId > 0) {
+            children.computeIfAbsent(parentId, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private Set<Long> expandGroups(Set<Long> groupIds) {
+        Set<Long> result = new HashSet<>(groupIds);
+        Set<Long> level = groupIds;
+        for (int i = 0; i < GROUP_DEPTH && !level.isEmpty(); i++) {
+            Set<Long> next = new HashSet<>();
+            for (long groupId : level) {
+                next.addAll(groupChildren.getOrDefault(groupId, Set.of()));
+            }
+            result.addAll(next);
+            level = next;
+        }
+        return result;
+    }
+
+    /**
+     * Ids of objects the user has access to. Users are requested with the managed user class.
+     */
+    public synchronized SortedLongSet getObjectIds(
+            long userId, Class<? extends BaseModel> propertyClass) throws StorageException {
+        Set<Long> direct = getLinks(propertyClass).getOrDefault(userId, Set.of());
+        if (!propertyClass.equals(Device.class) && !propertyClass.equals(Group.class)) {
+            return SortedLongSet.of(direct.stream().mapToLong(Long::longValue));
+        }
+        loadTree();
+        Set<Long> groups = expandGroups(getLinks(Group.class).getOrDefault(userId, Set.of()));
+        if (propertyClass.equals(Group.class)) {
+            return SortedLongSet.of(groups.stream().mapToLong(Long::longValue));
+        }
+        return SortedLongSet.of(LongStream.concat(
+                direct.stream().mapToLong(Long::longValue),
+                groups.stream().flatMap(groupId -> groupDevices.getOrDefault(groupId, Set.of()).stream())
+                        .mapToLong(Long::longValue)));
+    }
+
+    public synchronized void rebuild() throws StorageException {
+        links.clear();
+        groupParents.clear();
+        groupChildren.clear();
+        deviceGroups.clear();
+        groupDevices.clear();
+        treeLoaded = false;
+        loadTree();
+    }
+
+    public synchronized void updateObject(
+            Class<? extends BaseModel> clazz, long id, ObjectOperation operation) throws StorageException {
+        if (operation == ObjectOperation.DELETE) {
+            removeObject(clazz, id);
+        } else if (treeLoaded && (clazz.equals(Device.class) || clazz.equals(Group.class))) {
+            GroupedModel object = (GroupedModel) storage.getObject(clazz, new Request(
+                    new Columns.Include("id", "groupId"), new Condition.Equals("id", id)));
+            if (object == null) {
+                removeObject(clazz, id);
+            } else if (clazz.equals(Device.class)) {
+                setParent(deviceGroups, groupDevices, id, object.getGroupId());
+            } else {
+                setParent(groupParents, groupChildren, id, object.getGroupId());
+            }
+        }
+    }
+
+    private void removeObject(Class<? extends BaseModel> clazz, long id) {
+        if (clazz.equals(User.class)) {
+            links.values().forEach(userLinks -> userLinks.remove(id));
+            removeProperty(ManagedUser.class, id);
+        } else if (clazz.equals(Device.class)) {
+            setParent(deviceGroups, groupDevices, id, 0);
+        } else if (clazz.equals(Group.class)) {
+            setParent(groupParents, groupChildren, id, 0);
+            for (long childId : new ArrayList<>(groupChildren.getOrDefault(id, Set.of()))) {
+                setParent(groupParents, groupChildren, childId, 0);
+            }
+            for (long deviceId : new ArrayList<>(groupDevices.getOrDefault(id, Set.of()))) {
+                setParent(deviceGroups, groupDevices, deviceId, 0);
+            }
+        }
+        removeProperty(clazz, id);
+    }
+
+    private void removeProperty(Class<? extends BaseModel> propertyClass, long id) {
+        Map<Long, Set<Long>> propertyLinks = links.get(propertyClass);
+        if (propertyLinks != null) {
+            propertyLinks.values().forEach(ids -> ids.remove(id));
+        }
+    }
+
+    public synchronized void updatePermission(
+            Class<? extends BaseModel> clazz1, long id1, Class<? extends BaseModel> clazz2, long id2, boolean link) {
+        if (clazz1.equals(User.class)) {
+            Map<Long, Set<Long>> propertyLinks = links.get(clazz2);
+            if (propertyLinks != null) {
+                if (link) {
+                    propertyLinks.computeIfAbsent(id1, key -> new HashSet<>()).add(id2);
+                } else {
+                    Set<Long> ids = propertyLinks.get(id1);
+                    if (ids != null) {
+                        ids.remove(id2);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare permissions of every user with the database permission query. Changes made while the check is running
+     * can be reported as mismatches.
+     */
+    public List<Mismatch> check() throws StorageException {
+        Set<Class<? extends BaseModel>> classes = new LinkedHashSet<>(List.of(Device.class, Group.class));
+        synchronized (this) {
+            classes.addAll(links.keySet());
+        }
+        List<Long> userIds;
+        try (var users = storage.getObjectsStream(User.class, new Request(new Columns.Include("id")))) {
+            userIds = users.map(BaseModel::getId).toList();
+        }
+        List<Mismatch> result = new ArrayList<>();
+        for (long userId : userIds) {
+            for (Class<? extends BaseModel> propertyClass : classes) {
+                Class<? extends BaseModel> objectClass = propertyClass.equals(ManagedUser.class)
+                        ? User.class : propertyClass;
+                SortedLongSet expected;
+                try (var objects = storage.getObjectsStream(objectClass, new Request(
+                        new Columns.Include("id"), new Condition.Permission(User.class, userId, propertyClass)))) {
+                    expected = SortedLongSet.of(objects.mapToLong(BaseModel::getId));
+                }
+                SortedLongSet actual = getObjectIds(userId, propertyClass);
+                List<Long> missing = expected.stream().filter(id -> !actual.contains(id)).boxed().toList();
+                List<Long> unexpected = actual.stream().filter(id -> !expected.contains(id)).boxed().toList();
+                if (!missing.isEmpty() || !unexpected.isEmpty()) {
+                    result.add(new Mismatch(userId, Permission.getKey(propertyClass), missing, unexpected));
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.api.security;
+
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.broadcast.BroadcastInterface;
+import org.traccar.helper.SortedLongSet;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Device;
+import org.traccar.model.Group;
+import org.traccar.model.ManagedUser;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Server;
+import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Application wide cache of users and their effective permissions, shared by all requests. Entries are dropped on
+ * object and permission invalidations, including the ones received from other nodes. Returned objects are shared and
+ * must not be modified.
+ */
+@Singleton
+public class PermissionsCache implements BroadcastInterface {
+
+    private static final int USER_LIMIT = 10000;
+
+    private final Storage storage;
+    private final CacheManager cacheManager;
+    private final PermissionClosure permissionClosure;
+
+    /**
+     * Incremented on every invalidation, so that results loaded concurrently with a change are not cached.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Class<?>, SortedLongSet>> permissions = new ConcurrentHashMap<>();
+
+    @Inject
+    public PermissionsCache(
+            Storage storage, CacheManager cacheManager, @Nullable PermissionClosure permissionClosure) {
+        this.storage = storage;
+        this.cacheManager = cacheManager;
+        this.permissionClosure = permissionClosure;
+        cacheManager.addListener(this);
+    }
+
+    public Server getServer() {
+        return cacheManager.getServer();
+    }
+
+    public User getUser(long userId) throws StorageException {
+        User user = users.get(userId);
+        if (user == null) {
+            long currentVersion = version.get();
+            user = storage.getObject(User.class, new Request(
+                    new Columns.All(), new Condition.Equals("id", userId)));
+            if (user != null) {
+                if (users.size() >= USER_LIMIT) {
+                    users.clear();
+                }
+                users.put(userId, user);
+                if (version.get() != currentVersion) {
+                    users.remove(userId);
+                }
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Ids of objects the user has access to, directly or through groups. For the user class it is the list of
+     * managed users.
+     */
+    public SortedLongSet getObjectIds(long userId, Class<? extends BaseModel> clazz) throws StorageException {
+        Class<? extends BaseModel> propertyClass = clazz.equals(User.class) ? ManagedUser.class : clazz;
+        var userPermissions = permissions.get(userId);
+        SortedLongSet ids = userPermissions != null ? userPermissions.get(propertyClass) : null;
+        if (ids == null) {
+            long currentVersion = version.get();
+            if (permissionClosure != null) {
+                ids = permissionClosure.getObjectIds(userId, propertyClass);
+            } else {
+                var request = new Request(
+                        new Columns.Include("id"), new Condition.Permission(User.class, userId, propertyClass));
+                try (var objects = storage.getObjectsStream(clazz, request)) {
+                    ids = SortedLongSet.of(objects.mapToLong(BaseModel::getId));
+                }
+            }
+            if (permissions.size() >= USER_LIMIT) {
+                permissions.clear();
+            }
+            permissions.computeIfAbsent(userId, key -> new ConcurrentHashMap<>()).put(propertyClass, ids);
+            if (version.get() != currentVersion) {
+                permissions.remove(userId);
+            }
+        }
+        return ids;
+    }
+
+    private void invalidateUser(long userId) {
+        version.incrementAndGet();
+        users.remove(userId);
+        permissions.remove(userId);
+    }
+
+    private void invalidatePermissions(long userId) {
+        version.incrementAndGet();
+        permissions.remove(userId);
+    }
+
+    private void invalidateAll() {
+        version.incrementAndGet();
+        permissions.clear();
+    }
+
+    /**
+     * Reload the permission closure, if enabled, and drop all cached permissions.
+     */
+    public void rebuild() throws StorageException {
+        if (permissionClosure != null) {
+            permissionClosure.rebuild();
+        }
+        invalidateAll();
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) throws StorageException {
+        if (permissionClosure != null) {
+            permissionClosure.updateObject(clazz, id, operation);
+        }
+        if (clazz.equals(User.class)) {
+            invalidateUser(id);
+        } else if (operation == ObjectOperation.DELETE || clazz.equals(Device.class) || clazz.equals(Group.class)) {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public <T1 extends BaseModel, T2 extends BaseModel> void invalidatePermission(
+            boolean local, Class<T1> clazz1, long id1, Class<T2> clazz2, long id2, boolean link) {
+        if (permissionClosure != null) {
+            permissionClosure.updatePermission(clazz1, id1, clazz2, id2, link);
+        }
+        if (clazz1.equals(User.class)) {
+            invalidatePermissions(id1);
+        } else if (clazz2.equals(User.class)) {
+            invalidatePermissions(id2);
+        }
+    }
+
+}
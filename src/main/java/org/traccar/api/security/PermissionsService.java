@@ -16,6 +16,7 @@
 package org.traccar.api.security;
 
 import com.google.inject.servlet.RequestScoped;
+import org.traccar.helper.SortedLongSet;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Calendar;
 import org.traccar.model.Command;
@@ -40,22 +41,24 @@ import java.util.Objects;
 @RequestScoped
 public class PermissionsService {
 
+    /**
+     * Largest permission set that is passed to the database as a list of ids instead of a permission subquery.
+     */
+    private static final int ID_CONDITION_LIMIT = 1000;
+
     private final Storage storage;
+    private final PermissionsCache permissionsCache;
 
-    private Server server;
     private User user;
 
     @Inject
-    public PermissionsService(Storage storage) {
+    public PermissionsService(Storage storage, PermissionsCache permissionsCache) {
         this.storage = storage;
+        this.permissionsCache = permissionsCache;
     }
 
     public Server getServer() throws StorageException {
-        if (server == null) {
-            server = storage.getObject(
-                    Server.class, new Request(new Columns.All()));
-        }
-        return server;
+        return permissionsCache.getServer();
     }
 
     public User getUser(long userId) throws StorageException {
@@ -63,13 +66,31 @@ public class PermissionsService {
             if (userId == ServiceAccountUser.ID) {
                 user = new ServiceAccountUser();
             } else {
-                user = storage.getObject(
-                        User.class, new Request(new Columns.All(), new Condition.Equals("id", userId)));
+                user = permissionsCache.getUser(userId);
             }
         }
         return user;
     }
 
+    /**
+     * Ids of objects of the given class the user has access to. For users it returns managed users.
+     */
+    public SortedLongSet getObjectIds(long userId, Class<? extends BaseModel> clazz) throws StorageException {
+        return permissionsCache.getObjectIds(userId, clazz);
+    }
+
+    /**
+     * Condition that limits a query to objects the user has access to. Small permission sets are resolved from the
+     * cache and passed as a list of ids.
+     */
+    public Condition getPermissionCondition(long userId, Class<? extends BaseModel> clazz) throws StorageException {
+        SortedLongSet ids = getObjectIds(userId, clazz);
+        if (ids.size() <= ID_CONDITION_LIMIT) {
+            return new Condition.In("id", ids.asList());
+        }
+        return new Condition.Permission(User.class, userId, clazz.equals(User.class) ? ManagedUser.class : clazz);
+    }
+
     public boolean notAdmin(long userId) throws StorageException {
         return !getUser(userId).getAdministrator();
     }
@@ -109,9 +130,7 @@ public class PermissionsService {
                 denied = getServer().getDeviceReadonly() || getUser(userId).getDeviceReadonly()
                         || addition && getUser(userId).getDeviceLimit() == 0;
                 if (!denied && addition && getUser(userId).getDeviceLimit() > 0) {
-                    int deviceCount = storage.getObjects(Device.class, new Request(
-                            new Columns.Include("id"),
-                            new Condition.Permission(User.class, userId, Device.class))).size();
+                    int deviceCount = getObjectIds(userId, Device.class).size();
                     denied = deviceCount >= getUser(userId).getDeviceLimit();
                 }
             } else if (clazz.equals(Command.class)) {
@@ -211,13 +230,7 @@ public class PermissionsService {
     public <T extends BaseModel> void checkPermission(
             Class<T> clazz, long userId, long objectId) throws StorageException, SecurityException {
         if (!getUser(userId).getAdministrator() && !(clazz.equals(User.class) && userId == objectId)) {
-            var object = storage.getObject(clazz, new Request(
-                    new Columns.Include("id"),
-                    new Condition.And(
-                            new Condition.Equals("id", objectId),
-                            new Condition.Permission(
-                                    User.class, userId, clazz.equals(User.class) ? ManagedUser.class : clazz))));
-            if (object == null) {
+            if (!getObjectIds(userId, clazz).contains(objectId)) {
                 throw new SecurityException(clazz.getSimpleName() + " access denied");
             }
         }
@@ -18,11 +18,14 @@ package org.traccar.api.signature;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.codec.binary.Base64;
+import org.traccar.broadcast.BroadcastInterface;
+import org.traccar.model.BaseModel;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.RevokedToken;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
@@ -31,19 +34,28 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Singleton
-public class TokenManager {
+public class TokenManager implements BroadcastInterface {
 
     private static final int DEFAULT_EXPIRATION_DAYS = 7;
 
     private final ObjectMapper objectMapper;
     private final CryptoManager cryptoManager;
     private final Storage storage;
+    private final CacheManager cacheManager;
 
     private final SecureRandom random = new SecureRandom();
 
+    /**
+     * Ids of all revoked tokens. Loaded on first use and kept current through object invalidations.
+     */
+    private final Set<Long> revokedTokens = ConcurrentHashMap.newKeySet();
+    private volatile boolean revokedTokensLoaded;
+
     public static class TokenData {
         @JsonProperty("i")
         private long id;
@@ -66,10 +78,27 @@ public class TokenManager {
     }
 
     @Inject
-    public TokenManager(ObjectMapper objectMapper, CryptoManager cryptoManager, Storage storage) {
+    public TokenManager(
+            ObjectMapper objectMapper, CryptoManager cryptoManager, Storage storage, CacheManager cacheManager) {
         this.objectMapper = objectMapper;
         this.cryptoManager = cryptoManager;
         this.storage = storage;
+        this.cacheManager = cacheManager;
+        cacheManager.addListener(this);
+    }
+
+    private void loadRevokedTokens() throws StorageException {
+        if (!revokedTokensLoaded) {
+            synchronized (revokedTokens) {
+                if (!revokedTokensLoaded) {
+                    var request = new Request(new Columns.Include("id"));
+                    try (var tokens = storage.getObjectsStream(RevokedToken.class, request)) {
+                        tokens.forEach(token -> revokedTokens.add(token.getId()));
+                    }
+                    revokedTokensLoaded = true;
+                }
+            }
+        }
     }
 
     public String generateToken(long userId) throws IOException, GeneralSecurityException, StorageException {
@@ -95,14 +124,32 @@ public class TokenManager {
         if (data.expiration.before(new Date())) {
             throw new SecurityException("Token has expired");
         }
-        var revoked = storage.getObject(RevokedToken.class, new Request(
-                new Columns.All(), new Condition.Equals("id", data.getId())));
-        if (revoked != null) {
+        loadRevokedTokens();
+        if (revokedTokens.contains(data.getId())) {
             throw new SecurityException("Token has been revoked");
         }
         return data;
     }
 
+    public void revokeToken(long id) throws Exception {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setId(id);
+        storage.addObject(revokedToken, new Request(new Columns.Include("id")));
+        cacheManager.invalidateObject(true, RevokedToken.class, id, ObjectOperation.ADD);
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(RevokedToken.class)) {
+            if (operation == ObjectOperation.DELETE) {
+                revokedTokens.remove(id);
+            } else {
+                revokedTokens.add(id);
+            }
+        }
+    }
+
     public TokenData decodeToken(String token) throws IOException, GeneralSecurityException, StorageException {
         byte[] encoded = cryptoManager.verify(Base64.decodeBase64(token));
         return objectMapper.readValue(encoded, TokenData.class);
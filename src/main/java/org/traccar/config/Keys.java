@@ -338,6 +338,44 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             0);
 
+    /**
+     * Netty transport. Available options are 'nio', 'epoll' and 'io_uring'. By default native epoll transport is
+     * used when available, otherwise NIO. If the requested native transport is not available, server falls back to
+     * NIO.
+     */
+    public static final ConfigKey<String> SERVER_NETTY_TRANSPORT = new StringConfigKey(
+            "server.nettyTransport",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Number of sockets bound to each protocol port using SO_REUSEPORT. Kernel distributes new connections and
+     * datagrams between them, so accepting is not limited to a single thread. Only supported with native
+     * transports. Default value is 1.
+     */
+    public static final ConfigKey<Integer> SERVER_NETTY_REUSE_PORT = new IntegerConfigKey(
+            "server.nettyReusePort",
+            List.of(KeyType.CONFIG),
+            1);
+
+    /**
+     * Number of worker threads for position handlers that perform blocking operations, like database queries. If
+     * specified, blocking handlers are executed outside of the Netty event loop, so slow queries do not delay other
+     * connections. Per-device processing order is preserved. By default all handlers run on the event loop.
+     */
+    public static final ConfigKey<Integer> SERVER_BLOCKING_THREADS = new IntegerConfigKey(
+            "server.blockingThreads",
+            List.of(KeyType.CONFIG),
+            0);
+
+    /**
+     * Maximum number of blocking handler tasks waiting for a worker thread. When the queue is full, the task runs on
+     * the event loop, which slows down reading from its connections. Default value is 10000.
+     */
+    public static final ConfigKey<Integer> SERVER_BLOCKING_QUEUE_SIZE = new IntegerConfigKey(
+            "server.blockingQueueSize",
+            List.of(KeyType.CONFIG),
+            10000);
+
     /**
      * Address for uploading aggregated anonymous usage statistics. Uploaded information is the same you can see on the
      * statistics screen in the web app. It does not include any sensitive (e.g. locations).
@@ -347,6 +385,14 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "https://www.traccar.org/analytics/");
 
+    /**
+     * Record latency histograms for protocol decoders, the per-device processing queue and every position and event
+     * handler. Results are available in the metrics endpoint and the statistics API.
+     */
+    public static final ConfigKey<Boolean> SERVER_LATENCY_METRICS = new BooleanConfigKey(
+            "server.latencyMetrics",
+            List.of(KeyType.CONFIG));
+
     /**
      * Fuel drop threshold value. When fuel level drops from one position to another for more the value, an event is
      * generated.
@@ -498,6 +544,15 @@ public final class Keys {
             "database.maxPoolSize",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Number of prepared statements the JDBC driver keeps for reuse on each pooled connection. Applied for MySQL,
+     * MariaDB, PostgreSQL and Microsoft SQL Server drivers. H2 caches statements on its own. Zero keeps the driver
+     * defaults.
+     */
+    public static final ConfigKey<Integer> DATABASE_STATEMENT_CACHE_SIZE = new IntegerConfigKey(
+            "database.statementCacheSize",
+            List.of(KeyType.CONFIG));
+
     /**
      * SQL query to check connection status. Default value is 'SELECT 1'. For Oracle database you can use
      * 'SELECT 1 FROM DUAL'.
@@ -514,6 +569,40 @@ public final class Keys {
             "database.saveOriginal",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Folder for storing original messages outside of the database. If set, each received message is written once
+     * to compressed segment files and positions only keep "rawSegment" and "rawOffset" attributes referencing it,
+     * instead of the HEX "raw" attribute.
+     */
+    public static final ConfigKey<String> DATABASE_ORIGINAL_PATH = new StringConfigKey(
+            "database.originalPath",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum size of a single original message segment file in bytes. Default value is 64 MB.
+     */
+    public static final ConfigKey<Long> DATABASE_ORIGINAL_SEGMENT_SIZE = new LongConfigKey(
+            "database.originalSegmentSize",
+            List.of(KeyType.CONFIG),
+            64L * 1024 * 1024);
+
+    /**
+     * Maximum number of original messages waiting to be written to disk. When the queue is full, messages are saved
+     * as the HEX "raw" attribute instead. Default value is 10000.
+     */
+    public static final ConfigKey<Integer> DATABASE_ORIGINAL_QUEUE_SIZE = new IntegerConfigKey(
+            "database.originalQueueSize",
+            List.of(KeyType.CONFIG),
+            10000);
+
+    /**
+     * Move HEX "raw" attributes of existing positions into the original message store. Migration runs in the
+     * background in small batches and can be disabled once it reports completion.
+     */
+    public static final ConfigKey<Boolean> DATABASE_ORIGINAL_MIGRATE = new BooleanConfigKey(
+            "database.originalMigrate",
+            List.of(KeyType.CONFIG));
+
     /**
      * Throttle unknown device database queries when it sends repeated requests.
      */
@@ -556,6 +645,84 @@ public final class Keys {
             "database.saveEmpty",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Keep an in-memory index of all device identifiers, loaded on startup and updated on device changes. Connecting
+     * devices are then resolved without querying by identifier and unknown identifiers never reach the database.
+     * Devices inserted into the database directly, bypassing the API, are not visible until restart.
+     */
+    public static final ConfigKey<Boolean> DATABASE_INDEX_UNIQUE_IDS = new BooleanConfigKey(
+            "database.indexUniqueIds",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Keep the latest position of every device in memory. Loaded on first use and updated from processed positions.
+     * Latest positions for a new web socket session or the positions API are then taken from memory instead of
+     * loading latest positions of all devices from the database.
+     */
+    public static final ConfigKey<Boolean> DATABASE_INDEX_LATEST_POSITIONS = new BooleanConfigKey(
+            "database.indexLatestPositions",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Resolve user permissions from an in-memory copy of the permission links and the group tree instead of recursive
+     * database queries. The copy is updated incrementally on changes made through the API. Changes made directly in
+     * the database require a rebuild using the server API.
+     */
+    public static final ConfigKey<Boolean> DATABASE_PERMISSION_CLOSURE = new BooleanConfigKey(
+            "database.permissionClosure",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Load all devices with their groups, permissions and latest positions into the cache on startup using batched
+     * queries. Devices then stay cached, so reconnecting devices do not trigger any database queries. Increases memory
+     * usage for large installations.
+     */
+    public static final ConfigKey<Boolean> DATABASE_PRELOAD_DEVICES = new BooleanConfigKey(
+            "database.preloadDevices",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Store positions asynchronously using dedicated writer threads and JDBC batch inserts instead of writing each
+     * position synchronously on the network thread. For MySQL it is recommended to also add
+     * 'rewriteBatchedStatements=true' to the connection URL.
+     */
+    public static final ConfigKey<Boolean> DATABASE_ASYNC_WRITE = new BooleanConfigKey(
+            "database.asyncWrite",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum number of positions stored in a single batch insert. Default value is 100.
+     */
+    public static final ConfigKey<Integer> DATABASE_ASYNC_WRITE_BATCH_SIZE = new IntegerConfigKey(
+            "database.asyncWrite.batchSize",
+            List.of(KeyType.CONFIG),
+            100);
+
+    /**
+     * Maximum time in milliseconds a writer waits for a batch to fill up before flushing it. Default value is 50.
+     */
+    public static final ConfigKey<Long> DATABASE_ASYNC_WRITE_INTERVAL = new LongConfigKey(
+            "database.asyncWrite.interval",
+            List.of(KeyType.CONFIG),
+            50L);
+
+    /**
+     * Maximum number of positions waiting to be stored. When the queue is full, positions are stored synchronously
+     * by the calling thread, which slows down the ingest. Default value is 10000.
+     */
+    public static final ConfigKey<Integer> DATABASE_ASYNC_WRITE_QUEUE_SIZE = new IntegerConfigKey(
+            "database.asyncWrite.queueSize",
+            List.of(KeyType.CONFIG),
+            10000);
+
+    /**
+     * Number of position writer threads. Default value is 2.
+     */
+    public static final ConfigKey<Integer> DATABASE_ASYNC_WRITE_THREADS = new IntegerConfigKey(
+            "database.asyncWrite.threads",
+            List.of(KeyType.CONFIG),
+            2);
+
     /**
      * Device limit for self registered users. Default value is -1, which indicates no limit.
      */
@@ -748,6 +915,16 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             600L);
 
+    /**
+     * Interval in seconds for writing device last update time to the database. If specified, messages that do not
+     * change the device status only update the time in memory, and changed devices are written periodically. Status
+     * changes are always written immediately. By default every message is written.
+     */
+    public static final ConfigKey<Long> STATUS_UPDATE_INTERVAL = new LongConfigKey(
+            "status.updateInterval",
+            List.of(KeyType.CONFIG),
+            0L);
+
     /**
      * List of protocol names to ignore offline status. Can be useful to not trigger status change when devices are
      * configured to disconnect after reporting a batch of data.
@@ -874,6 +1051,23 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "./templates/translations");
 
+    /**
+     * Time in seconds to remember successful Basic authentication credentials, so that repeated requests skip password
+     * hashing. Entries are dropped as soon as the user is updated or deleted. Zero disables the cache.
+     */
+    public static final ConfigKey<Integer> WEB_CREDENTIALS_CACHE_TIMEOUT = new IntegerConfigKey(
+            "web.credentialsCacheTimeout",
+            List.of(KeyType.CONFIG),
+            60);
+
+    /**
+     * Maximum number of remembered Basic authentication credentials.
+     */
+    public static final ConfigKey<Integer> WEB_CREDENTIALS_CACHE_SIZE = new IntegerConfigKey(
+            "web.credentialsCacheSize",
+            List.of(KeyType.CONFIG),
+            10000);
+
     /**
      * Enable TOTP authentication on the server.
      */
@@ -1929,6 +2123,24 @@ public final class Keys {
             "web.mcp.enable",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Enable metrics endpoint in the Prometheus text format at the '/metrics' path. The endpoint does not require
+     * authentication, so it should only be exposed to the monitoring network.
+     */
+    public static final ConfigKey<Boolean> WEB_METRICS_ENABLE = new BooleanConfigKey(
+            "web.metrics.enable",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum number of pending event, log and keepalive messages per WebSocket session. Position and device updates
+     * for the same device replace each other while waiting, so they are not limited. When the limit is reached, the
+     * oldest pending messages are dropped.
+     */
+    public static final ConfigKey<Integer> WEB_SOCKET_QUEUE_SIZE = new IntegerConfigKey(
+            "web.socketQueueSize",
+            List.of(KeyType.CONFIG),
+            1000);
+
     /**
      * Output logging to the standard terminal output instead of a log file.
      */
@@ -44,7 +44,10 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 public class CommandsManager implements BroadcastInterface {
@@ -58,12 +61,17 @@ public class CommandsManager implements BroadcastInterface {
     private final CacheManager cacheManager;
     private final CommandSenderManager commandSenderManager;
 
+    /**
+     * Devices that may have queued commands. Used to avoid querying the queue for every message.
+     */
+    private final Set<Long> pendingDevices = ConcurrentHashMap.newKeySet();
+
     @Inject
     public CommandsManager(
             Storage storage, ServerManager serverManager, @Nullable SmsManager smsManager,
             ConnectionManager connectionManager, BroadcastService broadcastService,
             NotificationManager notificationManager, CacheManager cacheManager,
-            CommandSenderManager commandSenderManager) {
+            CommandSenderManager commandSenderManager) throws StorageException {
         this.storage = storage;
         this.serverManager = serverManager;
         this.smsManager = smsManager;
@@ -72,6 +80,10 @@ public class CommandsManager implements BroadcastInterface {
         this.notificationManager = notificationManager;
         this.cacheManager = cacheManager;
         this.commandSenderManager = commandSenderManager;
+        try (var commands = storage.getObjectsStream(QueuedCommand.class, new Request(
+                new Columns.Include("deviceId")))) {
+            commands.forEach(command -> pendingDevices.add(command.getDeviceId()));
+        }
         broadcastService.registerListener(this);
     }
 
@@ -105,6 +117,7 @@ public class CommandsManager implements BroadcastInterface {
                 } else if (!command.getBoolean(Command.KEY_NO_QUEUE)) {
                     QueuedCommand queuedCommand = QueuedCommand.fromCommand(command);
                     queuedCommand.setId(storage.addObject(queuedCommand, new Request(new Columns.Exclude("id"))));
+                    pendingDevices.add(deviceId);
                     broadcastService.updateCommand(true, deviceId);
                     return queuedCommand;
                 } else {
@@ -120,11 +133,17 @@ public class CommandsManager implements BroadcastInterface {
     }
 
     public Collection<Command> readQueuedCommands(long deviceId, int count) {
+        if (!pendingDevices.remove(deviceId)) {
+            return List.of();
+        }
         try {
             var commands = storage.getObjects(QueuedCommand.class, new Request(
                     new Columns.All(),
                     new Condition.Equals("deviceId", deviceId),
                     new Order("id", false, count)));
+            if (commands.size() >= count) {
+                pendingDevices.add(deviceId);
+            }
             Map<Event, Position> events = new HashMap<>();
             for (var command : commands) {
                 storage.removeObject(QueuedCommand.class, new Request(
@@ -137,6 +156,7 @@ public class CommandsManager implements BroadcastInterface {
             notificationManager.updateEvents(events);
             return commands.stream().map(QueuedCommand::toCommand).toList();
         } catch (StorageException e) {
+            pendingDevices.add(deviceId);
             throw new RuntimeException(e);
         }
     }
@@ -144,6 +164,7 @@ public class CommandsManager implements BroadcastInterface {
     @Override
     public void updateCommand(boolean local, long deviceId) {
         if (!local) {
+            pendingDevices.add(deviceId);
             DeviceSession deviceSession = connectionManager.getDeviceSession(deviceId);
             if (deviceSession != null && deviceSession.supportsLiveCommands()) {
                 for (Command command : readQueuedCommands(deviceId)) {
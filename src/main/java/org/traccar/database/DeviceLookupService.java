@@ -20,9 +20,13 @@ import io.netty.util.Timer;
 import io.netty.util.TimerTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -31,12 +35,13 @@ import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Singleton
-public class DeviceLookupService {
+public class DeviceLookupService implements BroadcastInterface {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeviceLookupService.class);
 
@@ -46,9 +51,17 @@ public class DeviceLookupService {
 
     private final Storage storage;
     private final Timer timer;
+    private final CacheManager cacheManager;
 
     private final boolean throttlingEnabled;
 
+    /**
+     * Device id by unique id. Present only if the index is enabled. Reads are lock-free, updates synchronize on the
+     * reverse map, which is needed to drop the old identifier when a device changes it.
+     */
+    private final Map<String, Long> deviceIds;
+    private final Map<Long, String> uniqueIds;
+
     private static final class IdentifierInfo {
         private long lastQuery;
         private long delay;
@@ -74,10 +87,57 @@ public class DeviceLookupService {
     private final Map<String, IdentifierInfo> identifierMap = new ConcurrentHashMap<>();
 
     @Inject
-    public DeviceLookupService(Config config, Storage storage, Timer timer) {
+    public DeviceLookupService(
+            Config config, Storage storage, Timer timer, CacheManager cacheManager) throws StorageException {
         this.storage = storage;
         this.timer = timer;
+        this.cacheManager = cacheManager;
         throttlingEnabled = config.getBoolean(Keys.DATABASE_THROTTLE_UNKNOWN);
+        if (config.getBoolean(Keys.DATABASE_INDEX_UNIQUE_IDS)) {
+            deviceIds = new ConcurrentHashMap<>();
+            uniqueIds = new HashMap<>();
+            loadIndex();
+            cacheManager.addListener(this);
+        } else {
+            deviceIds = null;
+            uniqueIds = null;
+        }
+    }
+
+    private void loadIndex() throws StorageException {
+        var request = new Request(new Columns.Include("id", "uniqueId"));
+        try (var devices = storage.getObjectsStream(Device.class, request)) {
+            synchronized (uniqueIds) {
+                devices.forEach(device -> updateIndex(device.getId(), device.getUniqueId()));
+            }
+        }
+        LOGGER.info("Indexed {} device identifiers", deviceIds.size());
+    }
+
+    private void updateIndex(long deviceId, String uniqueId) {
+        String oldUniqueId = uniqueId != null ? uniqueIds.put(deviceId, uniqueId) : uniqueIds.remove(deviceId);
+        if (oldUniqueId != null && !oldUniqueId.equals(uniqueId)) {
+            deviceIds.remove(oldUniqueId, deviceId);
+        }
+        if (uniqueId != null) {
+            deviceIds.put(uniqueId, deviceId);
+        }
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) throws Exception {
+        if (clazz.equals(Device.class)) {
+            String uniqueId = null;
+            if (operation != ObjectOperation.DELETE) {
+                Device device = storage.getObject(Device.class, new Request(
+                        new Columns.Include("uniqueId"), new Condition.Equals("id", id)));
+                uniqueId = device != null ? device.getUniqueId() : null;
+            }
+            synchronized (uniqueIds) {
+                updateIndex(id, uniqueId);
+            }
+        }
     }
 
     private synchronized boolean isThrottled(String uniqueId) {
@@ -115,9 +175,30 @@ public class DeviceLookupService {
         }
     }
 
+    private Device lookupIndex(String[] uniqueIds) throws StorageException {
+        for (String uniqueId : uniqueIds) {
+            Long deviceId = deviceIds.get(uniqueId);
+            if (deviceId != null) {
+                Device device = cacheManager.getObject(Device.class, deviceId);
+                if (device == null) {
+                    device = storage.getObject(Device.class, new Request(
+                            new Columns.All(), new Condition.Equals("id", deviceId)));
+                }
+                if (device != null) {
+                    return device;
+                }
+            }
+        }
+        LOGGER.debug("Device lookup not indexed {}", String.join(" ", uniqueIds));
+        return null;
+    }
+
     public Device lookup(String[] uniqueIds) {
         Device device = null;
         try {
+            if (deviceIds != null) {
+                return lookupIndex(uniqueIds);
+            }
             for (String uniqueId : uniqueIds) {
                 if (!isThrottled(uniqueId)) {
                     device = storage.getObject(Device.class, new Request(
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import org.traccar.helper.LatencyHistogram;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms of the decoding and processing pipeline, grouped by stage, component and protocol.
+ */
+public class LatencyManager {
+
+    private static final String PROTOCOL_UNKNOWN = "unknown";
+
+    public enum Stage {
+        DECODER,
+        QUEUE,
+        HANDLER,
+        EVENT,
+        INGEST
+    }
+
+    public record Key(Stage stage, String name, String protocol) {
+    }
+
+    public record Summary(
+            Stage stage, String name, String protocol, long count,
+            double mean, double p50, double p90, double p99, double max) {
+    }
+
+    private static final ClassValue<String> NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String name = type.getName();
+            return name.substring(name.lastIndexOf('.') + 1).replace('$', '.');
+        }
+    };
+
+    private final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Histograms of a single pipeline component. It is resolved once when the pipeline is built, so that recording
+     * only needs a lookup by protocol name, without allocating a key for every position.
+     */
+    public final class Component {
+
+        private final Stage stage;
+        private final String name;
+        private final Map<String, LatencyHistogram> protocols = new ConcurrentHashMap<>();
+
+        private Component(Stage stage, String name) {
+            this.stage = stage;
+            this.name = name;
+        }
+
+        public LatencyHistogram getHistogram(String protocol) {
+            String key = protocol != null ? protocol : PROTOCOL_UNKNOWN;
+            LatencyHistogram histogram = protocols.get(key);
+            if (histogram == null) {
+                histogram = protocols.computeIfAbsent(key, k -> LatencyManager.this.getHistogram(stage, name, k));
+            }
+            return histogram;
+        }
+
+    }
+
+    public Component getComponent(Stage stage, Class<?> type) {
+        return new Component(stage, NAMES.get(type));
+    }
+
+    public LatencyHistogram getHistogram(Stage stage, String name, String protocol) {
+        return histograms.computeIfAbsent(
+                new Key(stage, name, protocol != null ? protocol : PROTOCOL_UNKNOWN), key -> new LatencyHistogram());
+    }
+
+    public LatencyHistogram getHistogram(Stage stage, Class<?> type, String protocol) {
+        return getHistogram(stage, NAMES.get(type), protocol);
+    }
+
+    public Map<Key, LatencyHistogram> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * Summaries with values in milliseconds, slowest components first.
+     */
+    public List<Summary> getSummaries() {
+        return histograms.entrySet().stream()
+                .map(entry -> {
+                    Key key = entry.getKey();
+                    LatencyHistogram histogram = entry.getValue();
+                    long count = histogram.getCount();
+                    return new Summary(
+                            key.stage(), key.name(), key.protocol(), count,
+                            count > 0 ? histogram.getSum() / (count * 1e6) : 0,
+                            histogram.getValueAtQuantile(0.5) / 1e6,
+                            histogram.getValueAtQuantile(0.9) / 1e6,
+                            histogram.getValueAtQuantile(0.99) / 1e6,
+                            histogram.getMax() / 1e6);
+                })
+                .sorted(Comparator.comparingDouble(Summary::p99).reversed())
+                .toList();
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import org.traccar.api.security.PermissionsCache;
+import org.traccar.broadcast.BroadcastInterface;
+import org.traccar.broadcast.BroadcastService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.model.PositionUtil;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Position;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest position of every device. If the index is enabled, it is loaded on first use and then updated from
+ * processed positions, including the ones broadcast by other nodes. Otherwise all queries go to the database.
+ */
+@Singleton
+public class LatestPositionIndex implements BroadcastInterface {
+
+    private final Storage storage;
+    private final PermissionsCache permissionsCache;
+
+    private final Map<Long, Position> positions;
+    private volatile boolean loaded;
+
+    @Inject
+    public LatestPositionIndex(
+            Config config, Storage storage, BroadcastService broadcastService, CacheManager cacheManager,
+            PermissionsCache permissionsCache) {
+        this.storage = storage;
+        this.permissionsCache = permissionsCache;
+        if (config.getBoolean(Keys.DATABASE_INDEX_LATEST_POSITIONS)) {
+            positions = new ConcurrentHashMap<>();
+            broadcastService.registerListener(this);
+            cacheManager.addListener(this);
+        } else {
+            positions = null;
+        }
+    }
+
+    private void load() throws StorageException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    try (var stream = storage.getObjectsStream(Position.class, new Request(
+                            new Columns.All(), new Condition.LatestPositions()))) {
+                        stream.forEach(position -> positions.putIfAbsent(position.getDeviceId(), position));
+                    }
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Latest positions of all devices the user has access to.
+     */
+    public List<Position> getLatestPositions(long userId) throws StorageException {
+        if (positions == null) {
+            return PositionUtil.getLatestPositions(storage, userId);
+        }
+        load();
+        return permissionsCache.getObjectIds(userId, Device.class).stream()
+                .mapToObj(positions::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Record a new latest device position. Positions that are not the latest for the device must not be passed here.
+     */
+    public void updatePosition(Position position) {
+        if (positions != null) {
+            positions.put(position.getDeviceId(), position);
+        }
+    }
+
+    /**
+     * Reload the latest position of the device, for example after positions are removed.
+     */
+    public void reload(long deviceId) throws StorageException {
+        if (positions != null && loaded) {
+            Position position = storage.getObject(Position.class, new Request(
+                    new Columns.All(), new Condition.LatestPositions(deviceId)));
+            if (position != null) {
+                positions.put(deviceId, position);
+            } else {
+                positions.remove(deviceId);
+            }
+        }
+    }
+
+    @Override
+    public void updatePosition(boolean local, Position position) {
+        if (!local) {
+            updatePosition(position);
+        }
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(Device.class) && operation == ObjectOperation.DELETE) {
+            positions.remove(id);
+        }
+    }
+
+}
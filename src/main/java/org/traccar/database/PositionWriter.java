@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PositionWriter implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PositionWriter.class);
+
+    public interface Callback {
+        void stored(boolean success);
+    }
+
+    private record Entry(Position position, Callback callback) {
+    }
+
+    private final Storage storage;
+    private final int batchSize;
+    private final long interval;
+    private final int threads;
+
+    private final BlockingQueue<Entry> queue;
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushTime = new AtomicLong();
+    private final AtomicLong lastFlushTime = new AtomicLong();
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public PositionWriter(Config config, Storage storage) {
+        this.storage = storage;
+        batchSize = config.getInteger(Keys.DATABASE_ASYNC_WRITE_BATCH_SIZE);
+        interval = config.getLong(Keys.DATABASE_ASYNC_WRITE_INTERVAL);
+        threads = config.getInteger(Keys.DATABASE_ASYNC_WRITE_THREADS);
+        queue = new ArrayBlockingQueue<>(config.getInteger(Keys.DATABASE_ASYNC_WRITE_QUEUE_SIZE));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(this::run);
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(interval + 10_000, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Position writer did not finish in time");
+            }
+            executor = null;
+        }
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    /**
+     * Queue position for storage. Generated id is assigned to the position before the callback is invoked. If the
+     * writer is not running or the queue is full, position is stored synchronously by the calling thread.
+     */
+    public void write(Position position, Callback callback) {
+        Entry entry = new Entry(position, callback);
+        if (!running || !queue.offer(entry)) {
+            flush(List.of(entry));
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Average batch flush latency in milliseconds.
+     */
+    public double getFlushLatency() {
+        long count = flushCount.get();
+        return count > 0 ? flushTime.get() / (count * 1e6) : 0;
+    }
+
+    /**
+     * Latest batch flush latency in milliseconds.
+     */
+    public double getLastFlushLatency() {
+        return lastFlushTime.get() / 1e6;
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(interval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                break;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Position writer error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Store positions and complete every callback, with false for positions that failed to store.
+     */
+    private void flush(List<Entry> batch) {
+        long startTime = System.nanoTime();
+        Request request = new Request(new Columns.Exclude("id"));
+        boolean[] results = new boolean[batch.size()];
+        try {
+            List<Long> ids = storage.addObjects(batch.stream().map(Entry::position).toList(), request);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).position().setId(ids.get(i));
+                results[i] = true;
+            }
+        } catch (StorageException error) {
+            if (batch.size() > 1) {
+                LOGGER.warn("Failed to store positions batch, retrying individually", error);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Position position = batch.get(i).position();
+                try {
+                    position.setId(storage.addObject(position, request));
+                    results[i] = true;
+                } catch (StorageException e) {
+                    LOGGER.warn("Failed to store position", e);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Position writer error", e);
+        }
+
+        long elapsed = System.nanoTime() - startTime;
+        flushCount.incrementAndGet();
+        flushTime.addAndGet(elapsed);
+        lastFlushTime.set(elapsed);
+
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                batch.get(i).callback().stored(results[i]);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Position writer callback error", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only store for original device messages. Messages are written into numbered segment files, each message
+ * once, compressed when it makes it smaller. Positions reference a message by segment number and offset. A new
+ * segment is started on every restart and whenever the current one reaches the configured size.
+ * <p>
+ * Callers only compress the message and reserve its location. File writes are done by a dedicated writer thread, so
+ * a message becomes readable shortly after its location is returned; reads of pending messages wait for the writer.
+ * Each record starts with a magic number, so locations whose write failed read back as missing, not as empty data.
+ * After a write error new messages are rejected for a while, so that callers fall back to the HEX attribute.
+ */
+public class RawMessageStore implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RawMessageStore.class);
+
+    private static final String EXTENSION = ".raw";
+    private static final int MAGIC = 0x52415731;
+    private static final int HEADER_LENGTH = 12;
+    private static final int MAX_LENGTH = 16 * 1024 * 1024;
+    private static final long POLL_INTERVAL = 1000;
+    private static final long READ_TIMEOUT = 5000;
+    private static final long RETRY_INTERVAL = 10_000;
+
+    public record Location(long segment, long offset) {
+    }
+
+    private record Record(long segment, long offset, ByteBuffer data) {
+    }
+
+    private final Path path;
+    private final long segmentSize;
+    private final ThreadLocal<Deflater> deflaters =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+    private final BlockingQueue<Record> queue;
+
+    private long segment;
+    private long offset;
+
+    private final Object writeLock = new Object();
+    private long channelSegment;
+    private FileChannel channel;
+    private long writtenSegment;
+    private long writtenOffset;
+
+    private volatile long failureTime;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public RawMessageStore(Config config) {
+        path = Paths.get(config.getString(Keys.DATABASE_ORIGINAL_PATH));
+        segmentSize = config.getLong(Keys.DATABASE_ORIGINAL_SEGMENT_SIZE);
+        queue = new ArrayBlockingQueue<>(config.getInteger(Keys.DATABASE_ORIGINAL_QUEUE_SIZE));
+    }
+
+    private Path getSegmentPath(long segment) {
+        return path.resolve(String.format("%012d", segment) + EXTENSION);
+    }
+
+    @Override
+    public synchronized void start() throws IOException {
+        Files.createDirectories(path);
+        long last = 0;
+        try (var files = Files.list(path)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(EXTENSION)) {
+                    try {
+                        last = Math.max(last, Long.parseLong(name.substring(0, name.length() - EXTENSION.length())));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+        segment = last + 1;
+        offset = 0;
+        synchronized (writeLock) {
+            writtenSegment = segment;
+            writtenOffset = 0;
+        }
+        running = true;
+        executor = Executors.newSingleThreadExecutor();
+        executor.execute(this::run);
+    }
+
+    @Override
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(POLL_INTERVAL + 10_000, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Original message writer did not finish in time");
+            }
+            executor = null;
+        }
+        List<Record> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        synchronized (writeLock) {
+            for (Record record : remaining) {
+                try {
+                    processRecord(record);
+                } catch (IOException e) {
+                    LOGGER.warn("Original message write error", e);
+                }
+            }
+            closeChannel();
+        }
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Record record = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (record != null) {
+                    synchronized (writeLock) {
+                        processRecord(record);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Original message write error", e);
+            }
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Write a record and advance the written position, waking up readers waiting for it. Must hold the write lock.
+     */
+    private void processRecord(Record record) throws IOException {
+        try {
+            writeRecord(record);
+        } catch (IOException e) {
+            failureTime = System.currentTimeMillis();
+            try {
+                closeChannel();
+            } catch (IOException ignored) {
+            } finally {
+                channel = null;
+            }
+            throw e;
+        } finally {
+            writtenSegment = record.segment();
+            writtenOffset = record.offset() + record.data().capacity();
+            writeLock.notifyAll();
+        }
+    }
+
+    private void writeRecord(Record record) throws IOException {
+        if (channel == null || channelSegment != record.segment()) {
+            closeChannel();
+            if (record.offset() == 0) {
+                channel = FileChannel.open(
+                        getSegmentPath(record.segment()), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } else {
+                channel = FileChannel.open(getSegmentPath(record.segment()), StandardOpenOption.WRITE);
+            }
+            channelSegment = record.segment();
+        }
+        ByteBuffer buffer = record.data();
+        long position = record.offset();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private byte[] compress(byte[] data) {
+        Deflater deflater = deflaters.get();
+        byte[] buffer = new byte[data.length];
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+        int length = deflater.deflate(buffer);
+        if (!deflater.finished() || length >= data.length) {
+            return null;
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Append a message and return its location or null if the writer queue is full or a recent write failed. Same
+     * message decoded into multiple positions should only be written once and the location shared between them. If
+     * the store is not running, the message is written synchronously by the calling thread.
+     */
+    public Location write(byte[] data) throws IOException {
+        if (System.currentTimeMillis() - failureTime < RETRY_INTERVAL) {
+            return null;
+        }
+        byte[] compressed = compress(data);
+        byte[] stored = compressed != null ? compressed : data;
+        int recordLength = HEADER_LENGTH + stored.length;
+        ByteBuffer buffer = ByteBuffer.allocate(recordLength);
+        buffer.putInt(MAGIC);
+        buffer.putInt(stored.length);
+        buffer.putInt(data.length);
+        buffer.put(stored);
+        buffer.flip();
+
+        Record record;
+        synchronized (this) {
+            long recordSegment = segment;
+            long recordOffset = offset;
+            if (recordOffset > 0 && recordOffset + recordLength > segmentSize) {
+                recordSegment += 1;
+                recordOffset = 0;
+            }
+            record = new Record(recordSegment, recordOffset, buffer);
+            if (running && !queue.offer(record)) {
+                return null;
+            }
+            segment = recordSegment;
+            offset = recordOffset + recordLength;
+        }
+        if (!running) {
+            synchronized (writeLock) {
+                processRecord(record);
+            }
+        }
+        return new Location(record.segment(), record.offset());
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position);
+            if (count < 0) {
+                return false;
+            }
+            position += count;
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private synchronized boolean isReserved(long segment, long offset) {
+        return segment < this.segment || segment == this.segment && offset < this.offset;
+    }
+
+    /**
+     * Wait until the writer has processed the given location, if it has been reserved but not written yet.
+     */
+    private void awaitWritten(long segment, long offset) throws IOException {
+        if (!isReserved(segment, offset)) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + READ_TIMEOUT;
+        synchronized (writeLock) {
+            while (segment > writtenSegment || segment == writtenSegment && offset >= writtenOffset) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    writeLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read a message previously written to the store. Returns null if the segment no longer exists or the message
+     * is not available, for example because its write failed.
+     */
+    public byte[] read(long segment, long offset) throws IOException {
+        awaitWritten(segment, offset);
+        try (FileChannel readChannel = FileChannel.open(getSegmentPath(segment), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            if (!readFully(readChannel, header, offset) || header.getInt() != MAGIC) {
+                LOGGER.warn("Original message {}:{} not available", segment, offset);
+                return null;
+            }
+            int storedLength = header.getInt();
+            int length = header.getInt();
+            if (storedLength < 0 || length < storedLength || length > MAX_LENGTH) {
+                throw new IOException("Invalid message header");
+            }
+            ByteBuffer stored = ByteBuffer.allocate(storedLength);
+            if (!readFully(readChannel, stored, offset + HEADER_LENGTH)) {
+                LOGGER.warn("Original message {}:{} not available", segment, offset);
+                return null;
+            }
+            if (storedLength == length) {
+                return stored.array();
+            }
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(stored.array());
+                byte[] data = new byte[length];
+                int count = 0;
+                while (count < length && !inflater.finished()) {
+                    int inflated = inflater.inflate(data, count, length - count);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    count += inflated;
+                }
+                if (count != length) {
+                    throw new IOException("Invalid message data");
+                }
+                return data;
+            } catch (DataFormatException e) {
+                throw new IOException(e);
+            } finally {
+                inflater.end();
+            }
+        } catch (NoSuchFileException e) {
+            LOGGER.warn("Original message segment {} not found", segment);
+            return null;
+        }
+    }
+
+}
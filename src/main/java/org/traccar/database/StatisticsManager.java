@@ -34,39 +34,58 @@ import jakarta.inject.Singleton;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Form;
-import java.util.Calendar;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Singleton
 public class StatisticsManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsManager.class);
 
-    private static final int SPLIT_MODE = Calendar.DAY_OF_MONTH;
+    /**
+     * Placeholder for devices without protocol, because concurrent maps do not allow null values.
+     */
+    private static final String UNKNOWN_PROTOCOL = "";
+
+    public enum Counter {
+        REQUESTS,
+        MESSAGES_RECEIVED,
+        MESSAGES_STORED,
+        MAIL_SENT,
+        SMS_SENT,
+        GEOCODER_REQUESTS,
+        GEOLOCATION_REQUESTS
+    }
+
+    /**
+     * Activity of the current day. Replaced as a whole on rollover.
+     */
+    private static final class Daily {
+        private final Set<Long> users = ConcurrentHashMap.newKeySet();
+        private final Map<Long, String> deviceProtocols = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> deviceMessages = new ConcurrentHashMap<>();
+    }
 
     private final Config config;
     private final Storage storage;
     private final Client client;
     private final ObjectMapper objectMapper;
 
-    private final AtomicInteger lastUpdate = new AtomicInteger(Calendar.getInstance().get(SPLIT_MODE));
-
-    private final Set<Long> users = new HashSet<>();
-    private final Map<Long, String> deviceProtocols = new HashMap<>();
-    private final Map<Long, Integer> deviceMessages = new HashMap<>();
+    private final LongAdder[] totals = new LongAdder[Counter.values().length];
+    private final Map<String, LongAdder> protocolMessagesReceived = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> protocolMessagesStored = new ConcurrentHashMap<>();
 
-    private int requests;
-    private int messagesReceived;
-    private int messagesStored;
-    private int mailSent;
-    private int smsSent;
-    private int geocoderRequests;
-    private int geolocationRequests;
+    private final AtomicLong nextSplit = new AtomicLong(calculateNextSplit());
+    private volatile long[] splitTotals = new long[Counter.values().length];
+    private volatile Daily daily = new Daily();
 
     @Inject
     public StatisticsManager(Config config, Storage storage, Client client, ObjectMapper objectMapper) {
@@ -74,42 +93,44 @@ public class StatisticsManager {
         this.storage = storage;
         this.client = client;
         this.objectMapper = objectMapper;
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = new LongAdder();
+        }
+    }
+
+    private static long calculateNextSplit() {
+        return LocalDate.now().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
     private void checkSplit() {
-        int currentUpdate = Calendar.getInstance().get(SPLIT_MODE);
-        if (lastUpdate.getAndSet(currentUpdate) != currentUpdate) {
-            Statistics statistics = new Statistics();
+        long split = nextSplit.get();
+        if (System.currentTimeMillis() >= split && nextSplit.compareAndSet(split, calculateNextSplit())) {
+            Daily previous = daily;
+            daily = new Daily();
+            long[] currentTotals = getTotals();
+            long[] previousTotals = splitTotals;
+            splitTotals = currentTotals;
 
-            synchronized (this) {
-                statistics.setCaptureTime(new Date());
-                statistics.setActiveUsers(users.size());
-                statistics.setActiveDevices(deviceProtocols.size());
-                statistics.setRequests(requests);
-                statistics.setMessagesReceived(messagesReceived);
-                statistics.setMessagesStored(messagesStored);
-                statistics.setMailSent(mailSent);
-                statistics.setSmsSent(smsSent);
-                statistics.setGeocoderRequests(geocoderRequests);
-                statistics.setGeolocationRequests(geolocationRequests);
-                if (!deviceProtocols.isEmpty()) {
-                    Map<String, Integer> protocols = new HashMap<>();
-                    for (String protocol : deviceProtocols.values()) {
+            Statistics statistics = new Statistics();
+            statistics.setCaptureTime(new Date());
+            statistics.setActiveUsers(previous.users.size());
+            statistics.setActiveDevices(previous.deviceProtocols.size());
+            statistics.setRequests(getDifference(currentTotals, previousTotals, Counter.REQUESTS));
+            statistics.setMessagesReceived(getDifference(currentTotals, previousTotals, Counter.MESSAGES_RECEIVED));
+            statistics.setMessagesStored(getDifference(currentTotals, previousTotals, Counter.MESSAGES_STORED));
+            statistics.setMailSent(getDifference(currentTotals, previousTotals, Counter.MAIL_SENT));
+            statistics.setSmsSent(getDifference(currentTotals, previousTotals, Counter.SMS_SENT));
+            statistics.setGeocoderRequests(getDifference(currentTotals, previousTotals, Counter.GEOCODER_REQUESTS));
+            statistics.setGeolocationRequests(
+                    getDifference(currentTotals, previousTotals, Counter.GEOLOCATION_REQUESTS));
+            if (!previous.deviceProtocols.isEmpty()) {
+                Map<String, Integer> protocols = new HashMap<>();
+                for (String protocol : previous.deviceProtocols.values()) {
+                    if (!protocol.equals(UNKNOWN_PROTOCOL)) {
                         protocols.compute(protocol, (key, count) -> count != null ? count + 1 : 1);
                     }
-                    statistics.setProtocols(protocols);
                 }
-
-                users.clear();
-                deviceProtocols.clear();
-                deviceMessages.clear();
-                requests = 0;
-                messagesReceived = 0;
-                messagesStored = 0;
-                mailSent = 0;
-                smsSent = 0;
-                geocoderRequests = 0;
-                geolocationRequests = 0;
+                statistics.setProtocols(protocols);
             }
 
             try {
@@ -154,54 +175,101 @@ public class StatisticsManager {
         }
     }
 
-    public synchronized void registerRequest(long userId) {
+    private long[] getTotals() {
+        long[] result = new long[totals.length];
+        for (int i = 0; i < totals.length; i++) {
+            result[i] = totals[i].sum();
+        }
+        return result;
+    }
+
+    private static int getDifference(long[] current, long[] previous, Counter counter) {
+        return (int) (current[counter.ordinal()] - previous[counter.ordinal()]);
+    }
+
+    private void increment(Counter counter) {
         checkSplit();
-        requests += 1;
+        totals[counter.ordinal()].increment();
+    }
+
+    /**
+     * Total value since server start.
+     */
+    public long getTotal(Counter counter) {
+        return totals[counter.ordinal()].sum();
+    }
+
+    public Map<String, Long> getProtocolMessagesReceived() {
+        return sumValues(protocolMessagesReceived);
+    }
+
+    public Map<String, Long> getProtocolMessagesStored() {
+        return sumValues(protocolMessagesStored);
+    }
+
+    private static Map<String, Long> sumValues(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new HashMap<>();
+        counters.forEach((key, value) -> result.put(key, value.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    public int getActiveUsers() {
+        return daily.users.size();
+    }
+
+    public int getActiveDevices() {
+        return daily.deviceProtocols.size();
+    }
+
+    public void registerRequest(long userId) {
+        increment(Counter.REQUESTS);
         if (userId != 0 && userId != ServiceAccountUser.ID) {
-            users.add(userId);
+            daily.users.add(userId);
         }
     }
 
-    public synchronized void registerMessageReceived() {
-        checkSplit();
-        messagesReceived += 1;
+    public void registerMessageReceived(String protocol) {
+        increment(Counter.MESSAGES_RECEIVED);
+        if (protocol != null) {
+            protocolMessagesReceived.computeIfAbsent(protocol, key -> new LongAdder()).increment();
+        }
     }
 
-    public synchronized void registerMessageStored(long deviceId, String protocol) {
-        checkSplit();
-        messagesStored += 1;
+    public void registerMessageStored(long deviceId, String protocol) {
+        increment(Counter.MESSAGES_STORED);
+        if (protocol != null) {
+            protocolMessagesStored.computeIfAbsent(protocol, key -> new LongAdder()).increment();
+        }
         if (deviceId != 0) {
-            deviceProtocols.put(deviceId, protocol);
-            deviceMessages.merge(deviceId, 1, Integer::sum);
+            Daily current = daily;
+            current.deviceProtocols.put(deviceId, protocol != null ? protocol : UNKNOWN_PROTOCOL);
+            current.deviceMessages.computeIfAbsent(deviceId, key -> new LongAdder()).increment();
         }
     }
 
-    public synchronized int messageStoredCount() {
-        return messagesStored;
+    public int messageStoredCount() {
+        return (int) (getTotal(Counter.MESSAGES_STORED) - splitTotals[Counter.MESSAGES_STORED.ordinal()]);
     }
 
-    public synchronized int messageStoredCount(long deviceId) {
-        return deviceMessages.getOrDefault(deviceId, 0);
+    public int messageStoredCount(long deviceId) {
+        LongAdder count = daily.deviceMessages.get(deviceId);
+        return count != null ? count.intValue() : 0;
     }
 
-    public synchronized void registerMail() {
-        checkSplit();
-        mailSent += 1;
+    public void registerMail() {
+        increment(Counter.MAIL_SENT);
     }
 
-    public synchronized void registerSms() {
-        checkSplit();
-        smsSent += 1;
+    public void registerSms() {
+        increment(Counter.SMS_SENT);
     }
 
-    public synchronized void registerGeocoderRequest() {
-        checkSplit();
-        geocoderRequests += 1;
+    public void registerGeocoderRequest() {
+        increment(Counter.GEOCODER_REQUESTS);
     }
 
-    public synchronized void registerGeolocationRequest() {
-        checkSplit();
-        geolocationRequests += 1;
+    public void registerGeolocationRequest() {
+        increment(Counter.GEOLOCATION_REQUESTS);
     }
 
 }
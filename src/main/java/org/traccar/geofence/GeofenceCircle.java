@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2016 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,8 @@ import org.traccar.helper.DistanceCalculator;
 
 public class GeofenceCircle extends GeofenceGeometry {
 
+    private static final double BOUNDARY_MARGIN = 1.01;
+
     private final double centerLatitude;
     private final double centerLongitude;
     private final double radius;
@@ -31,8 +33,12 @@ public class GeofenceCircle extends GeofenceGeometry {
         centerLatitude = decoded.latitude;
         centerLongitude = decoded.longitude;
         radius = decoded.radius;
-        setMin(new Coordinate(centerLatitude - radius, centerLongitude - radius));
-        setMax(new Coordinate(centerLatitude + radius, centerLongitude + radius));
+        double latitudeDelta = DistanceCalculator.getLatitudeDelta(radius * BOUNDARY_MARGIN);
+        double edgeLatitude = Math.abs(centerLatitude) + latitudeDelta;
+        double longitudeDelta = edgeLatitude < 90
+                ? DistanceCalculator.getLongitudeDelta(radius * BOUNDARY_MARGIN, edgeLatitude) : 360;
+        setMin(new Coordinate(centerLatitude - latitudeDelta, centerLongitude - longitudeDelta));
+        setMax(new Coordinate(centerLatitude + latitudeDelta, centerLongitude + longitudeDelta));
     }
 
     @Override
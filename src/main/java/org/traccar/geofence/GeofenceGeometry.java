@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2016 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,10 +24,18 @@ public abstract class GeofenceGeometry {
     private Coordinate min;
     private Coordinate max;
 
+    public Coordinate getMin() {
+        return min;
+    }
+
     protected void setMin(Coordinate min) {
         this.min = min;
     }
 
+    public Coordinate getMax() {
+        return max;
+    }
+
     protected void setMax(Coordinate max) {
         this.max = max;
     }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geofence;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.traccar.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable STR-tree over geofence bounding boxes. Geometries with a boundary that can wrap around the antimeridian
+ * are kept outside of the tree and always checked.
+ */
+public class GeofenceIndex {
+
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    private final STRtree tree;
+    private final List<Geofence> unindexed = new ArrayList<>();
+
+    public GeofenceIndex(Collection<Geofence> geofences) {
+        STRtree tree = geofences.size() > LINEAR_SCAN_LIMIT ? new STRtree() : null;
+        for (Geofence geofence : geofences) {
+            GeofenceGeometry geometry = geofence.getGeometry();
+            if (tree != null && !isWrapped(geometry)) {
+                GeofenceGeometry.Coordinate min = geometry.getMin();
+                GeofenceGeometry.Coordinate max = geometry.getMax();
+                tree.insert(new Envelope(min.lon(), max.lon(), min.lat(), max.lat()), geofence);
+            } else {
+                unindexed.add(geofence);
+            }
+        }
+        if (tree != null) {
+            tree.build();
+        }
+        this.tree = tree;
+    }
+
+    private static boolean isWrapped(GeofenceGeometry geometry) {
+        double minLon = geometry.getMin().lon();
+        double maxLon = geometry.getMax().lon();
+        return minLon < -180 || maxLon > 180 || minLon < -90 && maxLon > 90;
+    }
+
+    public List<Geofence> getGeofences(double latitude, double longitude) {
+        List<Geofence> result = new ArrayList<>();
+        if (tree != null) {
+            for (Object item : tree.query(new Envelope(longitude, longitude, latitude, latitude))) {
+                Geofence geofence = (Geofence) item;
+                if (geofence.getGeometry().containsPoint(latitude, longitude)) {
+                    result.add(geofence);
+                }
+            }
+        }
+        for (Geofence geofence : unindexed) {
+            if (geofence.getGeometry().containsPoint(latitude, longitude)) {
+                result.add(geofence);
+            }
+        }
+        return result;
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2016 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,9 @@ public class GeofencePolygon extends GeofenceGeometry {
 
     private final List<Coordinate> coordinates;
 
+    private final double[] latitudes;
+    private final double[] longitudes;
+
     private final double[] constant;
     private final double[] multiple;
 
@@ -56,18 +59,22 @@ public class GeofencePolygon extends GeofenceGeometry {
         }
         needNormalize = hasPositive && hasNegative;
 
+        latitudes = new double[polyCorners];
+        longitudes = new double[polyCorners];
+        for (i = 0; i < polyCorners; i++) {
+            latitudes[i] = coordinates.get(i).lat();
+            longitudes[i] = normalizeLon(coordinates.get(i).lon());
+        }
+
         for (i = 0; i < polyCorners; j = i++) {
-            if (normalizeLon(coordinates.get(j).lon()) == normalizeLon(coordinates.get(i).lon())) {
+            if (longitudes[j] == longitudes[i]) {
                 constant[i] = coordinates.get(i).lon();
                 multiple[i] = 0;
             } else {
-                constant[i] = coordinates.get(i).lat()
-                        - (normalizeLon(coordinates.get(i).lon()) * coordinates.get(j).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()))
-                        + (normalizeLon(coordinates.get(i).lon()) * coordinates.get(i).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
-                multiple[i] = (coordinates.get(j).lat() - coordinates.get(i).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
+                constant[i] = latitudes[i]
+                        - (longitudes[i] * latitudes[j]) / (longitudes[j] - longitudes[i])
+                        + (longitudes[i] * latitudes[i]) / (longitudes[j] - longitudes[i]);
+                multiple[i] = (latitudes[j] - latitudes[i]) / (longitudes[j] - longitudes[i]);
             }
         }
     }
@@ -82,17 +89,16 @@ public class GeofencePolygon extends GeofenceGeometry {
     @Override
     protected boolean containsPointInternal(double latitude, double longitude) {
 
-        int polyCorners = coordinates.size();
+        double[] lons = longitudes;
+        int polyCorners = lons.length;
         int i;
         int j = polyCorners - 1;
         double longitudeNorm = normalizeLon(longitude);
         boolean oddNodes = false;
 
         for (i = 0; i < polyCorners; j = i++) {
-            if (normalizeLon(coordinates.get(i).lon()) < longitudeNorm
-                    && normalizeLon(coordinates.get(j).lon()) >= longitudeNorm
-                    || normalizeLon(coordinates.get(j).lon()) < longitudeNorm
-                    && normalizeLon(coordinates.get(i).lon()) >= longitudeNorm) {
+            if (lons[i] < longitudeNorm && lons[j] >= longitudeNorm
+                    || lons[j] < longitudeNorm && lons[i] >= longitudeNorm) {
                 oddNodes ^= longitudeNorm * multiple[i] + constant[i] < latitude;
             }
         }
@@ -29,6 +29,14 @@ public abstract class BasePositionHandler {
 
     public abstract void onPosition(Position position, Callback callback);
 
+    /**
+     * Handlers that block the calling thread, for example with database queries, should return true so they can be
+     * executed outside of the network event loop.
+     */
+    public boolean isBlocking() {
+        return false;
+    }
+
     public void handlePosition(Position position, Callback callback) {
         try {
             onPosition(position, callback);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017 - 2025 Anton Tananaev (anton@traccar.org)
+ * Copyright 2017 - 2026 Anton Tananaev (anton@traccar.org)
  * Copyright 2017 Andrey Kunitsyn (andrey@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
@@ -18,23 +18,25 @@ package org.traccar.handler;
 
 import jakarta.inject.Inject;
 import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlException;
 import org.apache.commons.jexl3.JexlFeatures;
-import org.apache.commons.jexl3.MapContext;
+import org.apache.commons.jexl3.JexlScript;
 import org.apache.commons.jexl3.introspection.JexlSandbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.ReflectionCache;
 import org.traccar.model.Attribute;
+import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -42,11 +44,30 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
-public class ComputedAttributesHandler extends BasePositionHandler {
+public class ComputedAttributesHandler extends BasePositionHandler implements BroadcastInterface {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ComputedAttributesHandler.class);
 
+    private static final Map<String, Function<Object, Object>> PROPERTIES = new HashMap<>();
+
+    static {
+        ReflectionCache.getProperties(Position.class, "get").forEach((name, property) -> {
+            if (!property.method().getReturnType().equals(Map.class)) {
+                PROPERTIES.put(name, ReflectionCache.getGetters(Position.class).get(name));
+            }
+        });
+    }
+
+    private static final Object MISSING = new Object();
+
+    private record ScriptKey(long id, String expression) {
+    }
+
+    private final Map<ScriptKey, JexlScript> scripts = new ConcurrentHashMap<>();
+
     private final CacheManager cacheManager;
     private final boolean early;
 
@@ -94,47 +115,124 @@ public class ComputedAttributesHandler extends BasePositionHandler {
                 .create();
         includeDeviceAttributes = config.getBoolean(Keys.PROCESSING_COMPUTED_ATTRIBUTES_DEVICE_ATTRIBUTES);
         includeLastAttributes = config.getBoolean(Keys.PROCESSING_COMPUTED_ATTRIBUTES_LAST_ATTRIBUTES);
+        if (cacheManager != null) {
+            cacheManager.addListener(this);
+        }
     }
 
-    private MapContext prepareContext(Position position) {
-        MapContext result = new MapContext();
-        if (includeDeviceAttributes) {
-            Device device = cacheManager.getObject(Device.class, position.getDeviceId());
-            if (device != null) {
-                for (String key : device.getAttributes().keySet()) {
-                    result.set(key, device.getAttributes().get(key));
-                }
+    /**
+     * Variables resolved on demand from the position, the latest device position and device attributes. Assignments
+     * made by expressions are kept separately, so they never modify the position itself.
+     */
+    private final class PositionContext implements JexlContext {
+
+        private final Position position;
+        private final Map<String, Object> locals = new HashMap<>();
+
+        private Position last;
+        private boolean lastLoaded;
+        private Map<String, Object> deviceAttributes;
+
+        private PositionContext(Position position) {
+            this.position = position;
+        }
+
+        private void reset() {
+            locals.clear();
+        }
+
+        private Position getLast() {
+            if (!lastLoaded) {
+                last = includeLastAttributes ? cacheManager.getPosition(position.getDeviceId()) : null;
+                lastLoaded = true;
             }
+            return last;
         }
-        Position last = includeLastAttributes ? cacheManager.getPosition(position.getDeviceId()) : null;
-        ReflectionCache.getProperties(Position.class, "get").forEach((key, value) -> {
-            Method method = value.method();
-            String name = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
-            try {
-                if (!method.getReturnType().equals(Map.class)) {
-                    result.set(name, method.invoke(position));
-                    if (last != null) {
-                        result.set(prefixAttribute("last", name), method.invoke(last));
-                    }
-                } else {
-                    for (Map.Entry<?, ?> entry : ((Map<?, ?>) method.invoke(position)).entrySet()) {
-                        result.set((String) entry.getKey(), entry.getValue());
+
+        private Map<String, Object> getDeviceAttributes() {
+            if (deviceAttributes == null) {
+                Device device = includeDeviceAttributes
+                        ? cacheManager.getObject(Device.class, position.getDeviceId()) : null;
+                deviceAttributes = device != null ? device.getAttributes() : Map.of();
+            }
+            return deviceAttributes;
+        }
+
+        private Object lookup(Position source, String name) {
+            if (source.getAttributes().containsKey(name)) {
+                return source.getAttributes().get(name);
+            }
+            Function<Object, Object> getter = PROPERTIES.get(name);
+            return getter != null ? getter.apply(source) : MISSING;
+        }
+
+        private Object lookup(String name) {
+            if (locals.containsKey(name)) {
+                return locals.get(name);
+            }
+            Object value = lookup(position, name);
+            if (value != MISSING) {
+                return value;
+            }
+            if (name.length() > 4 && name.startsWith("last") && Character.isUpperCase(name.charAt(4))) {
+                Position lastPosition = getLast();
+                if (lastPosition != null) {
+                    String key = name.substring(4);
+                    value = lookup(lastPosition, Character.toLowerCase(key.charAt(0)) + key.substring(1));
+                    if (value == MISSING && lastPosition.getAttributes().containsKey(key)) {
+                        value = lastPosition.getAttributes().get(key);
                     }
-                    if (last != null) {
-                        for (Map.Entry<?, ?> entry : ((Map<?, ?>) method.invoke(last)).entrySet()) {
-                            result.set(prefixAttribute("last", (String) entry.getKey()), entry.getValue());
-                        }
+                    if (value != MISSING) {
+                        return value;
                     }
                 }
-            } catch (IllegalAccessException | InvocationTargetException error) {
-                LOGGER.warn("Attribute reflection error", error);
             }
-        });
-        return result;
+            Map<String, Object> attributes = getDeviceAttributes();
+            return attributes.containsKey(name) ? attributes.get(name) : MISSING;
+        }
+
+        @Override
+        public Object get(String name) {
+            Object value = lookup(name);
+            return value != MISSING ? value : null;
+        }
+
+        @Override
+        public void set(String name, Object value) {
+            locals.put(name, value);
+        }
+
+        @Override
+        public boolean has(String name) {
+            return lookup(name) != MISSING;
+        }
+
+    }
+
+    private JexlScript getScript(Attribute attribute) {
+        if (attribute.getId() == 0) {
+            return engine.createScript(features, engine.createInfo(), attribute.getExpression());
+        }
+        return scripts.computeIfAbsent(
+                new ScriptKey(attribute.getId(), attribute.getExpression()),
+                key -> engine.createScript(features, engine.createInfo(), key.expression()));
+    }
+
+    int getCachedScriptCount() {
+        return scripts.size();
+    }
+
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(Attribute.class) && operation != ObjectOperation.ADD) {
+            scripts.keySet().removeIf(key -> key.id() == id);
+        }
     }
 
-    private String prefixAttribute(String prefix, String key) {
-        return prefix + Character.toUpperCase(key.charAt(0)) + key.substring(1);
+    private Object computeAttribute(Attribute attribute, PositionContext context) throws JexlException {
+        context.reset();
+        return getScript(attribute).execute(context);
     }
 
     /**
@@ -142,9 +240,7 @@ public class ComputedAttributesHandler extends BasePositionHandler {
      */
     @Deprecated
     public Object computeAttribute(Attribute attribute, Position position) throws JexlException {
-        return engine
-                .createScript(features, engine.createInfo(), attribute.getExpression())
-                .execute(prepareContext(position));
+        return computeAttribute(attribute, new PositionContext(position));
     }
 
     @Override
@@ -153,10 +249,11 @@ public class ComputedAttributesHandler extends BasePositionHandler {
                 .filter(attribute -> attribute.getPriority() < 0 == early)
                 .sorted(Comparator.comparing(Attribute::getPriority).reversed())
                 .toList();
+        PositionContext context = new PositionContext(position);
         for (Attribute attribute : attributes) {
             if (attribute.getAttribute() != null) {
                 try {
-                    Object result = computeAttribute(attribute, position);
+                    Object result = computeAttribute(attribute, context);
                     if (result != null) {
                         switch (attribute.getAttribute()) {
                             case "valid" -> position.setValid((Boolean) result);
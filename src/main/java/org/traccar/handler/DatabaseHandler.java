@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2024 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,34 +15,70 @@
  */
 package org.traccar.handler;
 
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.database.LatencyManager;
+import org.traccar.database.PositionWriter;
 import org.traccar.database.StatisticsManager;
 import org.traccar.model.Position;
 import org.traccar.storage.Storage;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Request;
 
+import java.util.concurrent.TimeUnit;
+
 public class DatabaseHandler extends BasePositionHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseHandler.class);
 
     private final Storage storage;
     private final StatisticsManager statisticsManager;
+    private final PositionWriter positionWriter;
+    private final LatencyManager.Component ingestLatency;
 
     @Inject
-    public DatabaseHandler(Storage storage, StatisticsManager statisticsManager) {
+    public DatabaseHandler(
+            Storage storage, StatisticsManager statisticsManager, @Nullable PositionWriter positionWriter,
+            @Nullable LatencyManager latencyManager) {
         this.storage = storage;
         this.statisticsManager = statisticsManager;
+        this.positionWriter = positionWriter;
+        ingestLatency = latencyManager != null
+                ? latencyManager.getComponent(LatencyManager.Stage.INGEST, DatabaseHandler.class) : null;
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return positionWriter == null;
+    }
+
+    private void registerStored(Position position) {
+        statisticsManager.registerMessageStored(position.getDeviceId(), position.getProtocol());
+        if (ingestLatency != null) {
+            long elapsed = System.currentTimeMillis() - position.getServerTime().getTime();
+            ingestLatency.getHistogram(position.getProtocol())
+                    .record(TimeUnit.MILLISECONDS.toNanos(Math.max(elapsed, 0)));
+        }
     }
 
     @Override
     public void onPosition(Position position, Callback callback) {
 
+        if (positionWriter != null) {
+            positionWriter.write(position, success -> {
+                if (success) {
+                    registerStored(position);
+                }
+                callback.processed(false);
+            });
+            return;
+        }
+
         try {
             position.setId(storage.addObject(position, new Request(new Columns.Exclude("id"))));
-            statisticsManager.registerMessageStored(position.getDeviceId(), position.getProtocol());
+            registerStored(position);
         } catch (Exception error) {
             LOGGER.warn("Failed to store position", error);
         }
@@ -274,6 +274,11 @@ public class FilterHandler extends BasePositionHandler {
         return false;
     }
 
+    @Override
+    public boolean isBlocking() {
+        return filterRelative;
+    }
+
     @Override
     public void onPosition(Position position, Callback callback) {
         callback.processed(filter(position));
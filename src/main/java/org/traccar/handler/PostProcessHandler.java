@@ -18,6 +18,7 @@ package org.traccar.handler;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.database.LatestPositionIndex;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
@@ -36,12 +37,21 @@ public class PostProcessHandler extends BasePositionHandler {
     private final CacheManager cacheManager;
     private final Storage storage;
     private final ConnectionManager connectionManager;
+    private final LatestPositionIndex latestPositionIndex;
 
     @Inject
-    public PostProcessHandler(CacheManager cacheManager, Storage storage, ConnectionManager connectionManager) {
+    public PostProcessHandler(
+            CacheManager cacheManager, Storage storage, ConnectionManager connectionManager,
+            LatestPositionIndex latestPositionIndex) {
         this.cacheManager = cacheManager;
         this.storage = storage;
         this.connectionManager = connectionManager;
+        this.latestPositionIndex = latestPositionIndex;
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return true;
     }
 
     @Override
@@ -56,6 +66,7 @@ public class PostProcessHandler extends BasePositionHandler {
                         new Condition.Equals("id", updatedDevice.getId())));
 
                 cacheManager.updatePosition(position);
+                latestPositionIndex.updatePosition(position);
                 connectionManager.updatePosition(true, position);
             }
         } catch (StorageException error) {
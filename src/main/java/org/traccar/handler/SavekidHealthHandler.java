@@ -99,6 +99,11 @@ public class SavekidHealthHandler extends BasePositionHandler {
         return health;
     }
 
+    @Override
+    public boolean isBlocking() {
+        return true;
+    }
+
     @Override
     public void onPosition(Position position, Callback callback) {
         try {
@@ -40,4 +40,12 @@ public abstract class BaseEventHandler {
      * Event handlers should be processed synchronously.
      */
     public abstract void onPosition(Position position, Callback callback);
+
+    /**
+     * Handlers that block the calling thread, for example with database queries, should return true so they can be
+     * executed outside of the network event loop.
+     */
+    public boolean isBlocking() {
+        return false;
+    }
 }
@@ -46,6 +46,11 @@ public class MotionEventHandler extends BaseEventHandler {
         this.storage = storage;
     }
 
+    @Override
+    public boolean isBlocking() {
+        return true;
+    }
+
     @Override
     public void onPosition(Position position, Callback callback) {
 
@@ -55,6 +55,11 @@ public class OverspeedEventHandler extends BaseEventHandler {
         multiplier = config.getDouble(Keys.EVENT_OVERSPEED_THRESHOLD_MULTIPLIER);
     }
 
+    @Override
+    public boolean isBlocking() {
+        return true;
+    }
+
     @Override
     public void onPosition(Position position, Callback callback) {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015 - 2017 Anton Tananaev (anton@traccar.org)
+ * Copyright 2015 - 2026 Anton Tananaev (anton@traccar.org)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,23 +22,67 @@ import java.util.regex.Pattern;
 
 public class Parser {
 
+    private static final boolean VERIFY = Boolean.getBoolean("traccar.parser.verify");
+
     private int position;
+    private final String input;
     private final Matcher matcher;
+    private final PatternScanner.State state;
 
     public Parser(Pattern pattern, String input) {
-        matcher = pattern.matcher(input);
+        this.input = input;
+        PatternScanner scanner = PatternScanner.get(pattern);
+        state = scanner != null ? scanner.state(input) : null;
+        matcher = state == null || VERIFY ? pattern.matcher(input) : null;
     }
 
     public boolean matches() {
         position = 1;
+        if (state != null) {
+            boolean result = state.matches();
+            if (matcher != null) {
+                verify(result, matcher.matches());
+            }
+            return result;
+        }
         return matcher.matches();
     }
 
     public boolean find() {
         position = 1;
+        if (state != null) {
+            boolean result = state.find();
+            if (matcher != null) {
+                verify(result, matcher.find());
+            }
+            return result;
+        }
         return matcher.find();
     }
 
+    private void verify(boolean result, boolean expected) {
+        boolean same = result == expected;
+        if (same && result) {
+            for (int i = 0; i <= matcher.groupCount(); i++) {
+                if (state.start(i) != matcher.start(i) || state.end(i) != matcher.end(i)) {
+                    same = false;
+                    break;
+                }
+            }
+        }
+        if (!same) {
+            throw new IllegalStateException("Scanner mismatch for " + matcher.pattern() + " on " + input);
+        }
+    }
+
+    private int start(int group) {
+        return state != null ? state.start(group) : matcher.start(group);
+    }
+
+    private int end(int group) {
+        return state != null ? state.end(group) : matcher.end(group);
+    }
+
     public void skip(int number) {
         position += number;
     }
@@ -49,8 +93,7 @@ public class Parser {
 
     public boolean hasNext(int number) {
         for (int i = position; i < position + number; i++) {
-            String value = matcher.group(i);
-            if (value == null || value.isEmpty()) {
+            if (start(i) < 0 || start(i) == end(i)) {
                 position += number;
                 return false;
             }
@@ -60,8 +103,7 @@ public class Parser {
 
     public boolean hasNextAny(int number) {
         for (int i = position; i < position + number; i++) {
-            String value = matcher.group(i);
-            if (value != null && !value.isEmpty()) {
+            if (start(i) >= 0 && start(i) < end(i)) {
                 return true;
             }
         }
@@ -70,12 +112,24 @@ public class Parser {
     }
 
     public String next() {
-        return matcher.group(position++);
+        int group = position++;
+        int start = start(group);
+        return start >= 0 ? input.substring(start, end(group)) : null;
+    }
+
+    private int parseInt(int radix) {
+        int group = position++;
+        return Integer.parseInt(input, start(group), end(group), radix);
+    }
+
+    private long parseLong(int radix) {
+        int group = position++;
+        return Long.parseLong(input, start(group), end(group), radix);
     }
 
     public Integer nextInt() {
         if (hasNext()) {
-            return Integer.parseInt(next());
+            return parseInt(10);
         } else {
             return null;
         }
@@ -83,7 +137,7 @@ public class Parser {
 
     public int nextInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next());
+            return parseInt(10);
         } else {
             return defaultValue;
         }
@@ -91,7 +145,7 @@ public class Parser {
 
     public Integer nextHexInt() {
         if (hasNext()) {
-            return Integer.parseInt(next(), 16);
+            return parseInt(16);
         } else {
             return null;
         }
@@ -99,7 +153,7 @@ public class Parser {
 
     public int nextHexInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next(), 16);
+            return parseInt(16);
         } else {
             return defaultValue;
         }
@@ -107,7 +161,7 @@ public class Parser {
 
     public Integer nextBinInt() {
         if (hasNext()) {
-            return Integer.parseInt(next(), 2);
+            return parseInt(2);
         } else {
             return null;
         }
@@ -115,7 +169,7 @@ public class Parser {
 
     public int nextBinInt(int defaultValue) {
         if (hasNext()) {
-            return Integer.parseInt(next(), 2);
+            return parseInt(2);
         } else {
             return defaultValue;
         }
@@ -123,7 +177,7 @@ public class Parser {
 
     public Long nextLong() {
         if (hasNext()) {
-            return Long.parseLong(next());
+            return parseLong(10);
         } else {
             return null;
         }
@@ -131,7 +185,7 @@ public class Parser {
 
     public Long nextHexLong() {
         if (hasNext()) {
-            return Long.parseLong(next(), 16);
+            return parseLong(16);
         } else {
             return null;
         }
@@ -143,7 +197,7 @@ public class Parser {
 
     public long nextLong(int radix, long defaultValue) {
         if (hasNext()) {
-            return Long.parseLong(next(), radix);
+            return parseLong(radix);
         } else {
             return defaultValue;
         }
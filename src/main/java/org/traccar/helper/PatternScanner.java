@@ -0,0 +1,1183 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of patterns built with {@link PatternBuilder}. It supports the subset of regular expressions used by
+ * protocol decoders and follows {@link java.util.regex.Matcher} semantics, including group values after backtracking.
+ * Groups are kept as offsets into the input, so matching does not create strings. Greedy repetitions that can not be
+ * followed by a character they accept never backtrack, so typical delimited formats are scanned in a single pass.
+ */
+public final class PatternScanner {
+
+    private static final Map<Pattern, PatternScanner> SCANNERS = new ConcurrentHashMap<>();
+
+    private static final int MAX_REPEAT = Integer.MAX_VALUE;
+
+    private final Node root;
+    private final int groupCount;
+    private final int localCount;
+    private final int memoCount;
+
+    private PatternScanner(Node root, int groupCount, int localCount, int memoCount) {
+        this.root = root;
+        this.groupCount = groupCount;
+        this.localCount = localCount;
+        this.memoCount = memoCount;
+    }
+
+    /**
+     * Compile the pattern for all parsers created with it. Patterns that use unsupported constructs are skipped and
+     * keep using the regular expression matcher. Only meant for patterns stored in constants.
+     */
+    public static void register(Pattern pattern) {
+        if (pattern.flags() == Pattern.DOTALL) {
+            try {
+                SCANNERS.put(pattern, compile(pattern.pattern()));
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    public static PatternScanner get(Pattern pattern) {
+        return SCANNERS.get(pattern);
+    }
+
+    /**
+     * Compile expression with the {@link Pattern#DOTALL} flag.
+     *
+     * @throws IllegalArgumentException if the expression uses unsupported constructs
+     */
+    public static PatternScanner compile(String expression) {
+        Compiler compiler = new Compiler(expression);
+        List<List<Item>> alternatives = compiler.parseAlternatives();
+        if (compiler.index < expression.length()) {
+            throw new IllegalArgumentException("Unexpected character at " + compiler.index);
+        }
+        Node root = compiler.build(alternatives, new Accept());
+        return new PatternScanner(root, compiler.groupCount, compiler.localCount, compiler.memoCount);
+    }
+
+    public int groupCount() {
+        return groupCount;
+    }
+
+    public State state(CharSequence input) {
+        return new State(this, input);
+    }
+
+    public static final class State {
+
+        private final PatternScanner scanner;
+        private final CharSequence input;
+        private final int to;
+        private final int[] groups;
+        private final int[] locals;
+        private final BitSet[] memos;
+        private boolean entire;
+        private int first = -1;
+        private int last;
+
+        private State(PatternScanner scanner, CharSequence input) {
+            this.scanner = scanner;
+            this.input = input;
+            to = input.length();
+            groups = new int[(scanner.groupCount + 1) * 2];
+            locals = new int[scanner.localCount];
+            memos = new BitSet[scanner.memoCount];
+        }
+
+        private boolean search(int from, boolean entire) {
+            Arrays.fill(groups, -1);
+            for (BitSet memo : memos) {
+                if (memo != null) {
+                    memo.clear();
+                }
+            }
+            this.entire = entire;
+            for (int i = from; i <= to; i++) {
+                if (scanner.root.match(this, i)) {
+                    first = i;
+                    groups[0] = first;
+                    groups[1] = last;
+                    return true;
+                }
+                if (entire) {
+                    break;
+                }
+            }
+            first = -1;
+            return false;
+        }
+
+        public boolean matches() {
+            return search(0, true);
+        }
+
+        public boolean find() {
+            int from = last;
+            if (from == first) {
+                from += 1;
+            }
+            if (from > to) {
+                Arrays.fill(groups, -1);
+                return false;
+            }
+            return search(from, false);
+        }
+
+        private int group(int group) {
+            if (first < 0) {
+                throw new IllegalStateException("No match found");
+            }
+            if (group < 0 || group > scanner.groupCount) {
+                throw new IndexOutOfBoundsException("No group " + group);
+            }
+            return group * 2;
+        }
+
+        public int start(int group) {
+            return groups[group(group)];
+        }
+
+        public int end(int group) {
+            return groups[group(group) + 1];
+        }
+
+    }
+
+    private static final class CharSet {
+
+        private static final int[] NO_RANGES = new int[0];
+
+        private long low;
+        private long high;
+        private int[] ranges = NO_RANGES;
+        private boolean bmp = true;
+
+        static CharSet of(int... chars) {
+            CharSet set = new CharSet();
+            for (int c : chars) {
+                set.addRange(c, c);
+            }
+            return set;
+        }
+
+        static CharSet range(int from, int to) {
+            CharSet set = new CharSet();
+            set.addRange(from, to);
+            return set;
+        }
+
+        static CharSet digits() {
+            return range('0', '9');
+        }
+
+        static CharSet spaces() {
+            return of(' ', '\t', '\n', 0x0B, '\f', '\r');
+        }
+
+        static CharSet words() {
+            CharSet set = range('a', 'z');
+            set.addRange('A', 'Z');
+            set.addRange('0', '9');
+            set.addRange('_', '_');
+            return set;
+        }
+
+        void addRange(int from, int to) {
+            for (int c = from; c <= Math.min(to, 127); c++) {
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << (c - 64);
+                }
+            }
+            if (to >= 128) {
+                ranges = Arrays.copyOf(ranges, ranges.length + 2);
+                ranges[ranges.length - 2] = Math.max(from, 128);
+                ranges[ranges.length - 1] = to;
+            }
+        }
+
+        void addAll(CharSet other) {
+            low |= other.low;
+            high |= other.high;
+            for (int k = 0; k < other.ranges.length; k += 2) {
+                addRange(other.ranges[k], other.ranges[k + 1]);
+            }
+            bmp &= other.bmp;
+        }
+
+        CharSet negate() {
+            CharSet result = new CharSet();
+            result.low = ~low;
+            result.high = ~high;
+            int[][] sorted = new int[ranges.length / 2][];
+            for (int k = 0; k < ranges.length; k += 2) {
+                sorted[k / 2] = new int[] {ranges[k], ranges[k + 1]};
+            }
+            Arrays.sort(sorted, (a, b) -> Integer.compare(a[0], b[0]));
+            int start = 128;
+            for (int[] range : sorted) {
+                if (range[0] > start) {
+                    result.addRange(start, range[0] - 1);
+                }
+                start = Math.max(start, range[1] + 1);
+            }
+            if (start <= Character.MAX_CODE_POINT) {
+                result.addRange(start, Character.MAX_CODE_POINT);
+            }
+            result.bmp = false;
+            return result;
+        }
+
+        boolean contains(int c) {
+            if (c < 64) {
+                return (low & (1L << c)) != 0;
+            } else if (c < 128) {
+                return (high & (1L << (c - 64))) != 0;
+            }
+            for (int k = 0; k < ranges.length; k += 2) {
+                if (c >= ranges[k] && c <= ranges[k + 1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isAscii() {
+            return ranges.length == 0;
+        }
+
+        boolean intersects(CharSet other) {
+            return (low & other.low) != 0 || (high & other.high) != 0;
+        }
+
+    }
+
+    private abstract static class Node {
+
+        private Node next;
+
+        Node(Node next) {
+            this.next = next;
+        }
+
+        abstract boolean match(State state, int i);
+
+    }
+
+    private static final class Accept extends Node {
+
+        Accept() {
+            super(null);
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            if (state.entire && i != state.to) {
+                return false;
+            }
+            state.last = i;
+            return true;
+        }
+
+    }
+
+    private static final class AtomEnd extends Node {
+
+        AtomEnd() {
+            super(null);
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            state.last = i;
+            return true;
+        }
+
+    }
+
+    private static final class CharNode extends Node {
+
+        private final CharSet set;
+
+        CharNode(CharSet set, Node next) {
+            super(next);
+            this.set = set;
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            if (i < state.to) {
+                if (set.bmp) {
+                    return set.contains(state.input.charAt(i)) && super.next.match(state, i + 1);
+                }
+                int c = Character.codePointAt(state.input, i);
+                return set.contains(c) && super.next.match(state, i + Character.charCount(c));
+            }
+            return false;
+        }
+
+    }
+
+    private static final class Slice extends Node {
+
+        private final String text;
+
+        Slice(String text, Node next) {
+            super(next);
+            this.text = text;
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            int length = text.length();
+            if (i + length > state.to) {
+                return false;
+            }
+            for (int k = 0; k < length; k++) {
+                if (state.input.charAt(i + k) != text.charAt(k)) {
+                    return false;
+                }
+            }
+            return super.next.match(state, i + length);
+        }
+
+    }
+
+    private static final class Begin extends Node {
+
+        Begin(Node next) {
+            super(next);
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            return i == 0 && super.next.match(state, i);
+        }
+
+    }
+
+    private static final class Dollar extends Node {
+
+        Dollar(Node next) {
+            super(next);
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            int to = state.to;
+            if (i < to - 2) {
+                return false;
+            }
+            if (i == to - 2 && (state.input.charAt(i) != '\r' || state.input.charAt(i + 1) != '\n')) {
+                return false;
+            }
+            if (i < to) {
+                char c = state.input.charAt(i);
+                if (c == '\n') {
+                    if (i > 0 && state.input.charAt(i - 1) == '\r') {
+                        return false;
+                    }
+                } else if (c != '\r' && c != '\u0085' && (c | 1) != 0x2029) {
+                    return false;
+                }
+            }
+            return super.next.match(state, i);
+        }
+
+    }
+
+    private static final class CharLoop extends Node {
+
+        private final CharSet set;
+        private final int min;
+        private final int max;
+        private final boolean lazy;
+        private final boolean counted;
+        private final boolean noBacktrack;
+
+        CharLoop(CharSet set, int min, int max, boolean lazy, boolean counted, Node next) {
+            super(next);
+            this.set = set;
+            this.min = min;
+            this.max = max;
+            this.lazy = lazy;
+            this.counted = counted;
+            CharSet following = first(next);
+            noBacktrack = !lazy && following != null && following.isAscii() && !following.intersects(set);
+        }
+
+        private int step(State state, int i) {
+            if (i >= state.to) {
+                return -1;
+            }
+            if (set.bmp) {
+                return set.contains(state.input.charAt(i)) ? i + 1 : -1;
+            }
+            int c = Character.codePointAt(state.input, i);
+            return set.contains(c) ? i + Character.charCount(c) : -1;
+        }
+
+        private int back(State state, int start, int i) {
+            if (set.bmp) {
+                return i - 1;
+            } else if (counted) {
+                boolean pair = i - 2 >= start
+                        && Character.isLowSurrogate(state.input.charAt(i - 1))
+                        && Character.isHighSurrogate(state.input.charAt(i - 2));
+                return pair ? i - 2 : i - 1;
+            }
+            return i - Character.charCount(Character.codePointBefore(state.input, i));
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            int j = i;
+            int count = 0;
+            if (lazy) {
+                for (; count < min; count++) {
+                    j = step(state, j);
+                    if (j < 0) {
+                        return false;
+                    }
+                }
+                while (true) {
+                    if (super.next.match(state, j)) {
+                        return true;
+                    }
+                    if (count >= max) {
+                        return false;
+                    }
+                    j = step(state, j);
+                    if (j < 0) {
+                        return false;
+                    }
+                    count += 1;
+                }
+            }
+            while (count < max) {
+                int k = step(state, j);
+                if (k < 0) {
+                    break;
+                }
+                j = k;
+                count += 1;
+            }
+            if (count < min) {
+                return false;
+            }
+            if (noBacktrack) {
+                return super.next.match(state, j);
+            }
+            while (true) {
+                if (super.next.match(state, j)) {
+                    return true;
+                }
+                if (count == min) {
+                    return false;
+                }
+                j = back(state, i, j);
+                count -= 1;
+            }
+        }
+
+    }
+
+    private static final class Branch extends Node {
+
+        private final Node[] alternatives;
+
+        Branch(Node[] alternatives, Node next) {
+            super(next);
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            for (Node alternative : alternatives) {
+                if (alternative == null ? super.next.match(state, i) : alternative.match(state, i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    private static final class GroupHead extends Node {
+
+        private final int local;
+
+        GroupHead(int local, Node next) {
+            super(next);
+            this.local = local;
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            int save = state.locals[local];
+            state.locals[local] = i;
+            boolean result = super.next.match(state, i);
+            state.locals[local] = save;
+            return result;
+        }
+
+    }
+
+    private static final class GroupTail extends Node {
+
+        private final int local;
+        private final int group;
+
+        GroupTail(int local, int group, Node next) {
+            super(next);
+            this.local = local;
+            this.group = group * 2;
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            int[] groups = state.groups;
+            int save0 = groups[group];
+            int save1 = groups[group + 1];
+            groups[group] = state.locals[local];
+            groups[group + 1] = i;
+            if (super.next.match(state, i)) {
+                return true;
+            }
+            groups[group] = save0;
+            groups[group + 1] = save1;
+            return false;
+        }
+
+    }
+
+    private static final class GroupCurly extends Node {
+
+        private final Node atom;
+        private final int min;
+        private final int max;
+        private final boolean lazy;
+        private final int group;
+
+        GroupCurly(Node atom, int min, int max, boolean lazy, int group, Node next) {
+            super(next);
+            this.atom = atom;
+            this.min = min;
+            this.max = max;
+            this.lazy = lazy;
+            this.group = group * 2;
+        }
+
+        private void capture(State state, int start, int end) {
+            if (group > 0) {
+                state.groups[group] = start;
+                state.groups[group + 1] = end;
+            }
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            int save0 = group > 0 ? state.groups[group] : 0;
+            int save1 = group > 0 ? state.groups[group + 1] : 0;
+            boolean result = true;
+            for (int j = 0; j < min; j++) {
+                if (atom.match(state, i)) {
+                    capture(state, i, state.last);
+                    i = state.last;
+                } else {
+                    result = false;
+                    break;
+                }
+            }
+            if (result) {
+                result = lazy ? matchLazy(state, i, min) : matchGreedy(state, i, min);
+            }
+            if (!result) {
+                capture(state, save0, save1);
+            }
+            return result;
+        }
+
+        private boolean matchGreedy(State state, int i, int j) {
+            int backLimit = j;
+            int save0 = group > 0 ? state.groups[group] : 0;
+            int save1 = group > 0 ? state.groups[group + 1] : 0;
+            while (j < max && atom.match(state, i)) {
+                int k = state.last - i;
+                if (k <= 0) {
+                    capture(state, i, i + k);
+                    i = i + k;
+                    break;
+                }
+                while (true) {
+                    capture(state, i, i + k);
+                    i = i + k;
+                    j += 1;
+                    if (j >= max || !atom.match(state, i)) {
+                        break;
+                    }
+                    if (i + k != state.last) {
+                        if (matchGreedy(state, i, j)) {
+                            return true;
+                        }
+                        break;
+                    }
+                }
+                while (j > backLimit) {
+                    if (super.next.match(state, i)) {
+                        capture(state, i - k, i);
+                        return true;
+                    }
+                    i = i - k;
+                    capture(state, i - k, i);
+                    j -= 1;
+                }
+                break;
+            }
+            capture(state, save0, save1);
+            return super.next.match(state, i);
+        }
+
+        private boolean matchLazy(State state, int i, int j) {
+            while (true) {
+                if (super.next.match(state, i)) {
+                    return true;
+                }
+                if (j >= max || !atom.match(state, i) || i == state.last) {
+                    return false;
+                }
+                capture(state, i, state.last);
+                i = state.last;
+                j += 1;
+            }
+        }
+
+    }
+
+    private static final class Prolog extends Node {
+
+        private final Loop loop;
+
+        Prolog(Loop loop) {
+            super(null);
+            this.loop = loop;
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            return loop.matchInit(state, i);
+        }
+
+    }
+
+    private static final class Loop extends Node {
+
+        private Node body;
+        private final int min;
+        private final int max;
+        private final boolean lazy;
+        private final int countLocal;
+        private final int beginLocal;
+        private final int memo;
+
+        Loop(int min, int max, boolean lazy, int countLocal, int beginLocal, int memo, Node next) {
+            super(next);
+            this.min = min;
+            this.max = max;
+            this.lazy = lazy;
+            this.countLocal = countLocal;
+            this.beginLocal = beginLocal;
+            this.memo = memo;
+        }
+
+        private boolean matchBody(State state, int i, int count) {
+            state.locals[countLocal] = count + 1;
+            boolean result = body.match(state, i);
+            if (!result) {
+                state.locals[countLocal] = count;
+            }
+            return result;
+        }
+
+        @Override
+        boolean match(State state, int i) {
+            if (i > state.locals[beginLocal]) {
+                int count = state.locals[countLocal];
+                if (count < min) {
+                    return matchBody(state, i, count);
+                }
+                if (lazy) {
+                    return super.next.match(state, i) || count < max && matchBody(state, i, count);
+                }
+                if (count < max) {
+                    if (memo >= 0 && state.memos[memo].get(i)) {
+                        return super.next.match(state, i);
+                    }
+                    if (matchBody(state, i, count)) {
+                        return true;
+                    }
+                    if (memo >= 0) {
+                        state.memos[memo].set(i);
+                    }
+                }
+            }
+            return super.next.match(state, i);
+        }
+
+        boolean matchInit(State state, int i) {
+            if (memo >= 0 && state.memos[memo] == null) {
+                state.memos[memo] = new BitSet();
+            }
+            int save = state.locals[countLocal];
+            boolean result;
+            if (min > 0) {
+                state.locals[countLocal] = 1;
+                result = body.match(state, i);
+            } else if (lazy) {
+                result = super.next.match(state, i);
+                if (!result && max > 0) {
+                    state.locals[countLocal] = 1;
+                    result = body.match(state, i);
+                }
+            } else if (max > 0) {
+                state.locals[countLocal] = 1;
+                result = body.match(state, i) || super.next.match(state, i);
+            } else {
+                result = super.next.match(state, i);
+            }
+            state.locals[countLocal] = save;
+            return result;
+        }
+
+    }
+
+    private static CharSet first(Node node) {
+        while (node instanceof GroupHead || node instanceof GroupTail) {
+            node = node.next;
+        }
+        if (node instanceof CharNode charNode) {
+            return charNode.set;
+        } else if (node instanceof Slice slice) {
+            return CharSet.of(slice.text.charAt(0));
+        } else if (node instanceof CharLoop loop && loop.min > 0) {
+            return loop.set;
+        }
+        return null;
+    }
+
+    private interface Atom {
+    }
+
+    private record Chars(CharSet set) implements Atom {
+    }
+
+    private record Text(String text) implements Atom {
+    }
+
+    private record Anchor(boolean begin) implements Atom {
+    }
+
+    private record Group(int index, int local, List<List<Item>> alternatives) implements Atom {
+    }
+
+    private record Item(Atom atom, char quantifier, int min, int max, boolean lazy) {
+    }
+
+    private static final class Compiler {
+
+        private final String expression;
+        private int index;
+        private int groupCount;
+        private int localCount;
+        private int memoCount;
+        private int repeatDepth;
+
+        Compiler(String expression) {
+            this.expression = expression;
+        }
+
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("Unsupported expression at " + index + ": " + expression);
+        }
+
+        private int peek() {
+            return index < expression.length() ? expression.charAt(index) : -1;
+        }
+
+        private int read() {
+            if (index >= expression.length()) {
+                throw unsupported();
+            }
+            return expression.charAt(index++);
+        }
+
+        private boolean accept(char c) {
+            if (peek() == c) {
+                index += 1;
+                return true;
+            }
+            return false;
+        }
+
+        List<List<Item>> parseAlternatives() {
+            List<List<Item>> alternatives = new ArrayList<>();
+            alternatives.add(parseSequence());
+            while (accept('|')) {
+                alternatives.add(parseSequence());
+            }
+            return alternatives;
+        }
+
+        private List<Item> parseSequence() {
+            List<Item> items = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            while (peek() >= 0 && peek() != '|' && peek() != ')') {
+                Item item = parseQuantifier(parseAtom());
+                if (item.quantifier() == 0 && item.atom() instanceof Text literal) {
+                    text.append(literal.text());
+                    continue;
+                }
+                if (!text.isEmpty()) {
+                    items.add(new Item(new Text(text.toString()), (char) 0, 1, 1, false));
+                    text.setLength(0);
+                }
+                items.add(item);
+            }
+            if (!text.isEmpty()) {
+                items.add(new Item(new Text(text.toString()), (char) 0, 1, 1, false));
+            }
+            return items;
+        }
+
+        private Atom parseAtom() {
+            int c = read();
+            switch (c) {
+                case '(':
+                    int group = 0;
+                    if (accept('?')) {
+                        if (!accept(':')) {
+                            throw unsupported();
+                        }
+                    } else {
+                        group = ++groupCount;
+                    }
+                    int local = localCount++;
+                    List<List<Item>> alternatives = parseAlternatives();
+                    if (!accept(')')) {
+                        throw unsupported();
+                    }
+                    return new Group(group, local, alternatives);
+                case '[':
+                    return new Chars(parseClass());
+                case '.':
+                    return new Chars(new CharSet().negate());
+                case '^':
+                    return new Anchor(true);
+                case '$':
+                    return new Anchor(false);
+                case '\\':
+                    CharSet predefined = parsePredefined();
+                    if (predefined != null) {
+                        return new Chars(predefined);
+                    }
+                    return new Text(String.valueOf((char) parseEscape()));
+                case '*', '+', '?', '{', ')', '|':
+                    throw unsupported();
+                default:
+                    if (c > 127) {
+                        throw unsupported();
+                    }
+                    return new Text(String.valueOf((char) c));
+            }
+        }
+
+        private CharSet parsePredefined() {
+            CharSet result = switch (peek()) {
+                case 'd' -> CharSet.digits();
+                case 'D' -> CharSet.digits().negate();
+                case 's' -> CharSet.spaces();
+                case 'S' -> CharSet.spaces().negate();
+                case 'w' -> CharSet.words();
+                case 'W' -> CharSet.words().negate();
+                default -> null;
+            };
+            if (result != null) {
+                index += 1;
+            }
+            return result;
+        }
+
+        private int parseEscape() {
+            int c = read();
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                case 'a':
+                    return '\u0007';
+                case 'e':
+                    return '\u001B';
+                case '0':
+                    return parseOctal();
+                case 'x':
+                    return parseHex(2);
+                case 'u':
+                    return parseHex(4);
+                default:
+                    if (Character.isLetterOrDigit(c) || c > 127) {
+                        throw unsupported();
+                    }
+                    return c;
+            }
+        }
+
+        private static boolean isOctal(int c) {
+            return c >= '0' && c <= '7';
+        }
+
+        private int parseOctal() {
+            int n = read();
+            if (!isOctal(n)) {
+                throw unsupported();
+            }
+            if (!isOctal(peek())) {
+                return n - '0';
+            }
+            int m = read();
+            if (isOctal(peek()) && n <= '3') {
+                return (n - '0') * 64 + (m - '0') * 8 + (read() - '0');
+            }
+            return (n - '0') * 8 + (m - '0');
+        }
+
+        private int parseHex(int length) {
+            int value = 0;
+            for (int k = 0; k < length; k++) {
+                int digit = Character.digit(read(), 16);
+                if (digit < 0) {
+                    throw unsupported();
+                }
+                value = value * 16 + digit;
+            }
+            if (value > 127) {
+                throw unsupported();
+            }
+            return value;
+        }
+
+        private CharSet parseClass() {
+            boolean negate = accept('^');
+            if (peek() == ']') {
+                throw unsupported();
+            }
+            CharSet set = new CharSet();
+            while (!accept(']')) {
+                int c = read();
+                if (c == '[' && !negate && peek() != '^') {
+                    set.addAll(parseClass());
+                    if (peek() == '-' || peek() == '&') {
+                        throw unsupported();
+                    }
+                    continue;
+                } else if (c == '[' || c == '&' && peek() == '&') {
+                    throw unsupported();
+                }
+                if (c == '\\') {
+                    CharSet predefined = parsePredefined();
+                    if (predefined != null) {
+                        if (peek() == '-') {
+                            throw unsupported();
+                        }
+                        set.addAll(predefined);
+                        continue;
+                    }
+                    c = parseEscape();
+                } else if (c > 127) {
+                    throw unsupported();
+                }
+                if (peek() == '-' && index + 1 < expression.length() && expression.charAt(index + 1) != ']') {
+                    index += 1;
+                    int end = read();
+                    if (end == '[') {
+                        throw unsupported();
+                    } else if (end == '\\') {
+                        if (parsePredefined() != null) {
+                            throw unsupported();
+                        }
+                        end = parseEscape();
+                    } else if (end > 127) {
+                        throw unsupported();
+                    }
+                    if (end < c) {
+                        throw unsupported();
+                    }
+                    set.addRange(c, end);
+                } else {
+                    set.addRange(c, c);
+                }
+            }
+            return negate ? set.negate() : set;
+        }
+
+        private Item parseQuantifier(Atom atom) {
+            int c = peek();
+            int min;
+            int max;
+            if (c == '?') {
+                min = 0;
+                max = 1;
+            } else if (c == '*') {
+                min = 0;
+                max = MAX_REPEAT;
+            } else if (c == '+') {
+                min = 1;
+                max = MAX_REPEAT;
+            } else if (c == '{') {
+                index += 1;
+                min = parseNumber();
+                max = min;
+                if (accept(',')) {
+                    max = peek() == '}' ? MAX_REPEAT : parseNumber();
+                }
+                if (peek() != '}' || max < min) {
+                    throw unsupported();
+                }
+            } else {
+                return new Item(atom, (char) 0, 1, 1, false);
+            }
+            index += 1;
+            if (atom instanceof Anchor) {
+                throw unsupported();
+            } else if (atom instanceof Text literal) {
+                atom = new Chars(CharSet.of(literal.text().charAt(0)));
+            }
+            boolean lazy = accept('?');
+            if (peek() == '+') {
+                throw unsupported();
+            }
+            return new Item(atom, (char) c, min, max, lazy);
+        }
+
+        private int parseNumber() {
+            int start = index;
+            while (peek() >= '0' && peek() <= '9') {
+                index += 1;
+            }
+            if (start == index || index - start > 9) {
+                throw unsupported();
+            }
+            return Integer.parseInt(expression, start, index, 10);
+        }
+
+        Node build(List<List<Item>> alternatives, Node next) {
+            if (alternatives.size() == 1) {
+                return buildSequence(alternatives.get(0), next);
+            }
+            Node[] nodes = new Node[alternatives.size()];
+            for (int k = 0; k < nodes.length; k++) {
+                List<Item> sequence = alternatives.get(k);
+                nodes[k] = sequence.isEmpty() ? null : buildSequence(sequence, next);
+            }
+            return new Branch(nodes, next);
+        }
+
+        private Node buildSequence(List<Item> items, Node next) {
+            for (int k = items.size() - 1; k >= 0; k--) {
+                next = buildItem(items.get(k), next);
+            }
+            return next;
+        }
+
+        private Node buildGroup(Group group, Node next) {
+            if (group.index() > 0) {
+                return new GroupHead(group.local(), build(
+                        group.alternatives(), new GroupTail(group.local(), group.index(), next)));
+            }
+            return build(group.alternatives(), next);
+        }
+
+        private Node buildItem(Item item, Node next) {
+            Atom atom = item.atom();
+            if (item.quantifier() == 0) {
+                if (atom instanceof Chars chars) {
+                    return new CharNode(chars.set(), next);
+                } else if (atom instanceof Text text) {
+                    return new Slice(text.text(), next);
+                } else if (atom instanceof Anchor anchor) {
+                    return anchor.begin() ? new Begin(next) : new Dollar(next);
+                }
+                return buildGroup((Group) atom, next);
+            }
+            if (atom instanceof Chars chars) {
+                boolean counted = item.quantifier() == '{' || item.quantifier() == '?';
+                return new CharLoop(chars.set(), item.min(), item.max(), item.lazy(), counted, next);
+            }
+            Group group = (Group) atom;
+            boolean topLevel = repeatDepth == 0;
+            repeatDepth += 1;
+            try {
+                if (item.quantifier() == '?') {
+                    Node body = buildGroup(group, next);
+                    return new Branch(item.lazy() ? new Node[] {null, body} : new Node[] {body, null}, next);
+                }
+                if (isDeterministic(group.alternatives())) {
+                    Node body = build(group.alternatives(), new AtomEnd());
+                    return new GroupCurly(body, item.min(), item.max(), item.lazy(), group.index(), next);
+                }
+                int memo = topLevel && !item.lazy() && item.max() == MAX_REPEAT ? memoCount++ : -1;
+                Loop loop = new Loop(
+                        item.min(), item.max(), item.lazy(), localCount++, group.local(), memo, next);
+                Node tail = group.index() > 0 ? new GroupTail(group.local(), group.index(), loop) : loop;
+                loop.body = new GroupHead(group.local(), build(group.alternatives(), tail));
+                return new Prolog(loop);
+            } finally {
+                repeatDepth -= 1;
+            }
+        }
+
+        private static boolean isDeterministic(List<List<Item>> alternatives) {
+            if (alternatives.size() != 1) {
+                return false;
+            }
+            for (Item item : alternatives.get(0)) {
+                boolean fixed = item.quantifier() == 0 || item.quantifier() == '{' && item.min() == item.max();
+                if (!fixed || item.atom() instanceof Group group && !isDeterministic(group.alternatives())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
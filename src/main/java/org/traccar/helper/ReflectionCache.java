@@ -18,10 +18,20 @@ package org.traccar.helper;
 import org.traccar.storage.QueryIgnore;
 
 import java.beans.Introspector;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public final class ReflectionCache {
 
@@ -36,6 +46,12 @@ public final class ReflectionCache {
 
     private static final Map<Key, Map<String, PropertyMethod>> CACHE = new ConcurrentHashMap<>();
 
+    private static final Map<Class<?>, Map<String, Function<Object, Object>>> GETTERS = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, Map<String, BiConsumer<Object, Object>>> SETTERS = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, Supplier<?>> FACTORIES = new ConcurrentHashMap<>();
+
     public static Map<String, PropertyMethod> getProperties(Class<?> clazz, String type) {
         return CACHE.computeIfAbsent(new Key(clazz, type), key -> {
             Map<String, PropertyMethod> properties = new HashMap<>();
@@ -52,4 +68,126 @@ public final class ReflectionCache {
         });
     }
 
+    /**
+     * Getter functions generated with {@link LambdaMetafactory}, so reading properties avoids reflective invocation.
+     */
+    public static Map<String, Function<Object, Object>> getGetters(Class<?> clazz) {
+        return GETTERS.computeIfAbsent(clazz, key -> {
+            Map<String, Function<Object, Object>> getters = new HashMap<>();
+            getProperties(clazz, "get").forEach((name, property) -> getters.put(name, createGetter(property.method())));
+            return Map.copyOf(getters);
+        });
+    }
+
+    /**
+     * Setter functions generated with {@link LambdaMetafactory}. Primitive values are passed boxed.
+     */
+    public static Map<String, BiConsumer<Object, Object>> getSetters(Class<?> clazz) {
+        return SETTERS.computeIfAbsent(clazz, key -> {
+            Map<String, BiConsumer<Object, Object>> setters = new HashMap<>();
+            getProperties(clazz, "set").forEach((name, property) -> setters.put(name, createSetter(property.method())));
+            return Map.copyOf(setters);
+        });
+    }
+
+    /**
+     * Factory calling the no-argument constructor of the class.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> getFactory(Class<T> clazz) {
+        return (Supplier<T>) FACTORIES.computeIfAbsent(clazz, key -> {
+            Constructor<T> constructor;
+            try {
+                constructor = clazz.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(e);
+            }
+            try {
+                Supplier<?> factory = createFunction(
+                        Supplier.class, "get", MethodType.methodType(Object.class),
+                        MethodHandles.lookup().unreflectConstructor(constructor));
+                if (factory != null) {
+                    return factory;
+                }
+            } catch (IllegalAccessException ignored) {
+            }
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException error) {
+                    throw new IllegalStateException(error);
+                }
+            };
+        });
+    }
+
+    /**
+     * Implement a functional interface with a method handle using {@link LambdaMetafactory}. Reference types of the
+     * interface method are matched by boxing primitive types of the handle. Returns null if the handle can not be
+     * bound, so callers can fall back to reflection.
+     */
+    @SuppressWarnings("unchecked")
+    public static <F> F createFunction(
+            Class<? super F> functionClass, String functionName, MethodType functionType, MethodHandle handle) {
+        MethodType instantiatedType = handle.type();
+        for (int i = 0; i < instantiatedType.parameterCount(); i++) {
+            if (!functionType.parameterType(i).isPrimitive()) {
+                instantiatedType = instantiatedType.changeParameterType(i, box(instantiatedType.parameterType(i)));
+            }
+        }
+        if (!functionType.returnType().isPrimitive()) {
+            instantiatedType = instantiatedType.changeReturnType(box(instantiatedType.returnType()));
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(
+                    MethodHandles.lookup(), functionName, MethodType.methodType(functionClass),
+                    functionType, handle, instantiatedType);
+            return (F) site.getTarget().invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static Class<?> box(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static Function<Object, Object> createGetter(Method method) {
+        try {
+            Function<Object, Object> getter = createFunction(
+                    Function.class, "apply", MethodType.methodType(Object.class, Object.class),
+                    MethodHandles.lookup().unreflect(method));
+            if (getter != null) {
+                return getter;
+            }
+        } catch (IllegalAccessException ignored) {
+        }
+        return object -> {
+            try {
+                return method.invoke(object);
+            } catch (IllegalAccessException | InvocationTargetException error) {
+                throw new IllegalStateException(error);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> createSetter(Method method) {
+        try {
+            BiConsumer<Object, Object> setter = createFunction(
+                    BiConsumer.class, "accept", MethodType.methodType(void.class, Object.class, Object.class),
+                    MethodHandles.lookup().unreflect(method));
+            if (setter != null) {
+                return setter;
+            }
+        } catch (IllegalAccessException ignored) {
+        }
+        return (object, value) -> {
+            try {
+                method.invoke(object, value);
+            } catch (IllegalAccessException | InvocationTargetException error) {
+                throw new IllegalStateException(error);
+            }
+        };
+    }
+
 }
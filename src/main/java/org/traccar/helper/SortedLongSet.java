@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable set of primitive long values backed by a sorted array.
+ */
+public final class SortedLongSet {
+
+    public static final SortedLongSet EMPTY = new SortedLongSet(new long[0]);
+
+    private final long[] values;
+
+    private SortedLongSet(long[] values) {
+        this.values = values;
+    }
+
+    public static SortedLongSet of(LongStream values) {
+        long[] array = values.sorted().distinct().toArray();
+        return array.length > 0 ? new SortedLongSet(array) : EMPTY;
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(values);
+    }
+
+    public SortedLongSet intersect(SortedLongSet other) {
+        long[] result = new long[Math.min(values.length, other.values.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < values.length && j < other.values.length) {
+            if (values[i] < other.values[j]) {
+                i += 1;
+            } else if (values[i] > other.values[j]) {
+                j += 1;
+            } else {
+                result[count++] = values[i];
+                i += 1;
+                j += 1;
+            }
+        }
+        return count > 0 ? new SortedLongSet(Arrays.copyOf(result, count)) : EMPTY;
+    }
+
+    /**
+     * Read-only boxed view, for example for query conditions.
+     */
+    public List<Long> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Long get(int index) {
+                return values[index];
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+}
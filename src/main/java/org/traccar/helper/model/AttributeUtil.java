@@ -24,6 +24,7 @@ import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.model.Server;
 import org.traccar.session.cache.CacheManager;
+import org.traccar.session.cache.DeviceAttributes;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -43,11 +44,23 @@ public final class AttributeUtil {
     }
 
     public static <T> T lookup(CacheManager cacheManager, ConfigKey<T> key, long deviceId) {
+        DeviceAttributes attributes = cacheManager.getDeviceAttributes(deviceId);
+        if (attributes != null) {
+            return attributes.get(key);
+        }
         return lookup(new CacheProvider(cacheManager, deviceId), key);
     }
 
-    @SuppressWarnings({ "deprecation", "unchecked" })
     public static <T> T lookup(Provider provider, ConfigKey<T> key) {
+        T result = resolve(provider, key);
+        return result != null ? result : key.getDefaultValue();
+    }
+
+    /**
+     * Resolve typed value without falling back to the key default.
+     */
+    @SuppressWarnings({ "deprecation", "unchecked" })
+    public static <T> T resolve(Provider provider, ConfigKey<T> key) {
         Device device = provider.getDevice();
         Object result = device.getAttributes().get(key.getKey());
         long groupId = device.getGroupId();
@@ -89,7 +102,7 @@ public final class AttributeUtil {
                 return (T) result;
             }
         }
-        return key.getDefaultValue();
+        return null;
     }
 
     public static String getDevicePassword(
@@ -29,10 +29,9 @@ public final class GeofenceUtil {
 
     public static List<Long> getCurrentGeofences(CacheManager cacheManager, Position position) {
         List<Long> result = new ArrayList<>();
-        for (Geofence geofence : cacheManager.getDeviceObjects(position.getDeviceId(), Geofence.class)) {
-            if (geofence.containsPosition(position)) {
-                result.add(geofence.getId());
-            }
+        for (Geofence geofence : cacheManager.getDeviceGeofences(
+                position.getDeviceId(), position.getLatitude(), position.getLongitude())) {
+            result.add(geofence.getId());
         }
         return result;
     }
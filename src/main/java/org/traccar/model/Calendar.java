@@ -35,13 +35,24 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @StorageName("tc_calendars")
 public class Calendar extends ExtendedModel {
 
+    private static final long WINDOW_BEFORE = TimeUnit.DAYS.toMillis(1);
+    private static final long WINDOW_AFTER = TimeUnit.DAYS.toMillis(7);
+    private static final long WINDOW_MARGIN = TimeUnit.DAYS.toMillis(1);
+    private static final int WINDOW_LIMIT = 10000;
+
     private String name;
 
     public String getName() {
@@ -61,6 +72,7 @@ public class Calendar extends ExtendedModel {
     public void setData(byte[] data) throws IOException, ParserException {
         CalendarBuilder builder = new CalendarBuilder();
         calendar = builder.build(new ByteArrayInputStream(data));
+        window = null;
         this.data = data;
     }
 
@@ -72,23 +84,112 @@ public class Calendar extends ExtendedModel {
         return calendar;
     }
 
+    /**
+     * Occurrences expanded for a time window, sorted by start time. Periods are null if the window contains too many
+     * occurrences to be cached.
+     */
+    private record Window(
+            long start, long end, List<Period<Instant>> periods, long[] starts, long[] ends, long[] maxEnds) {
+
+        private static Window expand(long start, long end, Stream<Period<Instant>> occurrences) {
+            List<Period<Instant>> periods = occurrences
+                    .filter(period -> period.getEnd().toEpochMilli() >= start
+                            && period.getStart().toEpochMilli() < end)
+                    .distinct()
+                    .sorted(Comparator.comparing(Period::getStart))
+                    .limit(WINDOW_LIMIT + 1)
+                    .toList();
+            if (periods.size() > WINDOW_LIMIT) {
+                return new Window(start, end, null, null, null, null);
+            }
+            long[] starts = new long[periods.size()];
+            long[] ends = new long[periods.size()];
+            long[] maxEnds = new long[periods.size()];
+            for (int i = 0; i < periods.size(); i++) {
+                starts[i] = periods.get(i).getStart().toEpochMilli();
+                ends[i] = periods.get(i).getEnd().toEpochMilli();
+                maxEnds[i] = i > 0 ? Math.max(maxEnds[i - 1], ends[i]) : ends[i];
+            }
+            return new Window(start, end, periods, starts, ends, maxEnds);
+        }
+
+        private boolean covers(long time) {
+            return periods != null && time >= start && time < end;
+        }
+
+        private Set<Period<Instant>> find(long time, boolean first) {
+            Set<Period<Instant>> result = new HashSet<>();
+            int index = Arrays.binarySearch(starts, time);
+            if (index < 0) {
+                index = -index - 2;
+            } else {
+                while (index + 1 < starts.length && starts[index + 1] == time) {
+                    index += 1;
+                }
+            }
+            for (int i = index; i >= 0 && maxEnds[i] >= time; i--) {
+                if (time < ends[i] || time == starts[i]) {
+                    result.add(periods.get(i));
+                    if (first) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        }
+
+    }
+
+    private volatile Window window;
+
+    private Window getWindow(long time) {
+        Window current = window;
+        if (current == null || time >= current.end()) {
+            long start = time - WINDOW_BEFORE;
+            long end = time + WINDOW_AFTER;
+            Instant from = Instant.ofEpochMilli(start - WINDOW_MARGIN);
+            Instant to = Instant.ofEpochMilli(end + WINDOW_MARGIN);
+            current = Window.expand(start, end, calculatePeriods(from, to));
+            window = current;
+        }
+        return current;
+    }
+
+    private Stream<Period<Instant>> calculatePeriods(Instant from, Instant to) {
+        return calendar.<VEvent>getComponents(Component.VEVENT).stream()
+                .flatMap(event -> {
+                    Temporal sample = event.getDateTimeStart().getDate();
+                    Temporal start = convertToMatchingTemporal(from, sample);
+                    var period = from.equals(to)
+                            ? new Period<>(start, Duration.ZERO)
+                            : new Period<>(start, convertToMatchingTemporal(to, sample));
+                    return event.calculateRecurrenceSet(period).stream();
+                })
+                .map(p -> new Period<>(temporalToInstant(p.getStart()), temporalToInstant(p.getEnd())));
+    }
+
     public Set<Period<Instant>> findPeriods(Date date) {
         if (calendar != null) {
+            long time = date.getTime();
+            Window current = getWindow(time);
+            if (current.covers(time)) {
+                return Set.copyOf(current.find(time, false));
+            }
             Instant instant = date.toInstant();
-            return calendar.<VEvent>getComponents(Component.VEVENT).stream()
-                    .flatMap(event -> {
-                        Temporal sample = event.getDateTimeStart().getDate();
-                        var period = new Period<>(convertToMatchingTemporal(instant, sample), Duration.ZERO);
-                        return event.calculateRecurrenceSet(period).stream();
-                    })
-                    .map(p -> new Period<>(temporalToInstant(p.getStart()), temporalToInstant(p.getEnd())))
-                    .collect(Collectors.toUnmodifiableSet());
+            return calculatePeriods(instant, instant).collect(Collectors.toUnmodifiableSet());
         } else {
             return Set.of();
         }
     }
 
     public boolean checkMoment(Date date) {
+        if (calendar != null) {
+            long time = date.getTime();
+            Window current = getWindow(time);
+            if (current.covers(time)) {
+                return !current.find(time, true).isEmpty();
+            }
+        }
         return !findPeriods(date).isEmpty();
     }
 
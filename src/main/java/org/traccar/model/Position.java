@@ -26,6 +26,8 @@ import org.traccar.storage.StorageName;
 public class Position extends Message {
 
     public static final String KEY_ORIGINAL = "raw";
+    public static final String KEY_ORIGINAL_SEGMENT = "rawSegment";
+    public static final String KEY_ORIGINAL_OFFSET = "rawOffset";
     public static final String KEY_INDEX = "index";
     public static final String KEY_HDOP = "hdop";
     public static final String KEY_VDOP = "vdop";
@@ -44,13 +46,10 @@ public class Position extends Message {
     public static final String KEY_HOURS = "hours"; // milliseconds
     public static final String KEY_STEPS = "steps";
     public static final String KEY_HEART_RATE = "heartRate";
-<<<<<<< HEAD
-=======
     public static final String KEY_BODY_TEMPERATURE = "bodyTemperature";
     public static final String KEY_SLEEP_MINUTES = "sleepMinutes";
     public static final String KEY_SEDENTARY = "sedentary";
     public static final String KEY_SOS_ACTIVE = "sosActive";
->>>>>>> 1e552659b85a97f7c027b589d32dbb249287e27c
     public static final String KEY_INPUT = "input";
     public static final String KEY_OUTPUT = "output";
     public static final String KEY_IMAGE = "image";
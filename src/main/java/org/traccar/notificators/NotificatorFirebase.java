@@ -50,6 +50,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -129,12 +130,16 @@ public class NotificatorFirebase extends Notificator {
                 }
                 if (!failedTokens.isEmpty()) {
                     registrationTokens.removeAll(failedTokens);
+                    // user can be shared with other requests, so the change is written from a copy
+                    User updatedUser = new User();
+                    updatedUser.setId(user.getId());
+                    updatedUser.setAttributes(new LinkedHashMap<>(user.getAttributes()));
                     if (registrationTokens.isEmpty()) {
-                        user.removeAttribute("notificationTokens");
+                        updatedUser.removeAttribute("notificationTokens");
                     } else {
-                        user.set("notificationTokens", String.join(",", registrationTokens));
+                        updatedUser.set("notificationTokens", String.join(",", registrationTokens));
                     }
-                    storage.updateObject(user, new Request(
+                    storage.updateObject(updatedUser, new Request(
                             new Columns.Include("attributes"),
                             new Condition.Equals("id", user.getId())));
                     cacheManager.invalidateObject(true, User.class, user.getId(), ObjectOperation.UPDATE);
@@ -40,6 +40,7 @@ import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Response;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -121,12 +122,16 @@ public class NotificatorTraccar extends Notificator {
                 }
                 if (!failedTokens.isEmpty()) {
                     registrationTokens.removeAll(failedTokens);
+                    // user can be shared with other requests, so the change is written from a copy
+                    User updatedUser = new User();
+                    updatedUser.setId(user.getId());
+                    updatedUser.setAttributes(new LinkedHashMap<>(user.getAttributes()));
                     if (registrationTokens.isEmpty()) {
-                        user.removeAttribute("notificationTokens");
+                        updatedUser.removeAttribute("notificationTokens");
                     } else {
-                        user.set("notificationTokens", String.join(",", registrationTokens));
+                        updatedUser.set("notificationTokens", String.join(",", registrationTokens));
                     }
-                    storage.updateObject(user, new Request(
+                    storage.updateObject(updatedUser, new Request(
                             new Columns.Include("attributes"),
                             new Condition.Equals("id", user.getId())));
                     cacheManager.invalidateObject(true, User.class, user.getId(), ObjectOperation.UPDATE);
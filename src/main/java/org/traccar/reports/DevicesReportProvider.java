@@ -19,7 +19,7 @@ import jakarta.inject.Inject;
 import org.jxls.util.JxlsHelper;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
-import org.traccar.helper.model.PositionUtil;
+import org.traccar.database.LatestPositionIndex;
 import org.traccar.model.Device;
 import org.traccar.model.Message;
 import org.traccar.model.User;
@@ -45,17 +45,20 @@ public class DevicesReportProvider {
     private final Config config;
     private final ReportUtils reportUtils;
     private final Storage storage;
+    private final LatestPositionIndex latestPositionIndex;
 
     @Inject
-    public DevicesReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public DevicesReportProvider(
+            Config config, ReportUtils reportUtils, Storage storage, LatestPositionIndex latestPositionIndex) {
         this.config = config;
         this.reportUtils = reportUtils;
         this.storage = storage;
+        this.latestPositionIndex = latestPositionIndex;
     }
 
     public Collection<DeviceReportItem> getObjects(long userId) throws StorageException {
 
-        var positions = PositionUtil.getLatestPositions(storage, userId).stream()
+        var positions = latestPositionIndex.getLatestPositions(userId).stream()
                 .collect(Collectors.toMap(Message::getDeviceId, p -> p));
 
         return storage.getObjects(Device.class, new Request(
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.RawMessageStore;
+import org.traccar.helper.DataConverter;
+import org.traccar.model.Position;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves HEX "raw" attributes of stored positions into the original message store. Positions are scanned by id in
+ * batches, and identical messages within a batch are stored once. Id of the last processed position is kept in a
+ * progress file in the store directory, so that migration continues where it stopped after a restart.
+ */
+public class TaskMigrateOriginal extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskMigrateOriginal.class);
+
+    private static final long CHECK_PERIOD_SECONDS = 10;
+    private static final int BATCH_SIZE = 1000;
+    private static final int BATCHES_PER_RUN = 10;
+    private static final String PROGRESS_FILE = "migration.progress";
+
+    private final Config config;
+    private final Storage storage;
+    private final RawMessageStore rawMessageStore;
+
+    private Path progressPath;
+    private long lastId;
+    private long migrated;
+    private volatile boolean finished;
+
+    @Inject
+    public TaskMigrateOriginal(Config config, Storage storage, @Nullable RawMessageStore rawMessageStore) {
+        this.config = config;
+        this.storage = storage;
+        this.rawMessageStore = rawMessageStore;
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (rawMessageStore != null && config.getBoolean(Keys.DATABASE_ORIGINAL_MIGRATE)) {
+            progressPath = Paths.get(config.getString(Keys.DATABASE_ORIGINAL_PATH)).resolve(PROGRESS_FILE);
+            loadProgress();
+            executor.scheduleWithFixedDelay(this, CHECK_PERIOD_SECONDS, CHECK_PERIOD_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void loadProgress() {
+        try {
+            if (Files.exists(progressPath)) {
+                lastId = Long.parseLong(Files.readString(progressPath, StandardCharsets.US_ASCII).strip());
+                LOGGER.info("Original message migration continues after position {}", lastId);
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warn("Original message migration progress read error", e);
+        }
+    }
+
+    private void saveProgress() throws IOException {
+        Path temporaryPath = progressPath.resolveSibling(PROGRESS_FILE + ".tmp");
+        Files.writeString(temporaryPath, String.valueOf(lastId), StandardCharsets.US_ASCII);
+        Files.move(temporaryPath, progressPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private boolean migrateBatch() throws StorageException, IOException {
+        List<Position> positions = storage.getObjects(Position.class, new Request(
+                new Columns.All(), new Condition.Compare("id", ">", lastId), new Order("id", false, BATCH_SIZE)));
+        if (positions.isEmpty()) {
+            return false;
+        }
+        Map<String, RawMessageStore.Location> locations = new HashMap<>();
+        List<Position> updated = new ArrayList<>();
+        long processedId = lastId;
+        for (Position position : positions) {
+            String hex = position.getString(Position.KEY_ORIGINAL);
+            if (hex != null) {
+                RawMessageStore.Location location = locations.get(hex);
+                if (location == null) {
+                    byte[] data;
+                    try {
+                        data = DataConverter.parseHex(hex);
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Invalid original message in position {}", position.getId());
+                        processedId = position.getId();
+                        continue;
+                    }
+                    location = rawMessageStore.write(data);
+                    if (location == null) {
+                        break; // writer queue is full, continue from this position later
+                    }
+                    locations.put(hex, location);
+                }
+                position.getAttributes().remove(Position.KEY_ORIGINAL);
+                position.set(Position.KEY_ORIGINAL_SEGMENT, location.segment());
+                position.set(Position.KEY_ORIGINAL_OFFSET, location.offset());
+                updated.add(position);
+            }
+            processedId = position.getId();
+        }
+        if (!updated.isEmpty()) {
+            storage.updateObjects(updated, new Columns.Include("attributes"));
+            migrated += updated.size();
+        }
+        if (processedId != lastId) {
+            lastId = processedId;
+            saveProgress();
+        }
+        return true;
+    }
+
+    @Override
+    public void run() {
+        if (finished) {
+            return;
+        }
+        try {
+            for (int i = 0; i < BATCHES_PER_RUN; i++) {
+                if (!migrateBatch()) {
+                    finished = true;
+                    LOGGER.info("Original message migration finished, {} positions migrated", migrated);
+                    break;
+                }
+            }
+        } catch (StorageException | IOException e) {
+            LOGGER.warn("Original message migration failed", e);
+        }
+    }
+
+}
@@ -31,6 +31,7 @@ import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.LogRecord;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 import org.traccar.model.User;
 import org.traccar.session.cache.CacheManager;
@@ -44,8 +45,8 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -55,6 +56,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Singleton
@@ -63,6 +65,7 @@ public class ConnectionManager implements BroadcastInterface {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionManager.class);
 
     private final long deviceTimeout;
+    private final long updateInterval;
     private final boolean showUnknownDevices;
 
     private final Map<Long, DeviceSession> sessionsByDeviceId = new ConcurrentHashMap<>();
@@ -83,6 +86,8 @@ public class ConnectionManager implements BroadcastInterface {
 
     private final Map<Long, Timeout> timeouts = new ConcurrentHashMap<>();
 
+    private final Map<Long, Device> pendingUpdates = new ConcurrentHashMap<>();
+
     @Inject
     public ConnectionManager(
             Config config, CacheManager cacheManager, Storage storage,
@@ -96,6 +101,7 @@ public class ConnectionManager implements BroadcastInterface {
         this.broadcastService = broadcastService;
         this.deviceLookupService = deviceLookupService;
         deviceTimeout = config.getLong(Keys.STATUS_TIMEOUT);
+        updateInterval = config.getLong(Keys.STATUS_UPDATE_INTERVAL);
         showUnknownDevices = config.getBoolean(Keys.WEB_SHOW_UNKNOWN_DEVICES);
         broadcastService.registerListener(this);
     }
@@ -180,10 +186,14 @@ public class ConnectionManager implements BroadcastInterface {
         try {
             device.setId(storage.addObject(device, new Request(new Columns.Exclude("id"))));
             LOGGER.info("Automatically registered " + uniqueId);
+            cacheManager.invalidateObject(true, Device.class, device.getId(), ObjectOperation.ADD);
             return device;
         } catch (StorageException e) {
             LOGGER.warn("Automatic registration failed", e);
             return null;
+        } catch (Exception e) {
+            LOGGER.warn("Automatic registration invalidation failed", e);
+            return device;
         }
     }
 
@@ -239,7 +249,8 @@ public class ConnectionManager implements BroadcastInterface {
         String oldStatus = device.getStatus();
         device.setStatus(status);
 
-        if (!status.equals(oldStatus)) {
+        boolean statusChanged = !status.equals(oldStatus);
+        if (statusChanged) {
             String eventType;
             Map<Event, Position> events = new HashMap<>();
             eventType = switch (status) {
@@ -268,66 +279,104 @@ public class ConnectionManager implements BroadcastInterface {
             }, deviceTimeout, TimeUnit.SECONDS));
         }
 
+        if (updateInterval > 0 && !statusChanged) {
+            pendingUpdates.put(deviceId, device);
+        } else {
+            pendingUpdates.remove(deviceId);
+            writeDeviceStatus(device);
+        }
+
+        updateDevice(true, device);
+    }
+
+    private void writeDeviceStatus(Device device) {
         try {
             storage.updateObject(device, new Request(
                     new Columns.Include("status", "lastUpdate"),
-                    new Condition.Equals("id", deviceId)));
+                    new Condition.Equals("id", device.getId())));
         } catch (StorageException e) {
             LOGGER.warn("Update device status error", e);
         }
-
-        updateDevice(true, device);
     }
 
-    public synchronized void sendKeepalive() {
-        for (Set<UpdateListener> userListeners : listeners.values()) {
-            for (UpdateListener listener : userListeners) {
-                listener.onKeepalive();
+    /**
+     * Write device status and last update time that were only updated in memory. Devices that failed to update are
+     * queued again for the next flush, unless a newer update is already pending.
+     */
+    public void flushDeviceUpdates() {
+        List<Device> devices = new ArrayList<>();
+        for (long deviceId : pendingUpdates.keySet()) {
+            Device device = pendingUpdates.remove(deviceId);
+            if (device != null) {
+                devices.add(device);
+            }
+        }
+        if (devices.isEmpty()) {
+            return;
+        }
+        try {
+            storage.updateObjects(devices, new Columns.Include("status", "lastUpdate"));
+        } catch (StorageException e) {
+            LOGGER.warn("Update device status error", e);
+            for (Device device : devices) {
+                pendingUpdates.putIfAbsent(device.getId(), device);
             }
         }
     }
 
+    public void sendKeepalive() {
+        List<UpdateListener> recipients;
+        synchronized (this) {
+            recipients = listeners.values().stream().flatMap(Set::stream).toList();
+        }
+        for (UpdateListener listener : recipients) {
+            listener.onKeepalive();
+        }
+    }
+
+    private synchronized List<UpdateListener> getDeviceListeners(long deviceId) {
+        List<UpdateListener> result = new ArrayList<>();
+        for (long userId : deviceUsers.getOrDefault(deviceId, Set.of())) {
+            result.addAll(listeners.getOrDefault(userId, Set.of()));
+        }
+        return result;
+    }
+
+    private synchronized List<UpdateListener> getUserListeners(long userId) {
+        return new ArrayList<>(listeners.getOrDefault(userId, Set.of()));
+    }
+
+    private void notifyListeners(List<UpdateListener> recipients, Update update) {
+        for (UpdateListener listener : recipients) {
+            listener.onUpdate(update);
+        }
+    }
+
     @Override
-    public synchronized void updateDevice(boolean local, Device device) {
+    public void updateDevice(boolean local, Device device) {
         if (local) {
             broadcastService.updateDevice(true, device);
         } else if (Device.STATUS_ONLINE.equals(device.getStatus())) {
             timeouts.remove(device.getId());
             removeDeviceSession(device.getId());
         }
-        for (long userId : deviceUsers.getOrDefault(device.getId(), Collections.emptySet())) {
-            if (listeners.containsKey(userId)) {
-                for (UpdateListener listener : listeners.get(userId)) {
-                    listener.onUpdateDevice(device);
-                }
-            }
-        }
+        notifyListeners(getDeviceListeners(device.getId()), new Update(Update.Type.DEVICE, device));
     }
 
     @Override
-    public synchronized void updatePosition(boolean local, Position position) {
+    public void updatePosition(boolean local, Position position) {
         if (local) {
             broadcastService.updatePosition(true, position);
         }
-        for (long userId : deviceUsers.getOrDefault(position.getDeviceId(), Collections.emptySet())) {
-            if (listeners.containsKey(userId)) {
-                for (UpdateListener listener : listeners.get(userId)) {
-                    listener.onUpdatePosition(position);
-                }
-            }
-        }
+        notifyListeners(getDeviceListeners(position.getDeviceId()), new Update(Update.Type.POSITION, position));
     }
 
     @Override
-    public synchronized void updateEvent(boolean local, long userId, Event event) {
+    public void updateEvent(boolean local, long userId, Event event) {
         if (local) {
             broadcastService.updateEvent(true, userId, event);
         }
-        if (listeners.containsKey(userId)) {
-            for (UpdateListener listener : listeners.get(userId)) {
-                listener.onUpdateEvent(event);
-            }
-        }
+        notifyListeners(getUserListeners(userId), new Update(Update.Type.EVENT, event));
     }
 
     @Override
@@ -336,39 +385,94 @@ public class ConnectionManager implements BroadcastInterface {
         if (link && clazz1.equals(User.class) && clazz2.equals(Device.class)) {
             if (listeners.containsKey(id1)) {
                 userDevices.get(id1).add(id2);
-                deviceUsers.put(id2, new HashSet<>(List.of(id1)));
+                deviceUsers.computeIfAbsent(id2, id -> new HashSet<>()).add(id1);
             }
         }
     }
 
-    public synchronized void updateLog(LogRecord record) {
-        var sessions = sessionsByEndpoint.getOrDefault(record.getConnectionKey(), Map.of());
-        if (sessions.isEmpty()) {
-            String unknownUniqueId = unknownByEndpoint.get(record.getConnectionKey());
-            if (unknownUniqueId != null && showUnknownDevices) {
-                record.setUniqueId(unknownUniqueId);
-                listeners.values().stream()
-                        .flatMap(Set::stream)
-                        .forEach((listener) -> listener.onUpdateLog(record));
+    public void updateLog(LogRecord record) {
+        List<UpdateListener> recipients;
+        synchronized (this) {
+            var sessions = sessionsByEndpoint.getOrDefault(record.getConnectionKey(), Map.of());
+            if (sessions.isEmpty()) {
+                String unknownUniqueId = unknownByEndpoint.get(record.getConnectionKey());
+                if (unknownUniqueId != null && showUnknownDevices) {
+                    record.setUniqueId(unknownUniqueId);
+                    recipients = listeners.values().stream().flatMap(Set::stream).toList();
+                } else {
+                    recipients = List.of();
+                }
+            } else {
+                var firstEntry = sessions.entrySet().iterator().next();
+                record.setUniqueId(firstEntry.getKey());
+                record.setDeviceId(firstEntry.getValue().getDeviceId());
+                recipients = getDeviceListeners(record.getDeviceId());
             }
-        } else {
-            var firstEntry = sessions.entrySet().iterator().next();
-            record.setUniqueId(firstEntry.getKey());
-            record.setDeviceId(firstEntry.getValue().getDeviceId());
-            for (long userId : deviceUsers.getOrDefault(record.getDeviceId(), Set.of())) {
-                for (UpdateListener listener : listeners.getOrDefault(userId, Set.of())) {
-                    listener.onUpdateLog(record);
+        }
+        if (!recipients.isEmpty()) {
+            notifyListeners(recipients, new Update(Update.Type.LOG, record));
+        }
+    }
+
+    /**
+     * Live update shared by all recipients. The encoded form is computed by the first listener that requests it, so
+     * an update is serialized once regardless of the number of recipients.
+     */
+    public static final class Update {
+
+        public enum Type {
+            DEVICE,
+            POSITION,
+            EVENT,
+            LOG
+        }
+
+        private static final Object NOT_ENCODED = new Object();
+
+        private final Type type;
+        private final Object value;
+        private volatile Object encoded;
+
+        public Update(Type type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * Encode the update once and share the result between all listeners. A null result is kept as well, so a
+         * failed encoding is not repeated for every listener.
+         */
+        @SuppressWarnings("unchecked")
+        public <E> E getEncoded(Function<Update, E> encoder) {
+            Object result = encoded;
+            if (result == null) {
+                synchronized (this) {
+                    result = encoded;
+                    if (result == null) {
+                        result = Objects.requireNonNullElse(encoder.apply(this), NOT_ENCODED);
+                        encoded = result;
+                    }
                 }
             }
+            return result != NOT_ENCODED ? (E) result : null;
         }
+
     }
 
+    /**
+     * Listener methods are called outside of the connection manager lock and must not block.
+     */
     public interface UpdateListener {
         void onKeepalive();
-        void onUpdateDevice(Device device);
-        void onUpdatePosition(Position position);
-        void onUpdateEvent(Event event);
-        void onUpdateLog(LogRecord record);
+        void onUpdate(Update update);
     }
 
     public synchronized void addListener(long userId, UpdateListener listener) throws StorageException {
@@ -17,7 +17,11 @@ package org.traccar.session.cache;
 
 import org.traccar.helper.ConcurrentWeakValueMap;
 import org.traccar.model.BaseModel;
+import org.traccar.model.Geofence;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -41,6 +45,9 @@ public class CacheGraph {
         CacheNode node = nodes.remove(key);
         if (node != null) {
             node.getAllLinks(true).forEach(child -> child.getLinks(key.clazz(), false).remove(node));
+            if (clazz.equals(Geofence.class)) {
+                node.getAllLinks(false).forEach(CacheNode::invalidateGeofenceIndex);
+            }
         }
         roots.remove(key);
     }
@@ -81,10 +88,41 @@ public class CacheGraph {
         return Stream.concat(directSteam, proxyStream);
     }
 
+    List<Geofence> getGeofences(
+            Class<? extends BaseModel> fromClass, long fromId,
+            Set<Class<? extends BaseModel>> proxies, double latitude, double longitude) {
+
+        CacheNode rootNode = nodes.get(new CacheKey(fromClass, fromId));
+        if (rootNode != null) {
+            Map<Long, Geofence> result = new LinkedHashMap<>();
+            collectGeofences(rootNode, proxies, latitude, longitude, result);
+            return new ArrayList<>(result.values());
+        } else {
+            return List.of();
+        }
+    }
+
+    private void collectGeofences(
+            CacheNode rootNode, Set<Class<? extends BaseModel>> proxies,
+            double latitude, double longitude, Map<Long, Geofence> result) {
+
+        for (Geofence geofence : rootNode.getGeofenceIndex().getGeofences(latitude, longitude)) {
+            result.putIfAbsent(geofence.getId(), geofence);
+        }
+        for (Class<? extends BaseModel> proxyClass : proxies) {
+            for (CacheNode node : rootNode.getLinks(proxyClass, true)) {
+                collectGeofences(node, proxies, latitude, longitude, result);
+            }
+        }
+    }
+
     void updateObject(BaseModel value) {
         CacheNode node = nodes.get(new CacheKey(value));
         if (node != null) {
             node.setValue(value);
+            if (value instanceof Geofence) {
+                node.getAllLinks(false).forEach(CacheNode::invalidateGeofenceIndex);
+            }
         }
     }
 
@@ -104,6 +142,9 @@ public class CacheGraph {
             }
             fromNode.getLinks(toClazz, true).add(toNode);
             toNode.getLinks(fromClazz, false).add(fromNode);
+            if (toClazz.equals(Geofence.class)) {
+                fromNode.invalidateGeofenceIndex();
+            }
         }
         return stop;
     }
@@ -117,6 +158,9 @@ public class CacheGraph {
             if (toNode != null) {
                 fromNode.getLinks(toClazz, true).remove(toNode);
                 toNode.getLinks(fromClazz, false).remove(fromNode);
+                if (toClazz.equals(Geofence.class)) {
+                    fromNode.invalidateGeofenceIndex();
+                }
             }
         }
     }
@@ -22,6 +22,8 @@ import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.model.AttributeUtil;
 import org.traccar.model.Attribute;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Calendar;
@@ -44,10 +46,15 @@ import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -59,6 +66,8 @@ public class CacheManager implements BroadcastInterface {
     private static final Set<Class<? extends BaseModel>> GROUPED_CLASSES =
             Set.of(Attribute.class, Driver.class, Geofence.class, Maintenance.class, Notification.class);
 
+    private static final int BATCH_SIZE = 1000;
+
     private final Config config;
     private final Storage storage;
     private final BroadcastService broadcastService;
@@ -69,6 +78,11 @@ public class CacheManager implements BroadcastInterface {
     private final Map<Long, Position> devicePositions = new ConcurrentHashMap<>();
     private final Map<Long, HashSet<Object>> deviceReferences = new ConcurrentHashMap<>();
 
+    private final Set<BroadcastInterface> listeners = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, DeviceAttributes> deviceAttributes = new ConcurrentHashMap<>();
+    private final AtomicLong attributesVersion = new AtomicLong();
+
     @Inject
     public CacheManager(Config config, Storage storage, BroadcastService broadcastService) throws StorageException {
         this.config = config;
@@ -76,6 +90,24 @@ public class CacheManager implements BroadcastInterface {
         this.broadcastService = broadcastService;
         server = storage.getObject(Server.class, new Request(new Columns.All()));
         broadcastService.registerListener(this);
+        if (config.getBoolean(Keys.DATABASE_PRELOAD_DEVICES)) {
+            preloadDevices();
+        }
+    }
+
+    private void preloadDevices() throws StorageException {
+        List<Long> deviceIds;
+        try (var devices = storage.getObjectsStream(Device.class, new Request(new Columns.Include("id")))) {
+            deviceIds = devices.map(BaseModel::getId).toList();
+        }
+        try {
+            for (int i = 0; i < deviceIds.size(); i += BATCH_SIZE) {
+                addDevices(deviceIds.subList(i, Math.min(i + BATCH_SIZE, deviceIds.size())), this);
+            }
+        } catch (Exception e) {
+            throw new StorageException(e);
+        }
+        LOGGER.info("Preloaded {} devices", deviceIds.size());
     }
 
     @Override
@@ -83,6 +115,13 @@ public class CacheManager implements BroadcastInterface {
         return graph.toString();
     }
 
+    /**
+     * Register listener notified about object and permission invalidations after the cache has been updated.
+     */
+    public void addListener(BroadcastInterface listener) {
+        listeners.add(listener);
+    }
+
     public Config getConfig() {
         return config;
     }
@@ -96,6 +135,30 @@ public class CacheManager implements BroadcastInterface {
                 .collect(Collectors.toUnmodifiableSet());
     }
 
+    /**
+     * Geofences linked to the device directly or through groups that contain the given point.
+     */
+    public List<Geofence> getDeviceGeofences(long deviceId, double latitude, double longitude) {
+        return graph.getGeofences(Device.class, deviceId, Set.of(Group.class), latitude, longitude);
+    }
+
+    /**
+     * Resolved attribute snapshot for a cached device or null if the device is not cached.
+     */
+    public DeviceAttributes getDeviceAttributes(long deviceId) {
+        Device device = getObject(Device.class, deviceId);
+        if (device == null) {
+            return null;
+        }
+        long version = attributesVersion.get();
+        DeviceAttributes attributes = deviceAttributes.get(deviceId);
+        if (attributes == null || !attributes.isValid(device, version)) {
+            attributes = new DeviceAttributes(new AttributeUtil.CacheProvider(this, deviceId), device, version);
+            deviceAttributes.put(deviceId, attributes);
+        }
+        return attributes;
+    }
+
     public Position getPosition(long deviceId) {
         return devicePositions.get(deviceId);
     }
@@ -139,6 +202,66 @@ public class CacheManager implements BroadcastInterface {
         LOGGER.debug("Cache add device {} references {} key {}", deviceId, references.size(), key);
     }
 
+    /**
+     * Add multiple devices to the cache. Devices, their user and grouped links and latest positions are preloaded with
+     * a fixed number of queries for the whole batch. Linked objects that are not cached yet, like groups, users,
+     * geofences and calendars, are still loaded with separate queries for each object.
+     */
+    public synchronized void addDevices(Collection<Long> deviceIds, Object key) throws Exception {
+        List<Long> newDeviceIds = deviceIds.stream()
+                .filter(deviceId -> {
+                    var references = deviceReferences.get(deviceId);
+                    return references == null || references.isEmpty();
+                })
+                .toList();
+
+        if (!newDeviceIds.isEmpty()) {
+            var devices = storage.getObjects(Device.class, new Request(
+                    new Columns.All(), new Condition.In("id", newDeviceIds)));
+
+            Map<Long, List<Permission>> userPermissions = storage.getPermissions(
+                    User.class, null, Device.class, newDeviceIds).stream()
+                    .collect(Collectors.groupingBy(Permission::getPropertyId));
+            Map<Class<? extends BaseModel>, Map<Long, List<Permission>>> groupedPermissions = new HashMap<>();
+            for (Class<? extends BaseModel> clazz : GROUPED_CLASSES) {
+                groupedPermissions.put(clazz, storage.getPermissions(
+                        Device.class, newDeviceIds, clazz, null).stream()
+                        .collect(Collectors.groupingBy(Permission::getOwnerId)));
+            }
+
+            List<Long> positionIds = new ArrayList<>();
+            for (Device device : devices) {
+                graph.addObject(device);
+                Map<Class<? extends BaseModel>, List<Permission>> devicePermissions = new HashMap<>();
+                groupedPermissions.forEach((clazz, permissions) -> devicePermissions.put(
+                        clazz, permissions.getOrDefault(device.getId(), List.of())));
+                initializeCache(device, userPermissions.getOrDefault(device.getId(), List.of()), devicePermissions);
+                if (device.getPositionId() > 0) {
+                    positionIds.add(device.getPositionId());
+                }
+            }
+
+            if (!positionIds.isEmpty()) {
+                for (Position position : storage.getObjects(Position.class, new Request(
+                        new Columns.All(), new Condition.In("id", positionIds)))) {
+                    devicePositions.put(position.getDeviceId(), position);
+                }
+            }
+
+            for (Device device : devices) {
+                deviceReferences.computeIfAbsent(device.getId(), k -> new HashSet<>()).add(key);
+            }
+        }
+
+        for (long deviceId : deviceIds) {
+            var references = deviceReferences.get(deviceId);
+            if (references != null) {
+                references.add(key);
+            }
+        }
+        LOGGER.debug("Cache add {} devices, {} loaded, key {}", deviceIds.size(), newDeviceIds.size(), key);
+    }
+
     public synchronized void removeDevice(long deviceId, Object key) {
         var references = deviceReferences.computeIfAbsent(deviceId, k -> new HashSet<>());
         references.remove(key);
@@ -146,6 +269,7 @@ public class CacheManager implements BroadcastInterface {
             graph.removeObject(Device.class, deviceId);
             devicePositions.remove(deviceId);
             deviceReferences.remove(deviceId);
+            deviceAttributes.remove(deviceId);
         }
         LOGGER.debug("Cache remove device {} references {} key {}", deviceId, references.size(), key);
     }
@@ -165,55 +289,68 @@ public class CacheManager implements BroadcastInterface {
         }
 
         synchronized (this) {
-            if (operation == ObjectOperation.DELETE) {
-                graph.removeObject(clazz, id);
-            }
-            if (operation != ObjectOperation.UPDATE) {
-                return;
-            }
+            updateObject(clazz, id, operation);
+        }
 
-            if (clazz.equals(Server.class)) {
-                server = storage.getObject(Server.class, new Request(new Columns.All()));
-                return;
-            }
+        if (clazz.equals(Group.class) || clazz.equals(Server.class)) {
+            attributesVersion.incrementAndGet();
+        }
 
-            var after = storage.getObject(clazz, new Request(
-                    new Columns.All(), new Condition.Equals("id", id)));
-            if (after == null) {
-                return;
-            }
-            var before = getObject(after.getClass(), after.getId());
-            if (before == null) {
-                return;
-            }
+        for (BroadcastInterface listener : listeners) {
+            listener.invalidateObject(local, clazz, id, operation);
+        }
+    }
+
+    private <T extends BaseModel> void updateObject(
+            Class<T> clazz, long id, ObjectOperation operation) throws Exception {
+        if (operation == ObjectOperation.DELETE) {
+            graph.removeObject(clazz, id);
+        }
+        if (operation != ObjectOperation.UPDATE) {
+            return;
+        }
 
-            if (after instanceof GroupedModel) {
-                long beforeGroupId = ((GroupedModel) before).getGroupId();
-                long afterGroupId = ((GroupedModel) after).getGroupId();
-                if (beforeGroupId != afterGroupId) {
-                    if (beforeGroupId > 0) {
-                        invalidatePermission(clazz, id, Group.class, beforeGroupId, false);
-                    }
-                    if (afterGroupId > 0) {
-                        invalidatePermission(clazz, id, Group.class, afterGroupId, true);
-                    }
+        if (clazz.equals(Server.class)) {
+            server = storage.getObject(Server.class, new Request(new Columns.All()));
+            return;
+        }
+
+        var after = storage.getObject(clazz, new Request(
+                new Columns.All(), new Condition.Equals("id", id)));
+        if (after == null) {
+            return;
+        }
+        var before = getObject(after.getClass(), after.getId());
+        if (before == null) {
+            return;
+        }
+
+        if (after instanceof GroupedModel) {
+            long beforeGroupId = ((GroupedModel) before).getGroupId();
+            long afterGroupId = ((GroupedModel) after).getGroupId();
+            if (beforeGroupId != afterGroupId) {
+                if (beforeGroupId > 0) {
+                    invalidatePermission(clazz, id, Group.class, beforeGroupId, false);
                 }
-            } else if (after instanceof Schedulable) {
-                long beforeCalendarId = ((Schedulable) before).getCalendarId();
-                long afterCalendarId = ((Schedulable) after).getCalendarId();
-                if (beforeCalendarId != afterCalendarId) {
-                    if (beforeCalendarId > 0) {
-                        invalidatePermission(clazz, id, Calendar.class, beforeCalendarId, false);
-                    }
-                    if (afterCalendarId > 0) {
-                        invalidatePermission(clazz, id, Calendar.class, afterCalendarId, true);
-                    }
+                if (afterGroupId > 0) {
+                    invalidatePermission(clazz, id, Group.class, afterGroupId, true);
                 }
-                // TODO handle notification always change
             }
-
-            graph.updateObject(after);
+        } else if (after instanceof Schedulable) {
+            long beforeCalendarId = ((Schedulable) before).getCalendarId();
+            long afterCalendarId = ((Schedulable) after).getCalendarId();
+            if (beforeCalendarId != afterCalendarId) {
+                if (beforeCalendarId > 0) {
+                    invalidatePermission(clazz, id, Calendar.class, beforeCalendarId, false);
+                }
+                if (afterCalendarId > 0) {
+                    invalidatePermission(clazz, id, Calendar.class, afterCalendarId, true);
+                }
+            }
+            // TODO handle notification always change
         }
+
+        graph.updateObject(after);
     }
 
     @Override
@@ -230,6 +367,10 @@ public class CacheManager implements BroadcastInterface {
                 invalidatePermission(clazz1, id1, clazz2, id2, link);
             }
         }
+
+        for (BroadcastInterface listener : listeners) {
+            listener.invalidatePermission(local, clazz1, id1, clazz2, id2, link);
+        }
     }
 
     private <T1 extends BaseModel, T2 extends BaseModel> void invalidatePermission(
@@ -257,44 +398,52 @@ public class CacheManager implements BroadcastInterface {
 
     private void initializeCache(BaseModel object) throws Exception {
         if (object instanceof User) {
-            for (Permission permission : storage.getPermissions(User.class, Notification.class)) {
-                if (permission.getOwnerId() == object.getId()) {
-                    invalidatePermission(
-                            permission.getOwnerClass(), permission.getOwnerId(),
-                            permission.getPropertyClass(), permission.getPropertyId(), true);
-                }
+            for (Permission permission : storage.getPermissions(User.class, object.getId(), Notification.class, 0)) {
+                invalidatePermission(
+                        permission.getOwnerClass(), permission.getOwnerId(),
+                        permission.getPropertyClass(), permission.getPropertyId(), true);
             }
         } else {
-            if (object instanceof GroupedModel groupedModel) {
-                long groupId = groupedModel.getGroupId();
-                if (groupId > 0) {
-                    invalidatePermission(object.getClass(), object.getId(), Group.class, groupId, true);
+            List<Permission> userPermissions = List.of();
+            Map<Class<? extends BaseModel>, List<Permission>> groupedPermissions = new HashMap<>();
+            if (object instanceof GroupedModel) {
+                userPermissions = storage.getPermissions(User.class, 0, object.getClass(), object.getId());
+                for (Class<? extends BaseModel> clazz : GROUPED_CLASSES) {
+                    groupedPermissions.put(clazz, storage.getPermissions(object.getClass(), object.getId(), clazz, 0));
                 }
+            }
+            initializeCache(object, userPermissions, groupedPermissions);
+        }
+    }
 
-                for (Permission permission : storage.getPermissions(User.class, object.getClass())) {
-                    if (permission.getPropertyId() == object.getId()) {
-                        invalidatePermission(
-                                object.getClass(), object.getId(), User.class, permission.getOwnerId(), true);
-                    }
-                }
+    private void initializeCache(
+            BaseModel object, List<Permission> userPermissions,
+            Map<Class<? extends BaseModel>, List<Permission>> groupedPermissions) throws Exception {
+        if (object instanceof GroupedModel groupedModel) {
+            long groupId = groupedModel.getGroupId();
+            if (groupId > 0) {
+                invalidatePermission(object.getClass(), object.getId(), Group.class, groupId, true);
+            }
 
-                for (Class<? extends BaseModel> clazz : GROUPED_CLASSES) {
-                    for (Permission permission : storage.getPermissions(object.getClass(), clazz)) {
-                        if (permission.getOwnerId() == object.getId()) {
-                            invalidatePermission(
-                                    object.getClass(), object.getId(), clazz, permission.getPropertyId(), true);
-                        }
-                    }
-                }
+            for (Permission permission : userPermissions) {
+                invalidatePermission(
+                        object.getClass(), object.getId(), User.class, permission.getOwnerId(), true);
             }
 
-            if (object instanceof Schedulable schedulable) {
-                long calendarId = schedulable.getCalendarId();
-                if (calendarId > 0) {
-                    invalidatePermission(object.getClass(), object.getId(), Calendar.class, calendarId, true);
+            for (var entry : groupedPermissions.entrySet()) {
+                for (Permission permission : entry.getValue()) {
+                    invalidatePermission(
+                            object.getClass(), object.getId(), entry.getKey(), permission.getPropertyId(), true);
                 }
             }
         }
+
+        if (object instanceof Schedulable schedulable) {
+            long calendarId = schedulable.getCalendarId();
+            if (calendarId > 0) {
+                invalidatePermission(object.getClass(), object.getId(), Calendar.class, calendarId, true);
+            }
+        }
     }
 
     private <T> Supplier<T> createObjectSupplier(Class<T> clazz, long id) {
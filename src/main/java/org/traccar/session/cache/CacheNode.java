@@ -1,6 +1,8 @@
 package org.traccar.session.cache;
 
+import org.traccar.geofence.GeofenceIndex;
 import org.traccar.model.BaseModel;
+import org.traccar.model.Geofence;
 
 import java.util.HashSet;
 import java.util.Map;
@@ -15,6 +17,9 @@ public class CacheNode {
     private final Map<Class<? extends BaseModel>, Set<CacheNode>> links = new ConcurrentHashMap<>();
     private final Map<Class<? extends BaseModel>, Set<CacheNode>> backlinks = new ConcurrentHashMap<>();
 
+    private volatile GeofenceIndex geofenceIndex;
+    private long geofenceVersion;
+
     public CacheNode(BaseModel value) {
         this.value = value;
     }
@@ -37,4 +42,28 @@ public class CacheNode {
         return map.values().stream().flatMap(Set::stream);
     }
 
+    public GeofenceIndex getGeofenceIndex() {
+        GeofenceIndex index = geofenceIndex;
+        if (index == null) {
+            long version;
+            synchronized (this) {
+                version = geofenceVersion;
+            }
+            index = new GeofenceIndex(getLinks(Geofence.class, true).stream()
+                    .map(node -> (Geofence) node.getValue())
+                    .toList());
+            synchronized (this) {
+                if (version == geofenceVersion) {
+                    geofenceIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    public synchronized void invalidateGeofenceIndex() {
+        geofenceVersion += 1;
+        geofenceIndex = null;
+    }
+
 }
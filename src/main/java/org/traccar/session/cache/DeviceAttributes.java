@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.session.cache;
+
+import org.traccar.config.ConfigKey;
+import org.traccar.config.KeyType;
+import org.traccar.helper.model.AttributeUtil;
+import org.traccar.model.Device;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typed configuration values resolved for a device through its group chain, server and config. Values are resolved
+ * once per key and stay valid until the device object is replaced or any group or server changes.
+ */
+public final class DeviceAttributes {
+
+    private static final Object MISSING = new Object();
+
+    private record Key(String key, Class<?> valueClass, boolean server, boolean config) {
+    }
+
+    private final AttributeUtil.Provider provider;
+    private final Device device;
+    private final long version;
+
+    private final Map<Key, Object> values = new ConcurrentHashMap<>();
+
+    DeviceAttributes(AttributeUtil.Provider provider, Device device, long version) {
+        this.provider = provider;
+        this.device = device;
+        this.version = version;
+    }
+
+    boolean isValid(Device device, long version) {
+        return this.device == device && this.version == version;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ConfigKey<T> key) {
+        Object value = values.computeIfAbsent(
+                new Key(key.getKey(), key.getValueClass(), key.hasType(KeyType.SERVER), key.hasType(KeyType.CONFIG)),
+                k -> {
+                    Object result = AttributeUtil.resolve(provider, key);
+                    return result != null ? result : MISSING;
+                });
+        return value != MISSING ? (T) value : key.getDefaultValue();
+    }
+
+}
@@ -77,6 +77,22 @@ public class DatabaseModule extends AbstractModule {
             hikariConfig.setMaximumPoolSize(maxPoolSize);
         }
 
+        int statementCacheSize = config.getInteger(Keys.DATABASE_STATEMENT_CACHE_SIZE);
+        if (statementCacheSize > 0) {
+            String url = hikariConfig.getJdbcUrl();
+            if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+                hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
+                hikariConfig.addDataSourceProperty("useServerPrepStmts", "true");
+                hikariConfig.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+                hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "8192");
+            } else if (url.startsWith("jdbc:postgresql:")) {
+                hikariConfig.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(statementCacheSize));
+            } else if (url.startsWith("jdbc:sqlserver:")) {
+                hikariConfig.addDataSourceProperty("disableStatementPooling", "false");
+                hikariConfig.addDataSourceProperty("statementPoolingCacheSize", String.valueOf(statementCacheSize));
+            }
+        }
+
         DataSource dataSource = new HikariDataSource(hikariConfig);
 
         String changelog = config.getString(Keys.DATABASE_CHANGELOG);
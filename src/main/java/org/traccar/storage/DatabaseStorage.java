@@ -29,21 +29,38 @@ import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class DatabaseStorage extends Storage {
 
+    private static final int QUERY_CACHE_LIMIT = 10000;
+
     private final Config config;
     private final DataSource dataSource;
     private final ObjectMapper objectMapper;
     private final String databaseType;
 
+    /**
+     * Query text by operation, class, columns and shape of the condition. Values are always passed as parameters, so
+     * the same text is reused for any values.
+     */
+    private final Map<List<Object>, String> queries = new ConcurrentHashMap<>();
+
+    private interface QueryFormatter {
+        String format() throws StorageException;
+    }
+
     @Inject
     public DatabaseStorage(Config config, DataSource dataSource, ObjectMapper objectMapper) {
         this.config = config;
@@ -66,17 +83,20 @@ public class DatabaseStorage extends Storage {
 
     @Override
     public <T> Stream<T> getObjectsStream(Class<T> clazz, Request request) throws StorageException {
-        StringBuilder query = new StringBuilder("SELECT ");
-        if (request.getColumns() instanceof Columns.All) {
-            query.append('*');
-        } else {
-            query.append(formatColumns(request.getColumns().getColumns(clazz, "set"), c -> c));
-        }
-        query.append(" FROM ").append(getStorageName(clazz));
-        query.append(formatCondition(request.getCondition()));
-        query.append(formatOrder(request.getOrder()));
+        List<String> columns = request.getColumns() instanceof Columns.All
+                ? List.of("*") : request.getColumns().getColumns(clazz, "set");
+        String query = getQuery(List.of(
+                "SELECT", clazz, columns, getConditionShape(request.getCondition()), getOrderShape(request.getOrder())),
+                () -> {
+                    StringBuilder result = new StringBuilder("SELECT ");
+                    result.append(formatColumns(columns, c -> c));
+                    result.append(" FROM ").append(getStorageName(clazz));
+                    result.append(formatCondition(request.getCondition()));
+                    result.append(formatOrder(request.getOrder()));
+                    return result.toString();
+                });
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query);
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(index, values.get(index));
@@ -90,15 +110,9 @@ public class DatabaseStorage extends Storage {
     @Override
     public <T> long addObject(T entity, Request request) throws StorageException {
         List<String> columns = request.getColumns().getColumns(entity.getClass(), "get");
-        StringBuilder query = new StringBuilder("INSERT INTO ");
-        query.append(getStorageName(entity.getClass()));
-        query.append("(");
-        query.append(formatColumns(columns, c -> c));
-        query.append(") VALUES (");
-        query.append(formatColumns(columns, c -> "?"));
-        query.append(")");
+        String query = getInsertQuery(entity.getClass(), columns);
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString(), true);
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query, true);
             builder.setObject(entity, columns);
             return builder.executeUpdate();
         } catch (SQLException e) {
@@ -106,16 +120,32 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    @Override
+    public <T> List<Long> addObjects(List<T> entities, Request request) throws StorageException {
+        if (entities.size() <= 1 || databaseType.equals("Microsoft SQL Server")) {
+            return super.addObjects(entities, request); // batch generated keys are not supported
+        }
+        Class<?> clazz = entities.get(0).getClass();
+        List<String> columns = request.getColumns().getColumns(clazz, "get");
+        String query = getInsertQuery(clazz, columns);
+        try {
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query, true);
+            for (T entity : entities) {
+                builder.setObject(entity, columns);
+                builder.addBatch();
+            }
+            return builder.executeBatch();
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public <T> void updateObject(T entity, Request request) throws StorageException {
         List<String> columns = request.getColumns().getColumns(entity.getClass(), "get");
-        StringBuilder query = new StringBuilder("UPDATE ");
-        query.append(getStorageName(entity.getClass()));
-        query.append(" SET ");
-        query.append(formatColumns(columns, c -> c + " = ?"));
-        query.append(formatCondition(request.getCondition()));
+        String query = getUpdateQuery(entity.getClass(), columns, request.getCondition());
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query);
             builder.setObject(entity, columns);
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
@@ -127,13 +157,35 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    @Override
+    public <T extends BaseModel> void updateObjects(List<T> entities, Columns columns) throws StorageException {
+        if (entities.size() <= 1) {
+            super.updateObjects(entities, columns);
+            return;
+        }
+        Class<?> clazz = entities.get(0).getClass();
+        List<String> columnNames = columns.getColumns(clazz, "get");
+        String query = getUpdateQuery(clazz, columnNames, new Condition.Equals("id", 0));
+        try {
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query);
+            for (T entity : entities) {
+                builder.setObject(entity, columnNames);
+                builder.setLong(columnNames.size(), entity.getId());
+                builder.addBatch();
+            }
+            builder.executeBatch();
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public void removeObject(Class<?> clazz, Request request) throws StorageException {
-        StringBuilder query = new StringBuilder("DELETE FROM ");
-        query.append(getStorageName(clazz));
-        query.append(formatCondition(request.getCondition()));
+        String query = getQuery(
+                List.of("DELETE", clazz, getConditionShape(request.getCondition())),
+                () -> "DELETE FROM " + getStorageName(clazz) + formatCondition(request.getCondition()));
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query);
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(index, values.get(index));
@@ -148,8 +200,6 @@ public class DatabaseStorage extends Storage {
     public List<Permission> getPermissions(
             Class<? extends BaseModel> ownerClass, long ownerId,
             Class<? extends BaseModel> propertyClass, long propertyId) throws StorageException {
-        StringBuilder query = new StringBuilder("SELECT * FROM ");
-        query.append(Permission.getStorageName(ownerClass, propertyClass));
         var conditions = new LinkedList<Condition>();
         if (ownerId > 0) {
             conditions.add(new Condition.Equals(Permission.getKey(ownerClass), ownerId));
@@ -157,10 +207,32 @@ public class DatabaseStorage extends Storage {
         if (propertyId > 0) {
             conditions.add(new Condition.Equals(Permission.getKey(propertyClass), propertyId));
         }
-        Condition combinedCondition = Condition.merge(conditions);
-        query.append(formatCondition(combinedCondition));
+        return getPermissions(ownerClass, propertyClass, Condition.merge(conditions));
+    }
+
+    @Override
+    public List<Permission> getPermissions(
+            Class<? extends BaseModel> ownerClass, Collection<Long> ownerIds,
+            Class<? extends BaseModel> propertyClass, Collection<Long> propertyIds) throws StorageException {
+        var conditions = new LinkedList<Condition>();
+        if (ownerIds != null) {
+            conditions.add(new Condition.In(Permission.getKey(ownerClass), ownerIds));
+        }
+        if (propertyIds != null) {
+            conditions.add(new Condition.In(Permission.getKey(propertyClass), propertyIds));
+        }
+        return getPermissions(ownerClass, propertyClass, Condition.merge(conditions));
+    }
+
+    private List<Permission> getPermissions(
+            Class<? extends BaseModel> ownerClass, Class<? extends BaseModel> propertyClass,
+            Condition combinedCondition) throws StorageException {
+        String query = getQuery(
+                List.of("PERMISSIONS", ownerClass, propertyClass, getConditionShape(combinedCondition)),
+                () -> "SELECT * FROM " + Permission.getStorageName(ownerClass, propertyClass)
+                        + formatCondition(combinedCondition));
         try {
-            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query);
             List<Object> values = getConditionVariables(combinedCondition);
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(index, values.get(index));
@@ -190,6 +262,51 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    @Override
+    public void addPermissions(List<Permission> permissions) throws StorageException {
+        executePermissionsBatch(permissions, "INSERT INTO %s (%s, %s) VALUES (?, ?)");
+    }
+
+    @Override
+    public void removePermissions(List<Permission> permissions) throws StorageException {
+        executePermissionsBatch(permissions, "DELETE FROM %s WHERE %s = ? AND %s = ?");
+    }
+
+    /**
+     * Execute permission changes grouped by class pair, all in one transaction on a single connection.
+     */
+    private void executePermissionsBatch(List<Permission> permissions, String format) throws StorageException {
+        var groups = permissions.stream().collect(Collectors.groupingBy(
+                permission -> List.of(permission.getOwnerClass(), permission.getPropertyClass())));
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (List<Permission> group : groups.values()) {
+                    Permission first = group.get(0);
+                    String query = String.format(format, first.getStorageName(),
+                            Permission.getKey(first.getOwnerClass()), Permission.getKey(first.getPropertyClass()));
+                    try (PreparedStatement statement = connection.prepareStatement(query)) {
+                        for (Permission permission : group) {
+                            statement.setLong(1, permission.getOwnerId());
+                            statement.setLong(2, permission.getPropertyId());
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public void removePermission(Permission permission) throws StorageException {
         var entries = permission.get().entrySet().stream().toList();
@@ -208,6 +325,60 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    private String getQuery(List<Object> key, QueryFormatter formatter) throws StorageException {
+        String query = queries.get(key);
+        if (query == null) {
+            query = formatter.format();
+            if (queries.size() >= QUERY_CACHE_LIMIT) {
+                queries.clear();
+            }
+            queries.put(key, query);
+        }
+        return query;
+    }
+
+    private String getInsertQuery(Class<?> clazz, List<String> columns) throws StorageException {
+        return getQuery(List.of("INSERT", clazz, columns), () -> "INSERT INTO " + getStorageName(clazz)
+                + "(" + formatColumns(columns, c -> c) + ") VALUES (" + formatColumns(columns, c -> "?") + ")");
+    }
+
+    private String getUpdateQuery(Class<?> clazz, List<String> columns, Condition condition) throws StorageException {
+        return getQuery(List.of("UPDATE", clazz, columns, getConditionShape(condition)), () -> "UPDATE "
+                + getStorageName(clazz) + " SET " + formatColumns(columns, c -> c + " = ?")
+                + formatCondition(condition));
+    }
+
+    /**
+     * Everything that affects the query text, but not the parameter values.
+     */
+    private Object getConditionShape(Condition genericCondition) {
+        if (genericCondition instanceof Condition.Compare condition) {
+            return List.of(condition.getColumn(), condition.getOperator());
+        } else if (genericCondition instanceof Condition.Between condition) {
+            return List.of(condition.getColumn(), "BETWEEN");
+        } else if (genericCondition instanceof Condition.In condition) {
+            return List.of(condition.getColumn(), "IN", condition.getValues().size());
+        } else if (genericCondition instanceof Condition.Binary condition) {
+            return List.of(
+                    condition.getOperator(),
+                    getConditionShape(condition.getFirst()), getConditionShape(condition.getSecond()));
+        } else if (genericCondition instanceof Condition.Permission condition) {
+            return List.of(
+                    condition.getOwnerClass(), condition.getOwnerId() > 0,
+                    condition.getPropertyClass(), condition.getIncludeGroups());
+        } else if (genericCondition instanceof Condition.LatestPositions condition) {
+            return List.of("LATEST", condition.getDeviceId() > 0);
+        }
+        return "";
+    }
+
+    private Object getOrderShape(Order order) {
+        if (order != null) {
+            return List.of(order.getColumn(), order.getDescending(), order.getLimit());
+        }
+        return "";
+    }
+
     private String getStorageName(Class<?> clazz) throws StorageException {
         StorageName storageName = clazz.getAnnotation(StorageName.class);
         if (storageName == null) {
@@ -223,6 +394,8 @@ public class DatabaseStorage extends Storage {
         } else if (genericCondition instanceof Condition.Between condition) {
             results.add(condition.getFromValue());
             results.add(condition.getToValue());
+        } else if (genericCondition instanceof Condition.In condition) {
+            results.addAll(condition.getValues());
         } else if (genericCondition instanceof Condition.Binary condition) {
             results.addAll(getConditionVariables(condition.getFirst()));
             results.addAll(getConditionVariables(condition.getSecond()));
@@ -266,6 +439,17 @@ public class DatabaseStorage extends Storage {
                 result.append(condition.getColumn());
                 result.append(" BETWEEN ? AND ?");
 
+            } else if (genericCondition instanceof Condition.In condition) {
+
+                if (condition.getValues().isEmpty()) {
+                    result.append("1 = 0");
+                } else {
+                    result.append(condition.getColumn());
+                    result.append(" IN (");
+                    result.append(condition.getValues().stream().map(v -> "?").collect(Collectors.joining(", ")));
+                    result.append(")");
+                }
+
             } else if (genericCondition instanceof Condition.Binary condition) {
 
                 if (genericCondition instanceof Condition.Or) {
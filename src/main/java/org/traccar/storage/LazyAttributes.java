@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Attributes loaded from the database. The JSON text is only parsed when the map is first accessed, so rows that are
+ * read without looking at attributes skip the parsing. If the map is never accessed, the original text is written
+ * back as is.
+ */
+final class LazyAttributes extends AbstractMap<String, Object> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyAttributes.class);
+
+    private static final TypeReference<LinkedHashMap<String, Object>> TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private String json;
+    private volatile Map<String, Object> attributes;
+
+    LazyAttributes(ObjectMapper objectMapper, String json) {
+        this.objectMapper = objectMapper;
+        this.json = json;
+    }
+
+    private Map<String, Object> getAttributes() {
+        Map<String, Object> result = attributes;
+        if (result == null) {
+            synchronized (this) {
+                result = attributes;
+                if (result == null) {
+                    try {
+                        result = objectMapper.readValue(json, TYPE);
+                    } catch (JsonProcessingException e) {
+                        LOGGER.warn("Attributes parsing error", e);
+                        result = new LinkedHashMap<>();
+                    }
+                    attributes = result;
+                    json = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    String toJson() throws JsonProcessingException {
+        synchronized (this) {
+            if (attributes == null) {
+                return json;
+            }
+        }
+        return objectMapper.writeValueAsString(attributes);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return getAttributes().entrySet();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return getAttributes().keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return getAttributes().values();
+    }
+
+    @Override
+    public int size() {
+        return getAttributes().size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getAttributes().containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return getAttributes().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return getAttributes().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return getAttributes().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        getAttributes().clear();
+    }
+
+}
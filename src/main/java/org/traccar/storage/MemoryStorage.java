@@ -87,6 +87,10 @@ public class MemoryStorage extends Storage {
             int toResult = ((Comparable) toValue).compareTo(condition.getToValue());
             return fromResult >= 0 && toResult <= 0;
 
+        } else if (genericCondition instanceof Condition.In condition) {
+
+            return condition.getValues().contains(retrieveValue(object, condition.getColumn()));
+
         } else if (genericCondition instanceof Condition.Binary condition) {
 
             if (condition.getOperator().equals("AND")) {
@@ -177,6 +181,17 @@ public class MemoryStorage extends Storage {
                 .toList();
     }
 
+    @Override
+    public List<Permission> getPermissions(
+            Class<? extends BaseModel> ownerClass, Collection<Long> ownerIds,
+            Class<? extends BaseModel> propertyClass, Collection<Long> propertyIds) {
+        return getPermissionsSet(ownerClass, propertyClass).stream()
+                .filter(pair -> ownerIds == null || ownerIds.contains(pair.first()))
+                .filter(pair -> propertyIds == null || propertyIds.contains(pair.second()))
+                .map(pair -> new Permission(ownerClass, pair.first(), propertyClass, pair.second()))
+                .toList();
+    }
+
     @Override
     public void addPermission(Permission permission) {
         getPermissionsSet(permission.getOwnerClass(), permission.getPropertyClass())
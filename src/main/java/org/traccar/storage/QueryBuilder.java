@@ -26,6 +26,8 @@ import org.traccar.model.Permission;
 
 import javax.sql.DataSource;
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -40,9 +42,16 @@ import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -58,6 +67,7 @@ public final class QueryBuilder {
     private PreparedStatement statement;
     private final String query;
     private final boolean returnGeneratedKeys;
+    private int batchSize;
 
     private QueryBuilder(
             Config config, DataSource dataSource, ObjectMapper objectMapper,
@@ -181,68 +191,144 @@ public final class QueryBuilder {
     }
 
     public QueryBuilder setObject(Object object, List<String> columns) throws SQLException {
+        var properties = ReflectionCache.getProperties(object.getClass(), "get");
+        var getters = ReflectionCache.getGetters(object.getClass());
         try {
             for (int index = 0; index < columns.size(); index++) {
                 String column = columns.get(index);
-                Method method = ReflectionCache.getProperties(object.getClass(), "get").get(column).method();
-                if (method.getReturnType().equals(boolean.class)) {
-                    setBoolean(index, (Boolean) method.invoke(object));
-                } else if (method.getReturnType().equals(int.class)) {
-                    setInteger(index, (Integer) method.invoke(object));
-                } else if (method.getReturnType().equals(long.class)) {
-                    setLong(index, (Long) method.invoke(object), column.endsWith("Id"));
-                } else if (method.getReturnType().equals(double.class)) {
-                    setDouble(index, (Double) method.invoke(object));
-                } else if (method.getReturnType().equals(String.class)) {
-                    setString(index, (String) method.invoke(object));
-                } else if (method.getReturnType().equals(Date.class)) {
-                    setDate(index, (Date) method.invoke(object));
-                } else if (method.getReturnType().equals(byte[].class)) {
-                    setBlob(index, (byte[]) method.invoke(object));
+                Class<?> type = properties.get(column).method().getReturnType();
+                Object value = getters.get(column).apply(object);
+                if (type.equals(boolean.class)) {
+                    setBoolean(index, (Boolean) value);
+                } else if (type.equals(int.class)) {
+                    setInteger(index, (Integer) value);
+                } else if (type.equals(long.class)) {
+                    setLong(index, (Long) value, column.endsWith("Id"));
+                } else if (type.equals(double.class)) {
+                    setDouble(index, (Double) value);
+                } else if (type.equals(String.class)) {
+                    setString(index, (String) value);
+                } else if (type.equals(Date.class)) {
+                    setDate(index, (Date) value);
+                } else if (type.equals(byte[].class)) {
+                    setBlob(index, (byte[]) value);
+                } else if (value instanceof LazyAttributes attributes) {
+                    setString(index, attributes.toJson());
                 } else {
-                    setString(index, objectMapper.writeValueAsString(method.invoke(object)));
+                    setString(index, objectMapper.writeValueAsString(value));
                 }
             }
-        } catch (ReflectiveOperationException | JsonProcessingException e) {
+        } catch (JsonProcessingException e) {
             LOGGER.warn("Set object error", e);
         }
 
         return this;
     }
 
-    private interface ResultSetProcessor<T> {
-        void process(T object, ResultSet resultSet) throws ReflectiveOperationException, IOException, SQLException;
+    private interface ColumnMapper {
+        void map(Object object, ResultSet resultSet, ObjectMapper objectMapper) throws IOException, SQLException;
     }
 
-    private <T> void addProcessors(
-            List<ResultSetProcessor<T>> processors,
-            final Class<?> parameterType, final Method method, final String name) {
+    private record RowMapperKey(Class<?> clazz, List<String> labels) {
+    }
+
+    private record RowMapper(Supplier<?> factory, ColumnMapper[] columns) {
+    }
+
+    private static final int ROW_MAPPER_CACHE_LIMIT = 1000;
+
+    private static final Map<RowMapperKey, RowMapper> ROW_MAPPERS = new ConcurrentHashMap<>();
+
+    private static RowMapper getRowMapper(Class<?> clazz, ResultSetMetaData resultMetaData) throws SQLException {
+        List<String> labels = new ArrayList<>();
+        for (int i = 1; i <= resultMetaData.getColumnCount(); i++) {
+            labels.add(resultMetaData.getColumnLabel(i));
+        }
+        RowMapperKey key = new RowMapperKey(clazz, labels);
+        RowMapper rowMapper = ROW_MAPPERS.get(key);
+        if (rowMapper == null) {
+            rowMapper = createRowMapper(clazz, labels);
+            if (ROW_MAPPERS.size() >= ROW_MAPPER_CACHE_LIMIT) {
+                ROW_MAPPERS.clear();
+            }
+            ROW_MAPPERS.put(key, rowMapper);
+        }
+        return rowMapper;
+    }
+
+    private static RowMapper createRowMapper(Class<?> clazz, List<String> labels) {
+        var setters = ReflectionCache.getSetters(clazz);
+        List<ColumnMapper> columns = new ArrayList<>();
+        for (var entry : ReflectionCache.getProperties(clazz, "set").entrySet()) {
+            String name = entry.getKey();
+            for (int i = 0; i < labels.size(); i++) {
+                if (name.equalsIgnoreCase(labels.get(i))) {
+                    columns.add(createColumnMapper(entry.getValue().method(), setters.get(name), i + 1));
+                    break;
+                }
+            }
+        }
+        return new RowMapper(ReflectionCache.getFactory(clazz), columns.toArray(new ColumnMapper[0]));
+    }
+
+    private static ColumnMapper createColumnMapper(Method method, BiConsumer<Object, Object> setter, int index) {
+        Class<?> parameterType = method.getParameterTypes()[0];
         if (parameterType.equals(boolean.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getBoolean(name)));
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getBoolean(index));
         } else if (parameterType.equals(int.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getInt(name)));
+            ObjIntConsumer<Object> intSetter = createPrimitiveSetter(ObjIntConsumer.class, int.class, method);
+            if (intSetter != null) {
+                return (object, resultSet, objectMapper) -> intSetter.accept(object, resultSet.getInt(index));
+            }
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getInt(index));
         } else if (parameterType.equals(long.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getLong(name)));
+            ObjLongConsumer<Object> longSetter = createPrimitiveSetter(ObjLongConsumer.class, long.class, method);
+            if (longSetter != null) {
+                return (object, resultSet, objectMapper) -> longSetter.accept(object, resultSet.getLong(index));
+            }
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getLong(index));
         } else if (parameterType.equals(double.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getDouble(name)));
+            ObjDoubleConsumer<Object> doubleSetter =
+                    createPrimitiveSetter(ObjDoubleConsumer.class, double.class, method);
+            if (doubleSetter != null) {
+                return (object, resultSet, objectMapper) -> doubleSetter.accept(object, resultSet.getDouble(index));
+            }
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getDouble(index));
         } else if (parameterType.equals(String.class)) {
-            processors.add((object, resultSet) -> method.invoke(object, resultSet.getString(name)));
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getString(index));
         } else if (parameterType.equals(Date.class)) {
-            processors.add((object, resultSet) -> {
-                Timestamp timestamp = resultSet.getTimestamp(name);
+            return (object, resultSet, objectMapper) -> {
+                Timestamp timestamp = resultSet.getTimestamp(index);
                 if (timestamp != null) {
-                    method.invoke(object, new Date(timestamp.getTime()));
+                    setter.accept(object, new Date(timestamp.getTime()));
                 }
-            });
+            };
         } else if (parameterType.equals(byte[].class)) {
-            processors.add((object, resultSet) -> method.invoke(object, (Object) resultSet.getBytes(name)));
+            return (object, resultSet, objectMapper) -> setter.accept(object, resultSet.getBytes(index));
+        } else if (parameterType.equals(Map.class) && method.getName().equals("setAttributes")) {
+            return (object, resultSet, objectMapper) -> {
+                String value = resultSet.getString(index);
+                if (value != null && !value.isEmpty()) {
+                    setter.accept(object, new LazyAttributes(objectMapper, value));
+                }
+            };
         } else {
-            processors.add((object, resultSet) -> {
-                String value = resultSet.getString(name);
+            return (object, resultSet, objectMapper) -> {
+                String value = resultSet.getString(index);
                 if (value != null && !value.isEmpty()) {
-                    method.invoke(object, objectMapper.readValue(value, parameterType));
+                    setter.accept(object, objectMapper.readValue(value, parameterType));
                 }
-            });
+            };
+        }
+    }
+
+    private static <F> F createPrimitiveSetter(Class<? super F> functionClass, Class<?> type, Method method) {
+        try {
+            return ReflectionCache.createFunction(
+                    functionClass, "accept", MethodType.methodType(void.class, Object.class, type),
+                    MethodHandles.publicLookup().unreflect(method));
+        } catch (IllegalAccessException e) {
+            return null;
         }
     }
 
@@ -267,23 +353,7 @@ public final class QueryBuilder {
             logQuery();
 
             resultSet = statement.executeQuery();
-            ResultSetMetaData resultMetaData = resultSet.getMetaData();
-
-            List<ResultSetProcessor<T>> processors = new ArrayList<>();
-            for (var entry : ReflectionCache.getProperties(clazz, "set").entrySet()) {
-                final String name = entry.getKey();
-                boolean column = false;
-                for (int i = 1; i <= resultMetaData.getColumnCount(); i++) {
-                    if (name.equalsIgnoreCase(resultMetaData.getColumnLabel(i))) {
-                        column = true;
-                        break;
-                    }
-                }
-                if (column) {
-                    Method method = entry.getValue().method();
-                    addProcessors(processors, method.getParameterTypes()[0], method, name);
-                }
-            }
+            RowMapper rowMapper = getRowMapper(clazz, resultSet.getMetaData());
 
             final ResultSet retainedResultSet = resultSet;
             return StreamSupport.stream(
@@ -292,11 +362,11 @@ public final class QueryBuilder {
                         public boolean tryAdvance(Consumer<? super T> action) {
                             try {
                                 if (retainedResultSet.next()) {
-                                    T object = clazz.getDeclaredConstructor().newInstance();
-                                    for (ResultSetProcessor<T> processor : processors) {
+                                    T object = clazz.cast(rowMapper.factory().get());
+                                    for (ColumnMapper column : rowMapper.columns()) {
                                         try {
-                                            processor.process(object, retainedResultSet);
-                                        } catch (ReflectiveOperationException | IOException error) {
+                                            column.map(object, retainedResultSet, objectMapper);
+                                        } catch (IOException error) {
                                             LOGGER.warn("Set property error", error);
                                         }
                                     }
@@ -305,7 +375,7 @@ public final class QueryBuilder {
                                 } else {
                                     return false;
                                 }
-                            } catch (SQLException | ReflectiveOperationException e) {
+                            } catch (SQLException e) {
                                 throw new RuntimeException(e);
                             }
                         }
@@ -349,6 +419,42 @@ public final class QueryBuilder {
         return 0;
     }
 
+    public QueryBuilder addBatch() throws SQLException {
+        batchSize += 1;
+        return setValue(() -> statement.addBatch());
+    }
+
+    public List<Long> executeBatch() throws SQLException {
+        List<Long> result = new ArrayList<>();
+        if (query != null) {
+            boolean autoCommit = connection.getAutoCommit();
+            try {
+                logQuery();
+                connection.setAutoCommit(false);
+                statement.executeBatch();
+                if (returnGeneratedKeys) {
+                    try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                        while (resultSet.next()) {
+                            result.add(resultSet.getLong(1));
+                        }
+                    }
+                    if (result.size() != batchSize) {
+                        throw new SQLException("Generated keys are not returned for the batch");
+                    }
+                }
+                connection.commit();
+            } catch (SQLException error) {
+                connection.rollback();
+                throw error;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                statement.close();
+                connection.close();
+            }
+        }
+        return result;
+    }
+
     public List<Permission> executePermissionsQuery() throws SQLException {
         List<Permission> result = new LinkedList<>();
         if (query != null) {
@@ -17,8 +17,12 @@ package org.traccar.storage;
 
 import org.traccar.model.BaseModel;
 import org.traccar.model.Permission;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -38,6 +42,13 @@ public abstract class Storage {
             Class<? extends BaseModel> ownerClass, long ownerId,
             Class<? extends BaseModel> propertyClass, long propertyId) throws StorageException;
 
+    /**
+     * Get permissions for multiple owners or properties at once. Null id collection means no filtering.
+     */
+    public abstract List<Permission> getPermissions(
+            Class<? extends BaseModel> ownerClass, Collection<Long> ownerIds,
+            Class<? extends BaseModel> propertyClass, Collection<Long> propertyIds) throws StorageException;
+
     public abstract void addPermission(Permission permission) throws StorageException;
 
     public abstract void removePermission(Permission permission) throws StorageException;
@@ -48,6 +59,35 @@ public abstract class Storage {
         return getPermissions(ownerClass, 0, propertyClass, 0);
     }
 
+    public <T> List<Long> addObjects(List<T> entities, Request request) throws StorageException {
+        List<Long> result = new ArrayList<>();
+        for (T entity : entities) {
+            result.add(addObject(entity, request));
+        }
+        return result;
+    }
+
+    /**
+     * Update the same columns of multiple objects of one class. Objects are selected by id.
+     */
+    public <T extends BaseModel> void updateObjects(List<T> entities, Columns columns) throws StorageException {
+        for (T entity : entities) {
+            updateObject(entity, new Request(columns, new Condition.Equals("id", entity.getId())));
+        }
+    }
+
+    public void addPermissions(List<Permission> permissions) throws StorageException {
+        for (Permission permission : permissions) {
+            addPermission(permission);
+        }
+    }
+
+    public void removePermissions(List<Permission> permissions) throws StorageException {
+        for (Permission permission : permissions) {
+            removePermission(permission);
+        }
+    }
+
     public <T> T getObject(Class<T> clazz, Request request) throws StorageException {
         try (var objects = getObjectsStream(clazz, request)) {
             return objects.findFirst().orElse(null);
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.web;
+
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.traccar.ProcessingHandler;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.LatencyManager;
+import org.traccar.database.PositionWriter;
+import org.traccar.database.StatisticsManager;
+import org.traccar.helper.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exposes server counters in the Prometheus text exposition format.
+ */
+@Singleton
+public class MetricsServlet extends HttpServlet {
+
+    private final boolean enabled;
+    private final StatisticsManager statisticsManager;
+    private final ProcessingHandler processingHandler;
+    private final PositionWriter positionWriter;
+    private final LatencyManager latencyManager;
+
+    @Inject
+    public MetricsServlet(
+            Config config, StatisticsManager statisticsManager, ProcessingHandler processingHandler,
+            @Nullable PositionWriter positionWriter, @Nullable LatencyManager latencyManager) {
+        this.enabled = config.getBoolean(Keys.WEB_METRICS_ENABLE);
+        this.statisticsManager = statisticsManager;
+        this.processingHandler = processingHandler;
+        this.positionWriter = positionWriter;
+        this.latencyManager = latencyManager;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (!enabled) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        StringBuilder output = new StringBuilder();
+        writeMetrics(output);
+        resp.setContentType("text/plain; version=0.0.4; charset=utf-8");
+        resp.setHeader("Cache-Control", "no-store");
+        try (PrintWriter writer = resp.getWriter()) {
+            writer.write(output.toString());
+        }
+    }
+
+    void writeMetrics(StringBuilder output) {
+        writeCounter(output, "traccar_requests_total", "Authenticated API requests",
+                statisticsManager.getTotal(StatisticsManager.Counter.REQUESTS));
+        writeProtocolCounter(output, "traccar_messages_received_total", "Messages received from devices",
+                statisticsManager.getProtocolMessagesReceived());
+        writeProtocolCounter(output, "traccar_messages_stored_total", "Positions stored in the database",
+                statisticsManager.getProtocolMessagesStored());
+        writeCounter(output, "traccar_mail_sent_total", "Sent emails",
+                statisticsManager.getTotal(StatisticsManager.Counter.MAIL_SENT));
+        writeCounter(output, "traccar_sms_sent_total", "Sent SMS messages",
+                statisticsManager.getTotal(StatisticsManager.Counter.SMS_SENT));
+        writeCounter(output, "traccar_geocoder_requests_total", "Reverse geocoding requests",
+                statisticsManager.getTotal(StatisticsManager.Counter.GEOCODER_REQUESTS));
+        writeCounter(output, "traccar_geolocation_requests_total", "Network geolocation requests",
+                statisticsManager.getTotal(StatisticsManager.Counter.GEOLOCATION_REQUESTS));
+
+        writeGauge(output, "traccar_active_users", "Users active since the start of the day",
+                statisticsManager.getActiveUsers());
+        writeGauge(output, "traccar_active_devices", "Devices active since the start of the day",
+                statisticsManager.getActiveDevices());
+        writeGauge(output, "traccar_processing_devices", "Devices with positions queued for processing",
+                processingHandler.getQueueCount());
+
+        if (positionWriter != null) {
+            writeGauge(output, "traccar_position_writer_queue", "Positions waiting for a batch write",
+                    positionWriter.getQueueSize());
+            writeCounter(output, "traccar_position_writer_flushes_total", "Batch writes",
+                    positionWriter.getFlushCount());
+            writeGauge(output, "traccar_position_writer_flush_seconds", "Latest batch write duration",
+                    positionWriter.getLastFlushLatency() / 1000);
+        }
+
+        if (latencyManager != null) {
+            writeLatency(output, latencyManager.getHistograms());
+        }
+    }
+
+    private static void writeLatency(StringBuilder output, Map<LatencyManager.Key, LatencyHistogram> histograms) {
+        String name = "traccar_latency_seconds";
+        writeHeader(output, name, "Time spent in decoders, processing queue and handlers", "summary");
+        var sorted = new TreeMap<LatencyManager.Key, LatencyHistogram>(Comparator
+                .comparing(LatencyManager.Key::stage)
+                .thenComparing(LatencyManager.Key::name)
+                .thenComparing(LatencyManager.Key::protocol));
+        sorted.putAll(histograms);
+        for (var entry : sorted.entrySet()) {
+            LatencyManager.Key key = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            String labels = "stage=\"" + key.stage().name().toLowerCase(Locale.ROOT)
+                    + "\",name=\"" + escape(key.name())
+                    + "\",protocol=\"" + escape(key.protocol()) + "\"";
+            for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+                output.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(histogram.getValueAtQuantile(quantile) / 1e9).append('\n');
+            }
+            output.append(name).append("_sum{").append(labels).append("} ")
+                    .append(histogram.getSum() / 1e9).append('\n');
+            output.append(name).append("_count{").append(labels).append("} ")
+                    .append(histogram.getCount()).append('\n');
+        }
+    }
+
+    private static void writeHeader(StringBuilder output, String name, String help, String type) {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    static void writeCounter(StringBuilder output, String name, String help, long value) {
+        writeHeader(output, name, help, "counter");
+        output.append(name).append(' ').append(value).append('\n');
+    }
+
+    static void writeGauge(StringBuilder output, String name, String help, double value) {
+        writeHeader(output, name, help, "gauge");
+        output.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void writeProtocolCounter(
+            StringBuilder output, String name, String help, Map<String, Long> values) {
+        writeHeader(output, name, help, "counter");
+        for (Map.Entry<String, Long> entry : new TreeMap<>(values).entrySet()) {
+            output.append(name).append("{protocol=\"").append(escape(entry.getKey())).append("\"} ")
+                    .append(entry.getValue()).append('\n');
+        }
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+}
@@ -28,5 +28,6 @@ public class WebModule extends ServletModule {
         filter("/api/media/*").through(MediaFilter.class);
         serve("/.well-known/*").with(WellKnownServlet.class);
         serve("/api/socket").with(AsyncSocketServlet.class);
+        serve("/metrics").with(MetricsServlet.class);
     }
 }
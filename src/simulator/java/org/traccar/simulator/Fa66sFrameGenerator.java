@@ -0,0 +1,40 @@
+package org.traccar.simulator;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SaveKID watch frames. The protocol has no responses, so latency is only available from the server side.
+ */
+public class Fa66sFrameGenerator extends TextFrameGenerator {
+
+    public Fa66sFrameGenerator() {
+        super('\n');
+    }
+
+    @Override
+    public int getDefaultPort() {
+        return 6216;
+    }
+
+    @Override
+    public boolean isPositionAcknowledged() {
+        return false;
+    }
+
+    @Override
+    public Frame position(SimulatedDevice device) {
+        var random = ThreadLocalRandom.current();
+        String text = format("FA66S,%s,%.6f,%.6f,%.1f,%d,%d,%d,%d,%.1f,%d,%d,0,0,%s\r\n",
+                device.getUniqueId(), device.getLatitude(), device.getLongitude(),
+                device.getSpeed() * 1.852, (int) device.getCourse(), 35, 20 + random.nextInt(80),
+                60 + random.nextInt(40), 36.0 + random.nextInt(15) / 10.0, random.nextInt(20000), random.nextInt(600),
+                formatTime("yyyyMMddHHmmss"));
+        return frame(Type.POSITION, text, isPositionAcknowledged());
+    }
+
+    @Override
+    public Frame heartbeat(SimulatedDevice device) {
+        return frame(Type.HEARTBEAT, format("FA66S,%s\r\n", device.getUniqueId()), false);
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.traccar.simulator;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Builds device frames for a protocol and recognizes server responses to them.
+ */
+public interface FrameGenerator {
+
+    enum Type {
+        LOGIN,
+        POSITION,
+        HEARTBEAT
+    }
+
+    record Frame(Type type, ByteBuf data, boolean response) {
+    }
+
+    int getDefaultPort();
+
+    /**
+     * Whether server responds to position frames. Some protocols only respond if acknowledgement is enabled.
+     */
+    boolean isPositionAcknowledged();
+
+    /**
+     * Frame sent right after connecting or null if the protocol identifies device in every message.
+     */
+    Frame login(SimulatedDevice device);
+
+    Frame position(SimulatedDevice device);
+
+    Frame heartbeat(SimulatedDevice device);
+
+    /**
+     * Length of the first complete response in the buffer or zero if more data is needed.
+     */
+    int responseLength(ByteBuf buf, Type type);
+
+}
@@ -0,0 +1,41 @@
+package org.traccar.simulator;
+
+public class Gl200FrameGenerator extends TextFrameGenerator {
+
+    private static final String VERSION = "8020040305";
+
+    private final boolean ack;
+
+    public Gl200FrameGenerator(Options options) {
+        super('$');
+        ack = options.ack();
+    }
+
+    @Override
+    public int getDefaultPort() {
+        return 5004;
+    }
+
+    @Override
+    public boolean isPositionAcknowledged() {
+        return ack;
+    }
+
+    @Override
+    public Frame position(SimulatedDevice device) {
+        String time = formatTime("yyyyMMddHHmmss");
+        String text = format("+RESP:GTFRI,%s,%s,,,10,1,1,%.1f,%d,120.0,%.6f,%.6f,%s,"
+                + "0460,0000,18d8,6141,00,0.0,,,,,100,210100,,,,%s,%04X$",
+                VERSION, device.getUniqueId(), device.getSpeed() * 1.852, (int) device.getCourse(),
+                device.getLongitude(), device.getLatitude(), time, time, device.nextSerial());
+        return frame(Type.POSITION, text, isPositionAcknowledged());
+    }
+
+    @Override
+    public Frame heartbeat(SimulatedDevice device) {
+        String text = format("+ACK:GTHBD,%s,%s,,%s,%04X$",
+                VERSION, device.getUniqueId(), formatTime("yyyyMMddHHmmss"), device.nextSerial());
+        return frame(Type.HEARTBEAT, text, true);
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.traccar.simulator;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.traccar.helper.Checksum;
+import org.traccar.helper.DataConverter;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+public class Gt06FrameGenerator implements FrameGenerator {
+
+    private static final int MSG_LOGIN = 0x01;
+    private static final int MSG_GPS_LBS_1 = 0x12;
+    private static final int MSG_STATUS = 0x13;
+
+    @Override
+    public int getDefaultPort() {
+        return 5023;
+    }
+
+    @Override
+    public boolean isPositionAcknowledged() {
+        return true;
+    }
+
+    private static ByteBuf encode(int type, int serial, ByteBuf content) {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeShort(0x7878);
+        buf.writeByte(1 + content.readableBytes() + 2 + 2);
+        buf.writeByte(type);
+        buf.writeBytes(content);
+        content.release();
+        buf.writeShort(serial);
+        buf.writeShort(Checksum.crc16(Checksum.CRC16_X25, buf.nioBuffer(2, buf.writerIndex() - 2)));
+        buf.writeByte('\r');
+        buf.writeByte('\n');
+        return buf;
+    }
+
+    @Override
+    public Frame login(SimulatedDevice device) {
+        String uniqueId = "0".repeat(Math.max(16 - device.getUniqueId().length(), 0)) + device.getUniqueId();
+        ByteBuf content = Unpooled.wrappedBuffer(DataConverter.parseHex(uniqueId));
+        return new Frame(Type.LOGIN, encode(MSG_LOGIN, device.nextSerial(), content), isPositionAcknowledged());
+    }
+
+    @Override
+    public Frame position(SimulatedDevice device) {
+        ByteBuf content = Unpooled.buffer();
+        ZonedDateTime time = ZonedDateTime.now(ZoneOffset.UTC);
+        content.writeByte(time.getYear() % 100);
+        content.writeByte(time.getMonthValue());
+        content.writeByte(time.getDayOfMonth());
+        content.writeByte(time.getHour());
+        content.writeByte(time.getMinute());
+        content.writeByte(time.getSecond());
+        content.writeByte(0xc9); // length and satellites
+        content.writeInt((int) Math.round(Math.abs(device.getLatitude()) * 60 * 30000));
+        content.writeInt((int) Math.round(Math.abs(device.getLongitude()) * 60 * 30000));
+        content.writeByte((int) Math.round(device.getSpeed() * 1.852));
+        int flags = (int) device.getCourse() & 0x3ff;
+        flags |= 1 << 12; // valid
+        if (device.getLatitude() >= 0) {
+            flags |= 1 << 10;
+        }
+        if (device.getLongitude() < 0) {
+            flags |= 1 << 11;
+        }
+        content.writeShort(flags);
+        content.writeShort(460); // mcc
+        content.writeByte(0); // mnc
+        content.writeShort(0x28c4); // lac
+        content.writeMedium(0x00a5cf); // cid
+        return new Frame(Type.POSITION, encode(MSG_GPS_LBS_1, device.nextSerial(), content), isPositionAcknowledged());
+    }
+
+    @Override
+    public Frame heartbeat(SimulatedDevice device) {
+        ByteBuf content = Unpooled.buffer();
+        content.writeByte(0x46); // status
+        content.writeByte(6); // voltage
+        content.writeByte(4); // signal
+        content.writeShort(0x0002); // alarm and language
+        return new Frame(Type.HEARTBEAT, encode(MSG_STATUS, device.nextSerial(), content), isPositionAcknowledged());
+    }
+
+    @Override
+    public int responseLength(ByteBuf buf, Type type) {
+        if (buf.readableBytes() < 4) {
+            return 0;
+        }
+        int length;
+        if (buf.getUnsignedShort(buf.readerIndex()) == 0x7979) {
+            length = buf.getUnsignedShort(buf.readerIndex() + 2) + 6;
+        } else {
+            length = buf.getUnsignedByte(buf.readerIndex() + 2) + 5;
+        }
+        return buf.readableBytes() >= length ? length : 0;
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.traccar.simulator;
+
+public class H02FrameGenerator extends TextFrameGenerator {
+
+    private final boolean ack;
+
+    public H02FrameGenerator(Options options) {
+        super('#');
+        ack = options.ack();
+    }
+
+    @Override
+    public int getDefaultPort() {
+        return 5013;
+    }
+
+    @Override
+    public boolean isPositionAcknowledged() {
+        return ack;
+    }
+
+    private static String formatCoordinate(double value, int degreesLength) {
+        value = Math.abs(value);
+        int degrees = (int) value;
+        return format("%0" + degreesLength + "d%07.4f", degrees, (value - degrees) * 60);
+    }
+
+    @Override
+    public Frame position(SimulatedDevice device) {
+        String text = format("*HQ,%s,V1,%s,A,%s,%s,%s,%s,%.2f,%d,%s,FFFFFBFF#",
+                device.getUniqueId(), formatTime("HHmmss"),
+                formatCoordinate(device.getLatitude(), 2), device.getLatitude() >= 0 ? "N" : "S",
+                formatCoordinate(device.getLongitude(), 3), device.getLongitude() >= 0 ? "E" : "W",
+                device.getSpeed(), (int) device.getCourse(), formatTime("ddMMyy"));
+        return frame(Type.POSITION, text, isPositionAcknowledged());
+    }
+
+    @Override
+    public Frame heartbeat(SimulatedDevice device) {
+        return frame(Type.HEARTBEAT, format("*HQ,%s,HTBT,100#", device.getUniqueId()), true);
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.traccar.simulator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Simulator options passed as --name=value arguments. Intervals are in seconds.
+ */
+public record Options(
+        String protocol, String host, int port, int devices, long uniqueId,
+        int interval, int heartbeat, int reconnect, int reconnectDelay, int connectRate,
+        int duration, int report, int batch, boolean ack, String replay, String transport) {
+
+    public static final String USAGE = """
+            Usage: simulator [--name=value]...
+              --protocol        gt06, teltonika, h02, gl200 or fa66s (default gt06)
+              --host            server address (default 127.0.0.1)
+              --port            server port (default is protocol port)
+              --devices         number of devices and connections (default 1000)
+              --uniqueId        first device identifier (default 860000000000000)
+              --interval        position period (default 10)
+              --heartbeat       heartbeat period, 0 to disable (default 60)
+              --reconnect       average connection lifetime, 0 to keep connected (default 0)
+              --reconnectDelay  delay before reconnecting (default 5)
+              --connectRate     new connections per second during ramp up (default 500)
+              --duration        run time, 0 to run until stopped (default 0)
+              --report          statistics period (default 10)
+              --batch           positions per frame for protocols supporting it (default 1)
+              --ack             server has <protocol>.ack enabled, so positions are acknowledged
+              --replay          file with recorded frames, HEX or text, {uniqueId} is replaced
+              --transport       nio, epoll or io_uring (default auto)
+            """;
+
+    public static Options parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Invalid argument " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            } else {
+                values.put(arg.substring(2), "true");
+            }
+        }
+        Options options = new Options(
+                Objects.requireNonNullElse(values.remove("protocol"), "gt06"),
+                Objects.requireNonNullElse(values.remove("host"), "127.0.0.1"),
+                parseInt(values.remove("port"), 0),
+                parseInt(values.remove("devices"), 1000),
+                Long.parseLong(Objects.requireNonNullElse(values.remove("uniqueId"), "860000000000000")),
+                parseInt(values.remove("interval"), 10),
+                parseInt(values.remove("heartbeat"), 60),
+                parseInt(values.remove("reconnect"), 0),
+                parseInt(values.remove("reconnectDelay"), 5),
+                parseInt(values.remove("connectRate"), 500),
+                parseInt(values.remove("duration"), 0),
+                parseInt(values.remove("report"), 10),
+                parseInt(values.remove("batch"), 1),
+                Boolean.parseBoolean(values.remove("ack")),
+                values.remove("replay"),
+                values.remove("transport"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        if (options.interval() <= 0 || options.devices() <= 0 || options.connectRate() <= 0) {
+            throw new IllegalArgumentException("Interval, devices and connect rate must be positive");
+        }
+        return options;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.traccar.simulator;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.traccar.helper.DataConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Sends recorded frames instead of generated positions, each device cycling through the file. Lines that contain
+ * only HEX digits are sent as binary, other lines are sent as text with \r and \n escapes expanded. The
+ * {uniqueId} placeholder is replaced with the device identifier, zero padded to 16 digits in HEX lines. Login,
+ * heartbeat and response handling come from the protocol generator.
+ */
+public class ReplayFrameGenerator implements FrameGenerator {
+
+    private static final String PLACEHOLDER = "{uniqueId}";
+    private static final Pattern HEX = Pattern.compile("([0-9a-fA-F]{2}|\\{uniqueId})+");
+
+    private final FrameGenerator delegate;
+    private final List<String> lines;
+
+    public ReplayFrameGenerator(FrameGenerator delegate, Path file) throws IOException {
+        this.delegate = delegate;
+        lines = Files.readAllLines(file, StandardCharsets.US_ASCII).stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .toList();
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("No frames in " + file);
+        }
+    }
+
+    @Override
+    public int getDefaultPort() {
+        return delegate.getDefaultPort();
+    }
+
+    @Override
+    public boolean isPositionAcknowledged() {
+        return delegate.isPositionAcknowledged();
+    }
+
+    @Override
+    public Frame login(SimulatedDevice device) {
+        return delegate.login(device);
+    }
+
+    @Override
+    public Frame position(SimulatedDevice device) {
+        String line = lines.get(device.nextFrameIndex() % lines.size());
+        ByteBuf data;
+        if (HEX.matcher(line).matches()) {
+            String uniqueId = "0".repeat(Math.max(16 - device.getUniqueId().length(), 0)) + device.getUniqueId();
+            data = Unpooled.wrappedBuffer(DataConverter.parseHex(line.replace(PLACEHOLDER, uniqueId)));
+        } else {
+            String text = line.replace(PLACEHOLDER, device.getUniqueId()).replace("\\r", "\r").replace("\\n", "\n");
+            data = Unpooled.copiedBuffer(text, StandardCharsets.US_ASCII);
+        }
+        return new Frame(Type.POSITION, data, isPositionAcknowledged());
+    }
+
+    @Override
+    public Frame heartbeat(SimulatedDevice device) {
+        return delegate.heartbeat(device);
+    }
+
+    @Override
+    public int responseLength(ByteBuf buf, Type type) {
+        return delegate.responseLength(buf, type);
+    }
+
+}
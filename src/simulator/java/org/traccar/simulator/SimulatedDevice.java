@@ -0,0 +1,219 @@
+package org.traccar.simulator;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated device with a persistent connection. All state is only accessed from the channel event loop.
+ */
+@ChannelHandler.Sharable
+public class SimulatedDevice extends ChannelInboundHandlerAdapter {
+
+    private record Pending(FrameGenerator.Type type, long time) {
+    }
+
+    private final Simulator simulator;
+    private final String uniqueId;
+    private final Random random;
+
+    private final Queue<Pending> pending = new ArrayDeque<>();
+    private final List<ScheduledFuture<?>> tasks = new ArrayList<>();
+    private ByteBuf cumulation;
+    private Bootstrap bootstrap;
+    private SocketAddress address;
+    private Channel channel;
+
+    private int serial;
+    private int frameIndex;
+    private double latitude;
+    private double longitude;
+    private double speed;
+    private double course;
+
+    public SimulatedDevice(Simulator simulator, String uniqueId, long seed) {
+        this.simulator = simulator;
+        this.uniqueId = uniqueId;
+        random = new Random(seed);
+        latitude = -60 + random.nextDouble() * 120;
+        longitude = -180 + random.nextDouble() * 360;
+        course = random.nextDouble() * 360;
+    }
+
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    public int nextSerial() {
+        serial = (serial + 1) & 0xffff;
+        return serial;
+    }
+
+    public int nextFrameIndex() {
+        return frameIndex++ & Integer.MAX_VALUE;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Speed in knots.
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    public double getCourse() {
+        return course;
+    }
+
+    private void move(double seconds) {
+        speed = Math.max(0, Math.min(60, speed + random.nextGaussian() * 5));
+        course = (course + random.nextGaussian() * 15 + 360) % 360;
+        double distance = speed * 1852 / 3600 * seconds / 111_320;
+        latitude = Math.max(-85, Math.min(85, latitude + distance * Math.cos(Math.toRadians(course))));
+        longitude += distance * Math.sin(Math.toRadians(course)) / Math.cos(Math.toRadians(latitude));
+        if (longitude > 180) {
+            longitude -= 360;
+        } else if (longitude < -180) {
+            longitude += 360;
+        }
+    }
+
+    public void connect(Bootstrap bootstrap, SocketAddress address) {
+        this.bootstrap = bootstrap;
+        this.address = address;
+        connect();
+    }
+
+    private void connect() {
+        bootstrap.clone().handler(this).connect(address).addListener((ChannelFuture future) -> {
+            if (!future.isSuccess()) {
+                simulator.getStats().connectFailed();
+                scheduleReconnect(future.channel());
+            }
+        });
+    }
+
+    private void scheduleReconnect(Channel closedChannel) {
+        if (simulator.isRunning()) {
+            long delay = simulator.getOptions().reconnectDelay() * 1000L;
+            closedChannel.eventLoop().schedule(
+                    this::connect, delay / 2 + ThreadLocalRandom.current().nextLong(delay + 1), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void schedule(Runnable task, long initialDelay, long period) {
+        tasks.add(channel.eventLoop().scheduleAtFixedRate(task, initialDelay, period, TimeUnit.MILLISECONDS));
+    }
+
+    private void send(FrameGenerator.Frame frame) {
+        if (frame == null) {
+            return;
+        }
+        if (frame.response()) {
+            pending.add(new Pending(frame.type(), System.nanoTime()));
+        }
+        simulator.getStats().sent(frame.type());
+        channel.writeAndFlush(frame.data(), channel.voidPromise());
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+        channel = ctx.channel();
+        simulator.getStats().connected();
+        Options options = simulator.getOptions();
+        FrameGenerator generator = simulator.getGenerator();
+
+        send(generator.login(this));
+
+        long interval = options.interval() * 1000L;
+        schedule(() -> {
+            move(options.interval());
+            send(generator.position(this));
+        }, random.nextLong(interval + 1), interval);
+
+        if (options.heartbeat() > 0) {
+            long heartbeat = options.heartbeat() * 1000L;
+            schedule(() -> send(generator.heartbeat(this)), heartbeat, heartbeat);
+        }
+
+        if (options.reconnect() > 0) {
+            long lifetime = (long) (-Math.log(1 - random.nextDouble()) * options.reconnect() * 1000);
+            tasks.add(channel.eventLoop().schedule(() -> {
+                simulator.getStats().reconnect();
+                channel.close();
+            }, lifetime, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        ByteBuf buf = (ByteBuf) msg;
+        if (cumulation == null) {
+            cumulation = ctx.alloc().buffer(buf.readableBytes());
+        }
+        cumulation.writeBytes(buf);
+        buf.release();
+        while (cumulation.isReadable()) {
+            Pending head = pending.peek();
+            if (head == null) {
+                cumulation.skipBytes(cumulation.readableBytes());
+                break;
+            }
+            int length = simulator.getGenerator().responseLength(cumulation, head.type());
+            if (length == 0) {
+                break;
+            }
+            cumulation.skipBytes(Math.min(length, cumulation.readableBytes()));
+            pending.remove();
+            simulator.getStats().acknowledged(head.type(), System.nanoTime() - head.time());
+        }
+        if (!cumulation.isReadable()) {
+            cumulation.release();
+            cumulation = null;
+        } else {
+            cumulation.discardReadBytes();
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        tasks.forEach(task -> task.cancel(false));
+        tasks.clear();
+        simulator.getStats().disconnected(pending.size());
+        pending.clear();
+        if (cumulation != null) {
+            ReferenceCountUtil.release(cumulation);
+            cumulation = null;
+        }
+        scheduleReconnect(ctx.channel());
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        simulator.getStats().error();
+        ctx.close();
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.traccar.simulator;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import org.traccar.EventLoopGroupFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test harness simulating a fleet of devices, each keeping its own connection to the server. Connections are
+ * opened gradually at the configured rate, and latency is measured from sending a frame until the server response.
+ * For positions that only covers the whole pipeline if server acknowledges after storing, which requires
+ * server.delayAcknowledgement and for some protocols the protocol ack option.
+ */
+public class Simulator {
+
+    private final Options options;
+    private final FrameGenerator generator;
+    private final Stats stats = new Stats();
+    private final EventLoopGroupFactory eventLoopGroupFactory;
+    private final Bootstrap bootstrap;
+
+    private volatile boolean running = true;
+
+    public Simulator(Options options) throws IOException {
+        this.options = options;
+        FrameGenerator protocolGenerator = createGenerator(options);
+        generator = options.replay() != null
+                ? new ReplayFrameGenerator(protocolGenerator, Path.of(options.replay())) : protocolGenerator;
+
+        Config config = new Config();
+        if (options.transport() != null) {
+            config.setString(Keys.SERVER_NETTY_TRANSPORT, options.transport());
+        }
+        eventLoopGroupFactory = new EventLoopGroupFactory(config);
+        bootstrap = new Bootstrap()
+                .group(eventLoopGroupFactory.getWorkerGroup())
+                .channel(eventLoopGroupFactory.getSocketChannelClass())
+                .option(ChannelOption.SO_KEEPALIVE, true);
+    }
+
+    private static FrameGenerator createGenerator(Options options) {
+        return switch (options.protocol()) {
+            case "gt06" -> new Gt06FrameGenerator();
+            case "teltonika" -> new TeltonikaFrameGenerator(options);
+            case "h02" -> new H02FrameGenerator(options);
+            case "gl200" -> new Gl200FrameGenerator(options);
+            case "fa66s" -> new Fa66sFrameGenerator();
+            default -> throw new IllegalArgumentException("Unsupported protocol " + options.protocol());
+        };
+    }
+
+    public Options getOptions() {
+        return options;
+    }
+
+    public FrameGenerator getGenerator() {
+        return generator;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void run() throws InterruptedException {
+        int port = options.port() > 0 ? options.port() : generator.getDefaultPort();
+        InetSocketAddress address = new InetSocketAddress(options.host(), port);
+        System.out.printf("Simulating %d %s devices against %s, transport %s%n",
+                options.devices(), options.protocol(), address, eventLoopGroupFactory.getTransport());
+
+        CountDownLatch finished = new CountDownLatch(1);
+        CountDownLatch reported = new CountDownLatch(1);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            finished.countDown();
+            try {
+                reported.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+        }));
+
+        long connectPeriod = Math.max(TimeUnit.SECONDS.toNanos(1) / options.connectRate(), 1);
+        int[] next = new int[1];
+        executor.scheduleAtFixedRate(() -> {
+            if (running && next[0] < options.devices()) {
+                int index = next[0]++;
+                new SimulatedDevice(this, String.valueOf(options.uniqueId() + index), index)
+                        .connect(bootstrap, address);
+            }
+        }, 0, connectPeriod, TimeUnit.NANOSECONDS);
+
+        if (options.report() > 0) {
+            executor.scheduleAtFixedRate(
+                    () -> System.out.println(stats.report()), options.report(), options.report(), TimeUnit.SECONDS);
+        }
+        if (options.duration() > 0) {
+            executor.schedule(finished::countDown, options.duration(), TimeUnit.SECONDS);
+        }
+
+        finished.await();
+        running = false;
+        executor.shutdownNow();
+        eventLoopGroupFactory.getWorkerGroup().shutdownGracefully().awaitUninterruptibly();
+        eventLoopGroupFactory.getBossGroup().shutdownGracefully().awaitUninterruptibly();
+        System.out.print(stats.summary());
+        reported.countDown();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(Options.USAGE);
+            System.exit(1);
+            return;
+        }
+        new Simulator(options).run();
+    }
+
+}
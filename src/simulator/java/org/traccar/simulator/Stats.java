@@ -0,0 +1,124 @@
+package org.traccar.simulator;
+
+import org.traccar.helper.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulator counters. Latency histograms are kept both for the current report period and for the whole run.
+ */
+public class Stats {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder connects = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private final Map<FrameGenerator.Type, LongAdder> sent = new EnumMap<>(FrameGenerator.Type.class);
+    private final Map<FrameGenerator.Type, LatencyHistogram> total = new EnumMap<>(FrameGenerator.Type.class);
+    private final AtomicReference<Map<FrameGenerator.Type, LatencyHistogram>> period = new AtomicReference<>();
+
+    private long lastSent;
+    private long lastTime = System.nanoTime();
+
+    public Stats() {
+        for (FrameGenerator.Type type : FrameGenerator.Type.values()) {
+            sent.put(type, new LongAdder());
+            total.put(type, new LatencyHistogram());
+        }
+        period.set(createHistograms());
+    }
+
+    private static Map<FrameGenerator.Type, LatencyHistogram> createHistograms() {
+        Map<FrameGenerator.Type, LatencyHistogram> histograms = new EnumMap<>(FrameGenerator.Type.class);
+        for (FrameGenerator.Type type : FrameGenerator.Type.values()) {
+            histograms.put(type, new LatencyHistogram());
+        }
+        return histograms;
+    }
+
+    public void connected() {
+        connections.incrementAndGet();
+        connects.increment();
+    }
+
+    public void disconnected(int unacknowledged) {
+        connections.decrementAndGet();
+        lost.add(unacknowledged);
+    }
+
+    public void connectFailed() {
+        connectFailures.increment();
+    }
+
+    public void reconnect() {
+        reconnects.increment();
+    }
+
+    public void error() {
+        errors.increment();
+    }
+
+    public void sent(FrameGenerator.Type type) {
+        sent.get(type).increment();
+    }
+
+    public void acknowledged(FrameGenerator.Type type, long latency) {
+        period.get().get(type).record(latency);
+        total.get(type).record(latency);
+    }
+
+    private static String format(LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return "-";
+        }
+        return String.format(Locale.US, "n=%d p50=%.1f p90=%.1f p99=%.1f max=%.1f ms",
+                histogram.getCount(),
+                histogram.getValueAtQuantile(0.5) / 1e6, histogram.getValueAtQuantile(0.9) / 1e6,
+                histogram.getValueAtQuantile(0.99) / 1e6, histogram.getMax() / 1e6);
+    }
+
+    private long getSent() {
+        return sent.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Statistics since the previous report.
+     */
+    public synchronized String report() {
+        var histograms = period.getAndSet(createHistograms());
+        long now = System.nanoTime();
+        long currentSent = getSent();
+        double rate = (currentSent - lastSent) * 1e9 / (now - lastTime);
+        lastSent = currentSent;
+        lastTime = now;
+        return String.format(Locale.US,
+                "connections=%d connects=%d failures=%d reconnects=%d lost=%d errors=%d rate=%.0f/s%n"
+                        + "  login     %s%n  position  %s%n  heartbeat %s",
+                connections.get(), connects.sum(), connectFailures.sum(), reconnects.sum(), lost.sum(), errors.sum(),
+                rate,
+                format(histograms.get(FrameGenerator.Type.LOGIN)),
+                format(histograms.get(FrameGenerator.Type.POSITION)),
+                format(histograms.get(FrameGenerator.Type.HEARTBEAT)));
+    }
+
+    /**
+     * Statistics for the whole run.
+     */
+    public String summary() {
+        StringBuilder result = new StringBuilder();
+        for (FrameGenerator.Type type : FrameGenerator.Type.values()) {
+            result.append(String.format(Locale.US, "%-9s sent=%d acknowledged %s%n",
+                    type.name().toLowerCase(), sent.get(type).sum(), format(total.get(type))));
+        }
+        return result.toString();
+    }
+
+}
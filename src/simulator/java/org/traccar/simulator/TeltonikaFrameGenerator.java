@@ -0,0 +1,85 @@
+package org.traccar.simulator;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.traccar.helper.Checksum;
+
+import java.nio.charset.StandardCharsets;
+
+public class TeltonikaFrameGenerator implements FrameGenerator {
+
+    private static final int CODEC_8 = 0x08;
+
+    private final int batch;
+    private final int interval;
+
+    public TeltonikaFrameGenerator(Options options) {
+        batch = Math.max(options.batch(), 1);
+        interval = options.interval();
+    }
+
+    @Override
+    public int getDefaultPort() {
+        return 5027;
+    }
+
+    @Override
+    public boolean isPositionAcknowledged() {
+        return true;
+    }
+
+    @Override
+    public Frame login(SimulatedDevice device) {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeShort(device.getUniqueId().length());
+        buf.writeCharSequence(device.getUniqueId(), StandardCharsets.US_ASCII);
+        return new Frame(Type.LOGIN, buf, true);
+    }
+
+    @Override
+    public Frame position(SimulatedDevice device) {
+        ByteBuf data = Unpooled.buffer();
+        data.writeByte(CODEC_8);
+        data.writeByte(batch);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < batch; i++) {
+            data.writeLong(now - (batch - 1 - i) * interval * 1000L / batch);
+            data.writeByte(0); // priority
+            data.writeInt((int) Math.round(device.getLongitude() * 10_000_000));
+            data.writeInt((int) Math.round(device.getLatitude() * 10_000_000));
+            data.writeShort(120); // altitude
+            data.writeShort((int) device.getCourse());
+            data.writeByte(9); // satellites
+            data.writeShort((int) Math.round(device.getSpeed() * 1.852));
+            data.writeByte(0); // event
+            data.writeByte(1); // total io count
+            data.writeByte(1); // 1 byte io count
+            data.writeByte(239); // ignition
+            data.writeByte(1);
+            data.writeByte(0); // 2 byte io count
+            data.writeByte(0); // 4 byte io count
+            data.writeByte(0); // 8 byte io count
+        }
+        data.writeByte(batch);
+
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeInt(0);
+        buf.writeInt(data.readableBytes());
+        buf.writeBytes(data);
+        buf.writeInt(Checksum.crc16(Checksum.CRC16_IBM, data.nioBuffer()));
+        data.release();
+        return new Frame(Type.POSITION, buf, isPositionAcknowledged());
+    }
+
+    @Override
+    public Frame heartbeat(SimulatedDevice device) {
+        return new Frame(Type.HEARTBEAT, Unpooled.wrappedBuffer(new byte[] {(byte) 0xff}), false);
+    }
+
+    @Override
+    public int responseLength(ByteBuf buf, Type type) {
+        int length = type == Type.LOGIN ? 1 : 4;
+        return buf.readableBytes() >= length ? length : 0;
+    }
+
+}
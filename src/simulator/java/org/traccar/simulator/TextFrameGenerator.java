@@ -0,0 +1,46 @@
+package org.traccar.simulator;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Base for text protocols where responses end with a delimiter character.
+ */
+public abstract class TextFrameGenerator implements FrameGenerator {
+
+    private final char delimiter;
+
+    protected TextFrameGenerator(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    protected static String formatTime(String pattern) {
+        return ZonedDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ofPattern(pattern));
+    }
+
+    protected static String format(String format, Object... args) {
+        return String.format(Locale.US, format, args);
+    }
+
+    protected static Frame frame(Type type, String text, boolean response) {
+        return new Frame(type, Unpooled.copiedBuffer(text, StandardCharsets.US_ASCII), response);
+    }
+
+    @Override
+    public Frame login(SimulatedDevice device) {
+        return null;
+    }
+
+    @Override
+    public int responseLength(ByteBuf buf, Type type) {
+        int index = buf.indexOf(buf.readerIndex(), buf.writerIndex(), (byte) delimiter);
+        return index >= 0 ? index + 1 - buf.readerIndex() : 0;
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.traccar.api.security;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class CredentialsCacheTest {
+
+    @Test
+    public void testCache() throws Exception {
+        var credentialsCache = new CredentialsCache(new Config(), mock(CacheManager.class));
+
+        User user = new User();
+        user.setId(1);
+        credentialsCache.put("user@example.com", "secret", user, credentialsCache.getVersion());
+
+        assertSame(user, credentialsCache.get("user@example.com", "secret"));
+        assertNull(credentialsCache.get("user@example.com", "other"));
+        assertNull(credentialsCache.get("user@example.comsecret", ""));
+
+        credentialsCache.invalidateObject(false, User.class, 1, ObjectOperation.UPDATE);
+        assertNull(credentialsCache.get("user@example.com", "secret"));
+    }
+
+    @Test
+    public void testConcurrentInvalidation() throws Exception {
+        var credentialsCache = new CredentialsCache(new Config(), mock(CacheManager.class));
+
+        User user = new User();
+        user.setId(1);
+        long version = credentialsCache.getVersion();
+        credentialsCache.invalidateObject(false, User.class, 1, ObjectOperation.UPDATE);
+        credentialsCache.put("user@example.com", "secret", user, version);
+
+        assertNull(credentialsCache.get("user@example.com", "secret"));
+    }
+
+}
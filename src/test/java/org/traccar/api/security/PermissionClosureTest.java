@@ -0,0 +1,69 @@
+package org.traccar.api.security;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Device;
+import org.traccar.model.Geofence;
+import org.traccar.model.Group;
+import org.traccar.model.GroupedModel;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Permission;
+import org.traccar.model.User;
+import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PermissionClosureTest {
+
+    private <T extends GroupedModel> long addObject(Storage storage, T object, long groupId) throws Exception {
+        object.setGroupId(groupId);
+        object.setId(storage.addObject(object, new Request(new Columns.Exclude("id"))));
+        return object.getId();
+    }
+
+    @Test
+    public void testClosure() throws Exception {
+        Storage storage = new MemoryStorage();
+        long rootId = addObject(storage, new Group(), 0);
+        long childId = addObject(storage, new Group(), rootId);
+        long grandchildId = addObject(storage, new Group(), childId);
+        long deepId = addObject(storage, new Group(), grandchildId);
+        long firstDeviceId = addObject(storage, new Device(), childId);
+        long secondDeviceId = addObject(storage, new Device(), deepId);
+        long directDeviceId = addObject(storage, new Device(), 0);
+
+        storage.addPermission(new Permission(User.class, 1, Group.class, rootId));
+        storage.addPermission(new Permission(User.class, 1, Device.class, directDeviceId));
+        storage.addPermission(new Permission(User.class, 2, Geofence.class, 10));
+
+        var closure = new PermissionClosure(storage);
+
+        assertEquals(List.of(rootId, childId, grandchildId), closure.getObjectIds(1, Group.class).asList());
+        assertEquals(List.of(firstDeviceId, directDeviceId), closure.getObjectIds(1, Device.class).asList());
+        assertEquals(List.of(10L), closure.getObjectIds(2, Geofence.class).asList());
+        assertTrue(closure.getObjectIds(1, Geofence.class).isEmpty());
+
+        Device device = new Device();
+        device.setGroupId(grandchildId);
+        storage.updateObject(device, new Request(
+                new Columns.Include("groupId"), new Condition.Equals("id", secondDeviceId)));
+        closure.updateObject(Device.class, secondDeviceId, ObjectOperation.UPDATE);
+        assertEquals(
+                List.of(firstDeviceId, secondDeviceId, directDeviceId), closure.getObjectIds(1, Device.class).asList());
+
+        storage.addPermission(new Permission(User.class, 2, Geofence.class, 11));
+        closure.updatePermission(User.class, 2, Geofence.class, 11, true);
+        assertEquals(List.of(10L, 11L), closure.getObjectIds(2, Geofence.class).asList());
+
+        closure.updateObject(Group.class, childId, ObjectOperation.DELETE);
+        assertEquals(List.of(rootId), closure.getObjectIds(1, Group.class).asList());
+        assertEquals(List.of(directDeviceId), closure.getObjectIds(1, Device.class).asList());
+    }
+
+}
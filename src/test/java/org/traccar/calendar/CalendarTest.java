@@ -212,4 +212,33 @@ public class CalendarTest {
         assertTrue(calendar.checkMoment(format.parse("2025-10-09 10:00:00+04")));
     }
 
+    @Test
+    public void testWindowMoves() throws IOException, ParserException, ParseException {
+        String calendarString = """
+                BEGIN:VCALENDAR
+                VERSION:2.0
+                BEGIN:VEVENT
+                UID:window1@example.com
+                DTSTART:20250801T220000Z
+                DTEND:20250802T060000Z
+                RRULE:FREQ=DAILY
+                SUMMARY:Night Shift
+                END:VEVENT
+                END:VCALENDAR""";
+        Calendar calendar = new Calendar();
+        calendar.setData(calendarString.getBytes());
+        DateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ssX");
+
+        for (int day = 10; day < 30; day++) {
+            assertTrue(calendar.checkMoment(format.parse("2025-08-" + day + " 23:00:00+00")));
+            assertTrue(calendar.checkMoment(format.parse("2025-08-" + day + " 05:00:00+00")));
+            assertFalse(calendar.checkMoment(format.parse("2025-08-" + day + " 12:00:00+00")));
+            assertEquals(1, calendar.findPeriods(format.parse("2025-08-" + day + " 01:00:00+00")).size());
+        }
+
+        assertTrue(calendar.checkMoment(format.parse("2025-08-05 23:00:00+00")));
+        assertFalse(calendar.checkMoment(format.parse("2025-08-05 12:00:00+00")));
+        assertFalse(calendar.checkMoment(format.parse("2025-07-30 23:00:00+00")));
+    }
+
 }
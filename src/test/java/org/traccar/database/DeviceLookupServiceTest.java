@@ -0,0 +1,79 @@
+package org.traccar.database;
+
+import io.netty.util.Timer;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+public class DeviceLookupServiceTest {
+
+    private long addDevice(Storage storage, String uniqueId) throws Exception {
+        Device device = new Device();
+        device.setUniqueId(uniqueId);
+        device.setId(storage.addObject(device, new Request(new Columns.Exclude("id"))));
+        return device.getId();
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        var config = new Config();
+        config.setString(Keys.DATABASE_INDEX_UNIQUE_IDS, "true");
+        Storage storage = spy(new MemoryStorage());
+        long firstId = addDevice(storage, "123456789012345");
+
+        var lookupService = new DeviceLookupService(config, storage, mock(Timer.class), mock(CacheManager.class));
+
+        assertEquals(firstId, lookupService.lookup(new String[] {"12345678901234", "123456789012345"}).getId());
+
+        clearInvocations(storage);
+        assertNull(lookupService.lookup(new String[] {"999"}));
+        verify(storage, never()).getObjectsStream(any(), any());
+        verify(storage, never()).getObject(any(), any());
+        verify(storage, never()).getObjects(any(), any());
+
+        long secondId = addDevice(storage, "999");
+        lookupService.invalidateObject(true, Device.class, secondId, ObjectOperation.ADD);
+        assertEquals(secondId, lookupService.lookup(new String[] {"999"}).getId());
+
+        Device device = new Device();
+        device.setUniqueId("888");
+        storage.updateObject(device, new Request(
+                new Columns.Include("uniqueId"), new Condition.Equals("id", secondId)));
+        lookupService.invalidateObject(true, Device.class, secondId, ObjectOperation.UPDATE);
+        assertNull(lookupService.lookup(new String[] {"999"}));
+        assertEquals(secondId, lookupService.lookup(new String[] {"888"}).getId());
+
+        lookupService.invalidateObject(true, Device.class, firstId, ObjectOperation.DELETE);
+        assertNull(lookupService.lookup(new String[] {"123456789012345"}));
+    }
+
+    @Test
+    public void testQueryWithoutIndex() throws Exception {
+        Storage storage = spy(new MemoryStorage());
+        addDevice(storage, "123456789012345");
+
+        var lookupService = new DeviceLookupService(new Config(), storage, mock(Timer.class), mock(CacheManager.class));
+
+        clearInvocations(storage);
+        assertNull(lookupService.lookup(new String[] {"999"}));
+        verify(storage).getObjectsStream(any(), any());
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.api.security.PermissionsCache;
+import org.traccar.broadcast.BroadcastService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.SortedLongSet;
+import org.traccar.model.Device;
+import org.traccar.model.Position;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.Storage;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LatestPositionIndexTest {
+
+    private Position createPosition(long id, long deviceId) {
+        Position position = new Position();
+        position.setId(id);
+        position.setDeviceId(deviceId);
+        return position;
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        var config = new Config();
+        config.setString(Keys.DATABASE_INDEX_LATEST_POSITIONS, "true");
+        Storage storage = mock(Storage.class);
+        when(storage.getObjectsStream(any(), any())).thenAnswer(
+                invocation -> Stream.of(createPosition(1, 1), createPosition(2, 2), createPosition(3, 3)));
+        PermissionsCache permissionsCache = mock(PermissionsCache.class);
+        when(permissionsCache.getObjectIds(10, Device.class)).thenReturn(SortedLongSet.of(LongStream.of(1, 3, 4)));
+
+        var index = new LatestPositionIndex(
+                config, storage, mock(BroadcastService.class), mock(CacheManager.class), permissionsCache);
+
+        assertEquals(List.of(1L, 3L), index.getLatestPositions(10).stream().map(Position::getId).toList());
+
+        index.updatePosition(createPosition(5, 4));
+        index.updatePosition(false, createPosition(6, 1));
+        assertEquals(List.of(6L, 3L, 5L), index.getLatestPositions(10).stream().map(Position::getId).toList());
+
+        verify(storage, times(1)).getObjectsStream(any(), any());
+    }
+
+}
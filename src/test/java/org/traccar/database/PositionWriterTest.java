@@ -0,0 +1,82 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.query.Request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PositionWriterTest {
+
+    private PositionWriter createWriter() {
+        var config = new Config();
+        config.setString(Keys.DATABASE_ASYNC_WRITE_BATCH_SIZE, "10");
+        config.setString(Keys.DATABASE_ASYNC_WRITE_THREADS, "1");
+        return new PositionWriter(config, new MemoryStorage());
+    }
+
+    @Test
+    public void testSynchronousFallback() {
+        var writer = createWriter();
+        var position = new Position();
+        boolean[] stored = new boolean[1];
+        writer.write(position, success -> stored[0] = success);
+        assertTrue(stored[0]);
+        assertTrue(position.getId() > 0);
+    }
+
+    @Test
+    public void testBatchWrite() throws Exception {
+        var writer = createWriter();
+        writer.start();
+        int count = 25;
+        var latch = new CountDownLatch(count);
+        List<Position> positions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            var position = new Position();
+            positions.add(position);
+            writer.write(position, success -> latch.countDown());
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        writer.stop();
+        assertEquals(count, positions.stream().mapToLong(Position::getId).filter(id -> id > 0).distinct().count());
+        assertEquals(0, writer.getQueueSize());
+        assertTrue(writer.getFlushCount() > 0);
+    }
+
+    @Test
+    public void testStorageRuntimeError() throws Exception {
+        var config = new Config();
+        config.setString(Keys.DATABASE_ASYNC_WRITE_THREADS, "1");
+        var writer = new PositionWriter(config, new MemoryStorage() {
+            @Override
+            public <T> long addObject(T entity, Request request) {
+                throw new IllegalStateException("Storage failure");
+            }
+        });
+        writer.start();
+        int count = 5;
+        var latch = new CountDownLatch(count);
+        boolean[] stored = new boolean[1];
+        for (int i = 0; i < count; i++) {
+            writer.write(new Position(), success -> {
+                stored[0] |= success;
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        writer.stop();
+        assertFalse(stored[0]);
+    }
+
+}
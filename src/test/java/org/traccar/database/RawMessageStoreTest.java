@@ -0,0 +1,69 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RawMessageStoreTest {
+
+    @TempDir
+    private Path path;
+
+    private RawMessageStore createStore() throws Exception {
+        var config = new Config();
+        config.setString(Keys.DATABASE_ORIGINAL_PATH, path.toString());
+        config.setString(Keys.DATABASE_ORIGINAL_SEGMENT_SIZE, "1024");
+        var store = new RawMessageStore(config);
+        store.start();
+        return store;
+    }
+
+    @Test
+    public void testWriteRead() throws Exception {
+        var store = createStore();
+
+        byte[] text = "$GPRMC,123519,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6A".repeat(10)
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] binary = new byte[] {0x00, 0x01, (byte) 0xff};
+        byte[] large = new byte[2000];
+        new Random(1).nextBytes(large);
+
+        var first = store.write(text);
+        var second = store.write(binary);
+        var third = store.write(large);
+        var fourth = store.write(new byte[0]);
+
+        assertEquals(1, first.segment());
+        assertEquals(0, first.offset());
+        assertEquals(1, second.segment());
+        assertEquals(2, third.segment());
+        assertEquals(3, fourth.segment());
+
+        assertArrayEquals(text, store.read(first.segment(), first.offset()));
+        assertArrayEquals(binary, store.read(second.segment(), second.offset()));
+        assertArrayEquals(large, store.read(third.segment(), third.offset()));
+        assertArrayEquals(new byte[0], store.read(fourth.segment(), fourth.offset()));
+        assertNull(store.read(10, 0));
+
+        store.stop();
+
+        store = createStore();
+        var restarted = store.write(binary);
+        assertEquals(4, restarted.segment());
+        assertEquals(0, restarted.offset());
+        assertArrayEquals(binary, store.read(restarted.segment(), restarted.offset()));
+        assertArrayEquals(text, store.read(first.segment(), first.offset()));
+        assertArrayEquals(new byte[0], store.read(fourth.segment(), fourth.offset()));
+        store.stop();
+    }
+
+}
@@ -0,0 +1,45 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.storage.Storage;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class StatisticsManagerTest {
+
+    @Test
+    public void testCounters() throws Exception {
+        var statisticsManager = new StatisticsManager(mock(Config.class), mock(Storage.class), null, null);
+
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    statisticsManager.registerMessageReceived("osmand");
+                    statisticsManager.registerMessageStored(j % 10 + 1, "osmand");
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        statisticsManager.registerRequest(1);
+        statisticsManager.registerMessageReceived("teltonika");
+        statisticsManager.registerMessageStored(11, null);
+
+        assertEquals(4001, statisticsManager.getTotal(StatisticsManager.Counter.MESSAGES_RECEIVED));
+        assertEquals(4001, statisticsManager.messageStoredCount());
+        assertEquals(400, statisticsManager.messageStoredCount(1));
+        assertEquals(1, statisticsManager.messageStoredCount(11));
+        assertEquals(0, statisticsManager.messageStoredCount(12));
+        assertEquals(Map.of("osmand", 4000L, "teltonika", 1L), statisticsManager.getProtocolMessagesReceived());
+        assertEquals(11, statisticsManager.getActiveDevices());
+        assertEquals(1, statisticsManager.getActiveUsers());
+    }
+
+}
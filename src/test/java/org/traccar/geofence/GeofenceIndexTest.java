@@ -0,0 +1,53 @@
+package org.traccar.geofence;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Geofence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeofenceIndexTest {
+
+    private Geofence createGeofence(long id, String area) {
+        Geofence geofence = new Geofence();
+        geofence.setId(id);
+        geofence.setArea(area);
+        return geofence;
+    }
+
+    private List<Long> getIds(GeofenceIndex index, double latitude, double longitude) {
+        return index.getGeofences(latitude, longitude).stream().map(Geofence::getId).sorted().toList();
+    }
+
+    @Test
+    public void testIndex() {
+        List<Geofence> geofences = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            geofences.add(createGeofence(i + 1, "CIRCLE (" + (10 + i) + " 20, 1000)"));
+        }
+        geofences.add(createGeofence(100, "POLYGON ((9 19, 9 21, 11 21, 11 19))"));
+        geofences.add(createGeofence(101, "POLYGON ((66.9494 179.838, 66.9508 -179.8496, 66.8406 -180.0014))"));
+        geofences.add(createGeofence(102, "POLYGON ((51.1966 -0.6207, 51.1897 0.4147, 50.9377 0.5136, 50.8675 -0.6082))"));
+
+        GeofenceIndex index = new GeofenceIndex(geofences);
+
+        assertEquals(List.of(1L, 100L), getIds(index, 10, 20));
+        assertEquals(List.of(5L), getIds(index, 14.005, 20));
+        assertEquals(List.of(101L), getIds(index, 66.9015, -180.0096));
+        assertEquals(List.of(101L), getIds(index, 66.9015, 179.991));
+        assertEquals(List.of(102L), getIds(index, 51.0466, -0.0165));
+        assertTrue(getIds(index, 14.02, 20).isEmpty());
+        assertTrue(getIds(index, 0, 0).isEmpty());
+    }
+
+    @Test
+    public void testCircleBoundary() throws Exception {
+        GeofenceGeometry geometry = new GeofenceCircle("CIRCLE (55.75414 37.6204, 100)");
+        assertTrue(geometry.getMax().lat() - geometry.getMin().lat() < 0.01);
+        assertTrue(geometry.getMax().lon() - geometry.getMin().lon() < 0.01);
+    }
+
+}
@@ -3,11 +3,16 @@ package org.traccar.handler;
 import org.junit.jupiter.api.Test;
 import org.traccar.config.Config;
 import org.traccar.model.Attribute;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
+import org.traccar.session.cache.CacheManager;
 
 import java.util.Date;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class ComputedAttributesTest {
 
@@ -68,4 +73,58 @@ public class ComputedAttributesTest {
 
     }
 
+    private Attribute createAttribute(long id, String name, String expression, int priority) {
+        Attribute attribute = new Attribute();
+        attribute.setId(id);
+        attribute.setAttribute(name);
+        attribute.setExpression(expression);
+        attribute.setType("number");
+        attribute.setPriority(priority);
+        return attribute;
+    }
+
+    @Test
+    public void testCachedScripts() {
+
+        ComputedAttributesHandler handler = new ComputedAttributesHandler(new Config(), null, false);
+
+        Position position = new Position();
+        position.set("adc1", 10);
+
+        Attribute attribute = createAttribute(1, "result", "adc1 + 1", 0);
+        assertEquals(11, handler.computeAttribute(attribute, position));
+        assertEquals(1, handler.getCachedScriptCount());
+
+        handler.invalidateObject(true, Attribute.class, 1, ObjectOperation.ADD);
+        assertEquals(1, handler.getCachedScriptCount());
+
+        handler.invalidateObject(true, Attribute.class, 1, ObjectOperation.UPDATE);
+        assertEquals(0, handler.getCachedScriptCount());
+
+        position.set("adc1", 20);
+        assertEquals(21, handler.computeAttribute(attribute, position));
+        assertEquals(1, handler.getCachedScriptCount());
+
+    }
+
+    @Test
+    public void testChainedAttributes() {
+
+        var cacheManager = mock(CacheManager.class);
+        when(cacheManager.getDeviceObjects(1, Attribute.class)).thenReturn(Set.of(
+                createAttribute(1, "first", "adc1 * 2", 2),
+                createAttribute(2, "second", "first + 1", 1)));
+
+        ComputedAttributesHandler handler = new ComputedAttributesHandler(new Config(), cacheManager, false);
+
+        Position position = new Position();
+        position.setDeviceId(1);
+        position.set("adc1", 10);
+        handler.onPosition(position, filtered -> { });
+
+        assertEquals(20, position.getInteger("first"));
+        assertEquals(21, position.getInteger("second"));
+
+    }
+
 }
@@ -0,0 +1,39 @@
+package org.traccar.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 1; value < TimeUnit.MINUTES.toNanos(10); value = value * 3 / 2 + 1) {
+            int index = LatencyHistogram.getIndex(value);
+            assertTrue(LatencyHistogram.getUpperBound(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.getUpperBound(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void testQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i * 100));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), histogram.getMax());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), histogram.getValueAtQuantile(0.5), 0.125 * 50_000_000);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(99), histogram.getValueAtQuantile(0.99), 0.125 * 99_000_000);
+        assertEquals(histogram.getMax(), histogram.getValueAtQuantile(1));
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.traccar.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PatternScannerTest {
+
+    private void assertGroups(Matcher matcher, PatternScanner.State state) {
+        for (int i = 0; i <= matcher.groupCount(); i++) {
+            assertEquals(matcher.start(i), state.start(i));
+            assertEquals(matcher.end(i), state.end(i));
+        }
+    }
+
+    private void verify(Pattern pattern, String input) {
+        PatternScanner scanner = PatternScanner.get(pattern);
+        assertNotNull(scanner);
+        assertEquals(pattern.matcher("").groupCount(), scanner.groupCount());
+
+        Matcher matcher = pattern.matcher(input);
+        PatternScanner.State state = scanner.state(input);
+        boolean matches = matcher.matches();
+        assertEquals(matches, state.matches());
+        if (matches) {
+            assertGroups(matcher, state);
+        }
+
+        matcher = pattern.matcher(input);
+        state = scanner.state(input);
+        while (matcher.find()) {
+            assertTrue(state.find());
+            assertGroups(matcher, state);
+        }
+        assertFalse(state.find());
+    }
+
+    @Test
+    public void testDelimited() {
+        Pattern pattern = new PatternBuilder()
+                .text("$GPRMC,")
+                .number("(dd)(dd)(dd).?d*,")
+                .expression("([AV]),")
+                .number("(dd)(dd.d+),")
+                .expression("([NS]),")
+                .number("(ddd)(dd.d+),")
+                .expression("([EW]),")
+                .number("(d+.?d*)?,")
+                .number("(d+.?d*)?,")
+                .number("(dd)(dd)(dd)")
+                .any()
+                .compile();
+
+        verify(pattern, "$GPRMC,123519,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6A");
+        verify(pattern, "$GPRMC,123519.00,V,4807.038,N,01131.000,E,,,230394*6A");
+        verify(pattern, "$GPRMC,123519,X,4807.038,N,01131.000,E,022.4,084.4,230394");
+        verify(pattern, "");
+    }
+
+    @Test
+    public void testBacktracking() {
+        Pattern pattern = new PatternBuilder()
+                .text("*")
+                .expression("(.+?),")
+                .groupBegin()
+                .number("(x+),")
+                .or()
+                .expression("([^,]*),")
+                .groupEnd("+")
+                .number("(d+)")
+                .optional()
+                .text("#")
+                .compile();
+
+        verify(pattern, "*HQ,1A,2B,,12#");
+        verify(pattern, "*HQ,ab,cd#");
+        verify(pattern, "xx*HQ,1A,2B#*a,b,c,1#");
+        verify(pattern, "*HQ");
+    }
+
+    @Test
+    public void testUnsupported() {
+        Pattern pattern = Pattern.compile("(a)\\1", Pattern.DOTALL);
+        PatternScanner.register(pattern);
+        assertNull(PatternScanner.get(pattern));
+        assertThrows(IllegalArgumentException.class, () -> PatternScanner.compile("(?<=a)b"));
+    }
+
+    @Test
+    public void testState() {
+        PatternScanner.State state = PatternScanner.compile("(a)(b)?").state("ac");
+        assertThrows(IllegalStateException.class, () -> state.start(0));
+        assertTrue(state.find());
+        assertEquals(-1, state.start(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> state.end(3));
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.traccar.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SortedLongSetTest {
+
+    @Test
+    public void testSet() {
+        SortedLongSet set = SortedLongSet.of(LongStream.of(7, 3, 5, 3));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(3));
+        assertTrue(set.contains(7));
+        assertFalse(set.contains(4));
+        assertEquals(List.of(3L, 5L, 7L), set.asList());
+        assertSame(SortedLongSet.EMPTY, SortedLongSet.of(LongStream.empty()));
+    }
+
+    @Test
+    public void testIntersect() {
+        SortedLongSet first = SortedLongSet.of(LongStream.of(1, 2, 4, 8, 16));
+        SortedLongSet second = SortedLongSet.of(LongStream.of(2, 3, 4, 16, 32));
+        assertEquals(List.of(2L, 4L, 16L), first.intersect(second).asList());
+        assertTrue(first.intersect(SortedLongSet.EMPTY).isEmpty());
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.traccar.session.cache;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.model.AttributeUtil;
+import org.traccar.model.Device;
+import org.traccar.model.Group;
+import org.traccar.model.Server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeviceAttributesTest {
+
+    private static class TestProvider implements AttributeUtil.Provider {
+
+        private final Device device = new Device();
+        private final Group group = new Group();
+        private final Server server = new Server();
+        private final Config config = new Config();
+        private int groupRequests;
+
+        @Override
+        public Device getDevice() {
+            return device;
+        }
+
+        @Override
+        public Group getGroup(long groupId) {
+            groupRequests += 1;
+            return group;
+        }
+
+        @Override
+        public Server getServer() {
+            return server;
+        }
+
+        @Override
+        public Config getConfig() {
+            return config;
+        }
+    }
+
+    @Test
+    public void testResolvedValues() {
+        var provider = new TestProvider();
+        provider.device.setGroupId(1);
+        provider.group.set(Keys.EVENT_OVERSPEED_MINIMAL_DURATION.getKey(), "30");
+        provider.server.set(Keys.EVENT_OVERSPEED_LIMIT.getKey(), 1.5);
+
+        var attributes = new DeviceAttributes(provider, provider.device, 0);
+
+        assertEquals(30L, attributes.get(Keys.EVENT_OVERSPEED_MINIMAL_DURATION));
+        assertEquals(30L, attributes.get(Keys.EVENT_OVERSPEED_MINIMAL_DURATION));
+        assertEquals(1.5, attributes.get(Keys.EVENT_OVERSPEED_LIMIT));
+        assertEquals(Keys.EVENT_OVERSPEED_PREFER_LOWEST.getDefaultValue(),
+                attributes.get(Keys.EVENT_OVERSPEED_PREFER_LOWEST));
+        attributes.get(Keys.EVENT_OVERSPEED_PREFER_LOWEST);
+        assertEquals(3, provider.groupRequests);
+
+        assertTrue(attributes.isValid(provider.device, 0));
+        assertFalse(attributes.isValid(provider.device, 1));
+        assertFalse(attributes.isValid(new Device(), 0));
+    }
+
+}